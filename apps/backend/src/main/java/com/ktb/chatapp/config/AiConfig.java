@@ -0,0 +1,10 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.config.properties.AiProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AiProperties.class)
+public class AiConfig {
+}
@@ -1,17 +1,11 @@
 package com.ktb.chatapp.config;
 
 import com.ktb.chatapp.util.BannedWordChecker;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.Set;
-import java.util.stream.Collectors;
+import com.ktb.chatapp.util.BannedWordDictionaryLoader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.Resource;
 
 @Configuration
 public class BannedWordConfig {
@@ -28,32 +22,13 @@ public class BannedWordConfig {
     }
 
     @Bean
-    public BannedWordChecker bannedWordChecker() {
-        Resource resource = applicationContext.getResource(bannedWordLocation);
-        if (!resource.exists()) {
-            throw new IllegalStateException(
-                    "Banned word resource not found at " + bannedWordLocation);
-        }
-
-        Set<String> words;
-        try (BufferedReader reader =
-                new BufferedReader(
-                        new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
-            words =
-                    reader.lines()
-                            .map(String::trim)
-                            .filter(line -> !line.isEmpty())
-                            .collect(Collectors.toUnmodifiableSet());
-        } catch (IOException e) {
-            throw new IllegalStateException(
-                    "Failed to load banned words from " + bannedWordLocation, e);
-        }
-
-        if (words.isEmpty()) {
-            throw new IllegalStateException(
-                    "Banned word dictionary at " + bannedWordLocation + " must not be empty.");
-        }
+    public BannedWordDictionaryLoader bannedWordDictionaryLoader() {
+        return new BannedWordDictionaryLoader(applicationContext, bannedWordLocation);
+    }
 
-        return new BannedWordChecker(words);
+    @Bean
+    public BannedWordChecker bannedWordChecker(BannedWordDictionaryLoader bannedWordDictionaryLoader) {
+        var dictionary = bannedWordDictionaryLoader.load();
+        return new BannedWordChecker(dictionary.words(), dictionary.checksum());
     }
 }
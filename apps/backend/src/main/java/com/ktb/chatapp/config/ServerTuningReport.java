@@ -0,0 +1,58 @@
+package com.ktb.chatapp.config;
+
+import com.corundumstudio.socketio.SocketConfig;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.websocket.socketio.TunedSocketIOServer;
+import java.util.Arrays;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 실제로 적용된 Tomcat / Socket.IO 스레드, 백로그, 버퍼, transport 설정을 한 번에 기록한다.
+ * 부하 테스트 결과를 비교할 때 어떤 프로파일(latency, throughput)로 떠 있었는지 로그로 확인할 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServerTuningReport {
+
+    private final Environment environment;
+    private final ObjectProvider<ServerProperties> serverProperties;
+    private final ObjectProvider<SocketIOServer> socketIOServer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        log.info("Server tuning - active profiles: {}", Arrays.toString(environment.getActiveProfiles()));
+
+        ServerProperties server = serverProperties.getIfAvailable();
+        if (server != null) {
+            ServerProperties.Tomcat tomcat = server.getTomcat();
+            log.info("Tomcat - threads max: {}, min-spare: {}, accept-count: {}, max-connections: {}",
+                    tomcat.getThreads().getMax(), tomcat.getThreads().getMinSpare(),
+                    tomcat.getAcceptCount(), tomcat.getMaxConnections());
+        }
+
+        SocketIOServer socketIO = socketIOServer.getIfAvailable();
+        if (socketIO != null) {
+            var config = socketIO.getConfiguration();
+            SocketConfig socket = config.getSocketConfig();
+            log.info("Socket.IO - boss threads: {}, worker threads: {}, accept backlog: {}, "
+                            + "send/receive buffer: {}/{}, tcpNoDelay: {}, keepAlive: {}",
+                    config.getBossThreads(), config.getWorkerThreads(), socket.getAcceptBackLog(),
+                    socket.getTcpSendBufferSize(), socket.getTcpReceiveBufferSize(),
+                    socket.isTcpNoDelay(), socket.isTcpKeepAlive());
+            log.info("Socket.IO - transport: {}, allocator: {}, prefer direct buffer: {}",
+                    config.isUseLinuxNativeEpoll() ? "epoll" : "nio",
+                    socketIO instanceof TunedSocketIOServer tuned
+                            ? tuned.getAllocator().getClass().getSimpleName()
+                            : "default",
+                    config.isPreferDirectBuffer());
+        }
+    }
+}
@@ -3,18 +3,33 @@ package com.ktb.chatapp.config;
 import com.corundumstudio.socketio.AuthTokenListener;
 import com.corundumstudio.socketio.SocketConfig;
 import com.corundumstudio.socketio.SocketIOServer;
-import com.corundumstudio.socketio.annotation.SpringAnnotationScanner;
 import com.corundumstudio.socketio.namespace.Namespace;
-import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
 import com.corundumstudio.socketio.store.RedissonStoreFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.config.properties.SocketIOProperties;
 import com.ktb.chatapp.websocket.socketio.ChatDataStore;
+import com.ktb.chatapp.websocket.socketio.ChatJsonSupport;
 import com.ktb.chatapp.websocket.socketio.LocalChatDataStore;
+import com.ktb.chatapp.websocket.socketio.RedisChatDataStore;
+import com.ktb.chatapp.websocket.socketio.SocketIOAnnotationScanner;
+import com.ktb.chatapp.websocket.socketio.SocketIOEventDispatcher;
+import com.ktb.chatapp.websocket.socketio.TunedSocketIOServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.netty4.NettyAllocatorMetrics;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.epoll.Epoll;
+import java.time.Duration;
+import java.util.Locale;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -25,64 +40,121 @@ import static org.springframework.beans.factory.config.BeanDefinition.ROLE_INFRA
 @Slf4j
 @Configuration
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SocketIOProperties.class)
 public class SocketIOConfig {
 
-    @Value("${socketio.server.host:localhost}")
-    private String host;
-
-    @Value("${socketio.server.port:5002}")
-    private Integer port;
+    /**
+     * 패킷 인코딩과 브로드캐스트 payload 사전 직렬화가 같은 ObjectMapper 설정을 쓰도록 공유한다.
+     */
+    @Bean
+    public ChatJsonSupport chatJsonSupport() {
+        return new ChatJsonSupport(new JavaTimeModule());
+    }
 
     @Bean(initMethod = "start", destroyMethod = "stop")
-    public SocketIOServer socketIOServer(AuthTokenListener authTokenListener, RedissonClient redissonClient) {
+    public SocketIOServer socketIOServer(
+            AuthTokenListener authTokenListener,
+            RedissonClient redissonClient,
+            ChatJsonSupport chatJsonSupport,
+            SocketIOProperties properties,
+            MeterRegistry meterRegistry) {
         com.corundumstudio.socketio.Configuration config = new com.corundumstudio.socketio.Configuration();
-        config.setHostname(host);
-        config.setPort(port);
+        config.setHostname(properties.getHost());
+        config.setPort(properties.getPort());
+        config.setBossThreads(properties.getBossThreads());
+        config.setWorkerThreads(properties.getWorkerThreads());
+        config.setUseLinuxNativeEpoll(useNativeEpoll(properties));
+        config.setPreferDirectBuffer(properties.isPreferDirectBuffer());
 
         var socketConfig = new SocketConfig();
-        socketConfig.setReuseAddress(true);
-        socketConfig.setTcpNoDelay(false);
-        socketConfig.setAcceptBackLog(10);
-        socketConfig.setTcpSendBufferSize(4096);
-        socketConfig.setTcpReceiveBufferSize(4096);
+        socketConfig.setReuseAddress(properties.isReuseAddress());
+        socketConfig.setTcpNoDelay(properties.isTcpNoDelay());
+        socketConfig.setTcpKeepAlive(properties.isTcpKeepAlive());
+        socketConfig.setAcceptBackLog(properties.getAcceptBacklog());
+        socketConfig.setTcpSendBufferSize(properties.getTcpSendBufferSize());
+        socketConfig.setTcpReceiveBufferSize(properties.getTcpReceiveBufferSize());
         config.setSocketConfig(socketConfig);
 
         config.setOrigin("*");
 
         // Socket.IO settings
-        config.setPingTimeout(60000);
-        config.setPingInterval(25000);
-        config.setUpgradeTimeout(10000);
+        config.setPingTimeout((int) properties.getPingTimeout().toMillis());
+        config.setPingInterval((int) properties.getPingInterval().toMillis());
+        config.setUpgradeTimeout((int) properties.getUpgradeTimeout().toMillis());
 
-        config.setJsonSupport(new JacksonJsonSupport(new JavaTimeModule()));
+        config.setJsonSupport(chatJsonSupport);
         config.setStoreFactory(new RedissonStoreFactory(redissonClient)); // 다중 인스턴스 지원
 
         log.info("Socket.IO server configured on {}:{} with Redis adapter for multi-instance support",
-                 host, port);
-        log.info("Boss threads: {}, Worker threads: {}",
-                 config.getBossThreads(), config.getWorkerThreads());
-        var socketIOServer = new SocketIOServer(config);
+                 config.getHostname(), config.getPort());
+        ByteBufAllocator allocator = properties.isPooledAllocator()
+                ? PooledByteBufAllocator.DEFAULT
+                : UnpooledByteBufAllocator.DEFAULT;
+        if (allocator instanceof ByteBufAllocatorMetricProvider metricProvider) {
+            new NettyAllocatorMetrics(metricProvider).bindTo(meterRegistry);
+        }
+        var socketIOServer = new TunedSocketIOServer(config, allocator, properties.isReusePort());
         socketIOServer.getNamespace(Namespace.DEFAULT_NAME).addAuthTokenListener(authTokenListener);
 
         return socketIOServer;
     }
     
     /**
-     * SpringAnnotationScanner는 BeanPostProcessor로서
+     * native epoll은 Linux에서 native 라이브러리를 불러올 수 있을 때만 켜고, 아니면 NIO로 기동한다.
+     */
+    private static boolean useNativeEpoll(SocketIOProperties properties) {
+        if (!properties.isNativeEpoll()) {
+            return false;
+        }
+        if (Epoll.isAvailable()) {
+            return true;
+        }
+        log.info("Native epoll transport unavailable, falling back to NIO: {}",
+                 Epoll.unavailabilityCause().toString());
+        return false;
+    }
+
+    /**
+     * 이벤트 핸들러 실행 방식. inline은 워커 스레드에서 바로, virtual은 클라이언트별 직렬 큐 + 가상 스레드에서 실행한다.
+     */
+    @Bean(destroyMethod = "close")
+    public SocketIOEventDispatcher socketIOEventDispatcher(
+            @Value("${socketio.dispatch.mode:inline}") String mode,
+            @Value("${socketio.dispatch.max-in-flight-per-client:32}") int maxInFlightPerClient,
+            MeterRegistry meterRegistry) {
+        return new SocketIOEventDispatcher(
+                SocketIOEventDispatcher.Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)),
+                maxInFlightPerClient, meterRegistry);
+    }
+    
+    /**
+     * SocketIOAnnotationScanner는 BeanPostProcessor로서
      * ApplicationContext 초기화 초기에 등록되고,
-     * 내부에서 사용하는 SocketIOServer는 Lazy로 지연되어
+     * 내부에서 사용하는 SocketIOServer와 dispatcher는 Lazy로 지연되어
      * 다른 Bean들의 초기화 과정에 간섭하지 않게 한다.
      */
     @Bean
     @Role(ROLE_INFRASTRUCTURE)
-    public BeanPostProcessor springAnnotationScanner(@Lazy SocketIOServer socketIOServer) {
-        return new SpringAnnotationScanner(socketIOServer);
+    public BeanPostProcessor socketIOAnnotationScanner(
+            @Lazy SocketIOServer socketIOServer,
+            @Lazy SocketIOEventDispatcher socketIOEventDispatcher) {
+        return new SocketIOAnnotationScanner(socketIOServer, socketIOEventDispatcher);
     }
     
     // 인메모리 저장소, 단일 노드 환경에서만 사용
     @Bean
-    @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnProperty(name = "socketio.chat-data.store", havingValue = "local", matchIfMissing = true)
     public ChatDataStore chatDataStore() {
         return new LocalChatDataStore();
     }
+
+    // Redis 저장소, 다중 노드에서 접속 사용자/참여 방을 공유한다
+    @Bean
+    @ConditionalOnProperty(name = "socketio.chat-data.store", havingValue = "redis")
+    public ChatDataStore redisChatDataStore(
+            RedissonClient redissonClient,
+            ObjectMapper objectMapper,
+            @Value("${socketio.chat-data.ttl:24h}") Duration ttl) {
+        return new RedisChatDataStore(redissonClient, objectMapper, ttl);
+    }
 }
@@ -0,0 +1,156 @@
+package com.ktb.chatapp.config.properties;
+
+import com.ktb.chatapp.model.AiType;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chatapp.ai")
+public class AiProperties {
+
+    /**
+     * AI streaming broadcast settings.
+     */
+    private final Stream stream = new Stream();
+
+    /**
+     * Concurrency limits for upstream AI streams.
+     */
+    private final Scheduler scheduler = new Scheduler();
+
+    /**
+     * Cache of completed answers replayed for repeated persona queries.
+     */
+    private final ResponseCache responseCache = new ResponseCache();
+
+    @Getter
+    @Setter
+    public static class Stream {
+
+        /**
+         * Chunk protocol: full (aiMessageChunk with accumulated fullContent),
+         * delta (aiMessageDelta with offset + chunk), or both during client migration.
+         */
+        private StreamProtocol protocol = StreamProtocol.FULL;
+
+        /**
+         * Every N-th delta also carries fullContent so late joiners and clients
+         * that missed a delta can resync.
+         */
+        private int snapshotInterval = 50;
+
+        /**
+         * Default token coalescing applied before chunks are broadcast.
+         */
+        private Coalesce coalesce = new Coalesce();
+
+        /**
+         * Per-AI-type coalescing overrides (e.g. consulting-ai.window=100ms).
+         */
+        private Map<AiType, Coalesce> coalescePerType = new HashMap<>();
+
+        public Coalesce coalesceFor(AiType aiType) {
+            return coalescePerType.getOrDefault(aiType, coalesce);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Coalesce {
+
+        /**
+         * Maximum time a token waits before being flushed. 0 disables coalescing.
+         */
+        private Duration window = Duration.ofMillis(50);
+
+        /**
+         * Flush as soon as this many characters are pending.
+         */
+        private int maxChars = 256;
+    }
+
+    @Getter
+    @Setter
+    public static class Scheduler {
+
+        /**
+         * Maximum number of AI streams running at once on this node.
+         */
+        private int maxConcurrent = 32;
+
+        /**
+         * Maximum number of AI streams running at once for a single room.
+         */
+        private int maxConcurrentPerRoom = 2;
+
+        /**
+         * Maximum number of AI streams running at once for a single requesting user.
+         */
+        private int maxConcurrentPerUser = 1;
+
+        /**
+         * Requests waiting beyond this count are rejected immediately.
+         */
+        private int maxQueued = 256;
+
+        /**
+         * Requests still waiting after this long are rejected.
+         */
+        private Duration maxWait = Duration.ofSeconds(30);
+
+        /**
+         * How often queued requests are checked against maxWait, even while every slot is busy.
+         * Zero disables the background sweep (expiry is then checked only on submit and release).
+         */
+        private Duration sweepInterval = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class ResponseCache {
+
+        /**
+         * Serve repeated (AI type, normalized query) pairs from cache instead of calling the model.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of answers kept in the node-local cache.
+         */
+        private long maxEntries = 1000;
+
+        /**
+         * How long an answer stays cached in both tiers.
+         */
+        private Duration ttl = Duration.ofMinutes(30);
+
+        /**
+         * Also share answers across nodes through Redis.
+         */
+        private boolean redisEnabled = false;
+
+        /**
+         * Delay between replayed chunks so cached answers still stream like live ones. 0 replays at once.
+         */
+        private Duration replayInterval = Duration.ofMillis(30);
+    }
+
+    public enum StreamProtocol {
+        FULL,
+        DELTA,
+        BOTH;
+
+        public boolean sendsFull() {
+            return this != DELTA;
+        }
+
+        public boolean sendsDelta() {
+            return this != FULL;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ktb.chatapp.config.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * netty-socketio server transport settings.
+ * Defaults match the previous hardcoded values; the latency / throughput
+ * Spring profiles (application-{profile}.properties) override them together
+ * with the Tomcat limits.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "socketio.server")
+public class SocketIOProperties {
+
+    private String host = "localhost";
+
+    private int port = 5002;
+
+    /**
+     * Accept (boss) event loop threads, 0 uses the netty default (2 x cores).
+     */
+    private int bossThreads = 0;
+
+    /**
+     * I/O (worker) event loop threads, 0 uses the netty default (2 x cores).
+     */
+    private int workerThreads = 0;
+
+    /**
+     * Pending connection queue length passed to listen(2) (SO_BACKLOG).
+     */
+    private int acceptBacklog = 10;
+
+    /**
+     * SO_SNDBUF / SO_RCVBUF in bytes, -1 leaves the kernel default (auto-tuning).
+     */
+    private int tcpSendBufferSize = 4096;
+
+    private int tcpReceiveBufferSize = 4096;
+
+    /**
+     * Disables Nagle's algorithm so small frames are sent immediately.
+     */
+    private boolean tcpNoDelay = false;
+
+    private boolean tcpKeepAlive = false;
+
+    private boolean reuseAddress = true;
+
+    /**
+     * Use the native epoll transport when available (Linux), otherwise NIO.
+     */
+    private boolean nativeEpoll = true;
+
+    /**
+     * SO_REUSEPORT on the listening socket, only applied with native epoll.
+     */
+    private boolean reusePort = false;
+
+    /**
+     * Pooled ByteBufAllocator for server channels; false uses the unpooled allocator.
+     */
+    private boolean pooledAllocator = true;
+
+    /**
+     * Encode outbound packets into direct buffers.
+     */
+    private boolean preferDirectBuffer = true;
+
+    private Duration pingInterval = Duration.ofSeconds(25);
+
+    private Duration pingTimeout = Duration.ofSeconds(60);
+
+    private Duration upgradeTimeout = Duration.ofSeconds(10);
+}
@@ -1,6 +1,17 @@
 package com.ktb.chatapp.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.dto.FetchMessagesRequest;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
 import com.ktb.chatapp.dto.StandardResponse;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.message.MessageHistoryStreamer;
+import com.ktb.chatapp.websocket.socketio.handler.MessageLoader;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,50 +20,209 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.security.Principal;
+import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
-
-import java.security.Principal;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * 메시지 시스템 REST API 컨트롤러
  *
- * - GET /api/message/rooms/:roomId/messages → 500 에러 (미구현)
- * - 모든 메시지 기능은 Socket.IO를 통해 제공됨
+ * - GET /api/message/rooms/:roomId/messages → Socket.IO 'fetchPreviousMessages'와 같은 커서 페이지네이션
+ * - GET /api/message/rooms/:roomId/messages/stream → NDJSON 히스토리 내보내기
+ * - 메시지 전송/실시간 이벤트는 Socket.IO를 통해 제공됨
  */
-@Tag(name = "메시지 (Messages)", description = "메시지 관련 API (주의: 실제 메시지 기능은 Socket.IO를 통해 제공됩니다)")
+@Tag(name = "메시지 (Messages)", description = "메시지 히스토리 조회 API (메시지 전송은 Socket.IO를 통해 제공됩니다)")
 @Slf4j
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/message")
 public class MessageController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final MessageLoader messageLoader;
+    private final MessageHistoryStreamer messageHistoryStreamer;
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${chatapp.message.export.max-messages:100000}")
+    private int maxExportMessages;
+
     /**
-     * 채팅방 메시지 조회 - 미구현 (500 반환)
-     * 실제 메시지 조회는 Socket.IO의 'fetchPreviousMessages' 이벤트를 사용하세요.
+     * 채팅방 메시지 조회
+     * 최신 페이지는 캐시하지 않고, cursor/before로 요청한 이전 페이지는 ETag로 재검증한다.
+     * ETag는 읽은 페이지 내용으로 계산하므로 리액션/읽음/삭제로 페이지가 바뀌면 함께 바뀐다.
+     * REST 조회는 읽음 처리를 하지 않는다.
      */
     @Operation(
-        summary = "메시지 조회 (미구현)",
-        description = "이 엔드포인트는 미구현 상태입니다. 실제 메시지 조회는 Socket.IO의 'fetchPreviousMessages' 이벤트를 사용하세요.",
-        deprecated = true
+        summary = "메시지 조회",
+        description = "채팅방 메시지를 최신순 페이지로 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 전달하세요. "
+                + "이전 페이지 응답에는 ETag가 포함되며 If-None-Match가 일치하면 304를 반환합니다. 읽음 처리는 하지 않습니다."
     )
     @ApiResponses({
-        @ApiResponse(responseCode = "500", description = "미구현 엔드포인트",
+        @ApiResponse(responseCode = "200", description = "메시지 조회 성공",
+            content = @Content(schema = @Schema(implementation = FetchMessagesResponse.class))),
+        @ApiResponse(responseCode = "304", description = "이전 페이지가 변경되지 않음"),
+        @ApiResponse(responseCode = "400", description = "잘못된 커서",
             content = @Content(schema = @Schema(implementation = StandardResponse.class),
-                examples = @ExampleObject(value = "{\"success\":false,\"message\":\"미구현.\"}")))
+                examples = @ExampleObject(value = "{\"success\":false,\"message\":\"잘못된 커서입니다.\"}"))),
+        @ApiResponse(responseCode = "403", description = "채팅방 접근 권한 없음",
+            content = @Content(schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "404", description = "채팅방을 찾을 수 없음",
+            content = @Content(schema = @Schema(implementation = StandardResponse.class)))
     })
     @GetMapping("/rooms/{roomId}/messages")
     public ResponseEntity<?> loadMessages(
             @Parameter(description = "채팅방 ID") @PathVariable String roomId,
-            @Parameter(description = "이전 메시지 ID (페이지네이션)") @RequestParam(required = false) String before,
-            @Parameter(description = "조회할 메시지 개수", example = "30") @RequestParam(defaultValue = "30") Integer limit,
-            Principal principal) {
-        log.debug("Message REST API called - returning 500 (not implemented, use Socket.IO)");
-        
-        return ResponseEntity.status(500).body(
-                StandardResponse.error("미구현.")
+            @Parameter(description = "이 시각(ms) 이전 메시지 조회 (cursor가 없을 때)") @RequestParam(required = false) Long before,
+            @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "조회할 메시지 개수 (최대 100)", example = "30") @RequestParam(defaultValue = "30") Integer limit,
+            Principal principal,
+            NativeWebRequest webRequest) throws JsonProcessingException {
+        String userId = findUserId(principal);
+        ResponseEntity<StandardResponse<Object>> denied = checkRoomAccess(roomId, userId);
+        if (denied != null) {
+            return denied;
+        }
+        if (!isValidCursor(cursor)) {
+            return ResponseEntity.badRequest().body(StandardResponse.error("잘못된 커서입니다."));
+        }
+
+        int pageSize = Math.min(Math.max(1, limit), MAX_PAGE_SIZE);
+        boolean latestPage = !StringUtils.hasText(cursor) && (before == null || before <= 0);
+        FetchMessagesResponse result = messageLoader.loadMessages(
+                new FetchMessagesRequest(roomId, pageSize, before, cursor), userId, false);
+        Map<String, Object> body = Map.of(
+                "success", true,
+                "data", result
         );
+
+        if (latestPage) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(body);
+        }
+        // 이전 페이지 내용이 그대로면 본문을 보내지 않고 304로 응답한다
+        String eTag = computeETag(result);
+        if (webRequest.checkNotModified(eTag)) {
+            // checkNotModified가 304 상태와 ETag 헤더를 이미 설정했다
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(eTag)
+                .body(body);
+    }
+
+    /**
+     * 채팅방 메시지 히스토리 NDJSON 스트리밍
+     */
+    @Operation(
+        summary = "메시지 히스토리 스트리밍",
+        description = "채팅방 메시지를 최신순으로 한 줄에 하나씩(application/x-ndjson) 내보냅니다. "
+                + "limit에서 잘린 경우 마지막 줄이 {\"nextCursor\": \"...\"}이며, 이를 cursor로 전달해 이어받을 수 있습니다. "
+                + "읽음 처리는 하지 않습니다."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "스트리밍 시작",
+            content = @Content(mediaType = "application/x-ndjson")),
+        @ApiResponse(responseCode = "400", description = "잘못된 커서",
+            content = @Content(schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "403", description = "채팅방 접근 권한 없음",
+            content = @Content(schema = @Schema(implementation = StandardResponse.class))),
+        @ApiResponse(responseCode = "404", description = "채팅방을 찾을 수 없음",
+            content = @Content(schema = @Schema(implementation = StandardResponse.class)))
+    })
+    @GetMapping("/rooms/{roomId}/messages/stream")
+    public ResponseEntity<StreamingResponseBody> streamMessages(
+            @Parameter(description = "채팅방 ID") @PathVariable String roomId,
+            @Parameter(description = "이 커서 이전 메시지부터 내보내기") @RequestParam(required = false) String cursor,
+            @Parameter(description = "내보낼 최대 메시지 수") @RequestParam(required = false) Integer limit,
+            Principal principal) {
+        String userId = findUserId(principal);
+        ResponseEntity<StandardResponse<Object>> denied = checkRoomAccess(roomId, userId);
+        if (denied != null) {
+            return asStreamingError(denied);
+        }
+        if (!isValidCursor(cursor)) {
+            return asStreamingError(ResponseEntity.badRequest().body(StandardResponse.error("잘못된 커서입니다.")));
+        }
+
+        MessageCursor startCursor = StringUtils.hasText(cursor) ? MessageCursor.decode(cursor) : null;
+        int maxMessages = limit != null && limit > 0 ? Math.min(limit, maxExportMessages) : maxExportMessages;
+
+        StreamingResponseBody stream = out -> {
+            long count = messageHistoryStreamer.stream(roomId, startCursor, maxMessages, out);
+            log.info("Message history exported - roomId: {}, userId: {}, count: {}", roomId, userId, count);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .cacheControl(CacheControl.noStore())
+                .body(stream);
+    }
+
+    private String findUserId(Principal principal) {
+        User user = userRepository.findByEmail(principal.getName())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + principal.getName()));
+        return user.getId();
+    }
+
+    /**
+     * @return 접근할 수 없으면 에러 응답, 참여 중인 채팅방이면 null
+     */
+    private ResponseEntity<StandardResponse<Object>> checkRoomAccess(String roomId, String userId) {
+        Optional<Room> room = roomRepository.findById(roomId);
+        if (room.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(StandardResponse.error("채팅방을 찾을 수 없습니다."));
+        }
+        if (!room.get().getParticipantIds().contains(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(StandardResponse.error("채팅방 접근 권한이 없습니다."));
+        }
+        return null;
+    }
+
+    private boolean isValidCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return true;
+        }
+        try {
+            MessageCursor.decode(cursor);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 페이지 내용(메시지, 리액션, 읽은 사용자, 다음 커서)의 해시로 ETag를 만든다.
+     */
+    private String computeETag(FetchMessagesResponse result) throws JsonProcessingException {
+        return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(result)) + "\"";
+    }
+
+    /**
+     * 스트리밍 엔드포인트는 body 타입이 StreamingResponseBody로 고정되어 있으므로 에러 JSON도 직접 쓴다.
+     */
+    private ResponseEntity<StreamingResponseBody> asStreamingError(ResponseEntity<StandardResponse<Object>> error) {
+        StandardResponse<Object> body = error.getBody();
+        return ResponseEntity.status(error.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, body));
     }
 }
@@ -14,6 +14,10 @@ import java.util.List;
 public class FetchMessagesResponse {
     private List<MessageResponse> messages;
     private boolean hasMore;
+    // 다음(더 오래된) 페이지 커서, hasMore가 false면 null
+    private String nextCursor;
+    // watermark 모드에서만 채워진다
+    private List<ReadWatermarkResponse> readWatermarks;
     
     public long firstMessageTimestamp() {
         return messages.getFirst().getTimestamp();
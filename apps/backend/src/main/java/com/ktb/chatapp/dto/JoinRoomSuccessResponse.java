@@ -19,5 +19,6 @@ public class JoinRoomSuccessResponse {
     private List<UserResponse> participants;
     private List<MessageResponse> messages;
     private boolean hasMore;
+    private List<ReadWatermarkResponse> readWatermarks;
     private List<ActiveStreamResponse> activeStreams;
 }
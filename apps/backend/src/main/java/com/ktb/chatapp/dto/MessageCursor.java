@@ -0,0 +1,61 @@
+package com.ktb.chatapp.dto;
+
+import com.ktb.chatapp.exception.InvalidCursorException;
+import com.ktb.chatapp.model.Message;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import org.bson.types.ObjectId;
+
+/**
+ * 메시지 히스토리 페이지 커서.
+ * (timestamp, _id) 쌍으로 위치를 표시해 같은 timestamp를 가진 메시지도 빠짐없이 넘길 수 있다.
+ * 클라이언트에는 불투명한 base64url 문자열로만 노출한다.
+ */
+public record MessageCursor(long timestamp, String messageId) {
+
+    public static MessageCursor of(Message message) {
+        return new MessageCursor(message.toTimestampMillis(), message.getId());
+    }
+
+    public static MessageCursor of(MessageResponse response) {
+        return new MessageCursor(response.getTimestamp(), response.getId());
+    }
+
+    /**
+     * @throws InvalidCursorException 형식이 올바르지 않은 커서
+     */
+    public static MessageCursor decode(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid message cursor", e);
+        }
+
+        int separator = decoded.indexOf(':');
+        if (separator <= 0 || !ObjectId.isValid(decoded.substring(separator + 1))) {
+            throw new InvalidCursorException("Invalid message cursor");
+        }
+        try {
+            return new MessageCursor(Long.parseLong(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid message cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp + ":" + messageId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime timestampAsLocalDateTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+    }
+
+    public ObjectId messageObjectId() {
+        return new ObjectId(messageId);
+    }
+}
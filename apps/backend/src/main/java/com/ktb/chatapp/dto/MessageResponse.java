@@ -16,7 +16,7 @@ import lombok.NoArgsConstructor;
  * 메시지 응답 DTO.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class MessageResponse {
@@ -39,6 +39,9 @@ public class MessageResponse {
     
     private long timestamp;
     
+    // 채팅방 내 순번, 클라이언트가 누락/역전을 감지하는 데 쓴다
+    private Long seq;
+    
     private Map<String, Set<String>> reactions;
     
     private List<Message.MessageReader> readers;
@@ -0,0 +1,24 @@
+package com.ktb.chatapp.dto;
+
+import com.ktb.chatapp.model.RoomReadWatermark;
+import java.time.ZoneId;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 채팅방 사용자별 읽음 위치. lastReadAt 이하의 timestamp를 가진 메시지는 읽은 것으로 본다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadWatermarkResponse {
+    private String userId;
+    private long lastReadAt;
+
+    public static ReadWatermarkResponse from(RoomReadWatermark watermark) {
+        return new ReadWatermarkResponse(
+                watermark.getUserId(),
+                watermark.getLastReadAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
@@ -1,25 +1,47 @@
 package com.ktb.chatapp.event;
 
+import java.util.function.IntFunction;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
 /**
  * AI 메시지 청크 이벤트
+ * fullContent는 누적 내용, currentChunk는 offset 위치에 이어 붙일 이번 청크다.
+ * 델타 프로토콜에서는 대부분의 청크가 fullContent를 쓰지 않으므로 필요할 때만 만든다.
+ * fullContent는 이 청크까지의 길이로 고정되므로, 나중에 읽어도 이후 청크가 섞이지 않는다.
  */
 @Getter
 public class AiMessageChunkEvent extends ApplicationEvent {
     
     private final String roomId;
     private final String messageId;
-    private final String fullContent;
+    @Getter(AccessLevel.NONE)
+    private final IntFunction<String> contentPrefix;
+    private final String currentChunk;
+    // currentChunk가 시작하는 위치 (이전까지 누적된 길이)
+    private final int offset;
+    // 이 청크까지 누적된 길이 (offset + currentChunk 길이)
+    private final int contentLength;
+    // 스트림 내 청크 순번, 1부터 시작
+    private final long seq;
     private final boolean isCodeBlock;
     
     public AiMessageChunkEvent(Object source, String roomId, String messageId,
-                               String fullContent, boolean isCodeBlock) {
+                               IntFunction<String> contentPrefix, String currentChunk, int offset, long seq,
+                               boolean isCodeBlock) {
         super(source);
         this.roomId = roomId;
         this.messageId = messageId;
-        this.fullContent = fullContent;
+        this.contentPrefix = contentPrefix;
+        this.currentChunk = currentChunk;
+        this.offset = offset;
+        this.contentLength = offset + currentChunk.length();
+        this.seq = seq;
         this.isCodeBlock = isCodeBlock;
     }
+
+    public String getFullContent() {
+        return contentPrefix.apply(contentLength);
+    }
 }
@@ -0,0 +1,17 @@
+package com.ktb.chatapp.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 마지막 참가자가 퇴장해 채팅방이 비었을 때 발행된다.
+ */
+@Getter
+public class RoomEmptiedEvent extends ApplicationEvent {
+    private final String roomId;
+
+    public RoomEmptiedEvent(Object source, String roomId) {
+        super(source);
+        this.roomId = roomId;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ktb.chatapp.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+@Getter
+public class UserUpdatedEvent extends ApplicationEvent {
+    private final String userId;
+
+    public UserUpdatedEvent(Object source, String userId) {
+        super(source);
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ktb.chatapp.exception;
+
+/**
+ * 메시지 히스토리 커서를 해석할 수 없을 때 발생한다.
+ * 호출한 쪽은 빈 페이지 대신 INVALID_CURSOR로 알린다.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
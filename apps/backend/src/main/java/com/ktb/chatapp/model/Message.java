@@ -31,7 +31,7 @@ import java.util.Set;
 @Document(collection = "messages")
 @CompoundIndexes({
     @CompoundIndex(name = "readers_userId_idx", def = "{'readers.userId': 1}"),
-    @CompoundIndex(name = "room_isDeleted_timestamp_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1}")
+    @CompoundIndex(name = "room_isDeleted_timestamp_id_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1, '_id': -1}")
 })
 public class Message {
 
@@ -64,6 +64,9 @@ public class Message {
     @CreatedDate
     private LocalDateTime timestamp;
 
+    // 채팅방 안에서의 순번 (1부터 증가, RoomSequenceAllocator가 발급). 이전 메시지는 null
+    private Long seq;
+
     @Builder.Default
     private Map<String, Set<String>> reactions = new HashMap<>();
 
@@ -0,0 +1,40 @@
+package com.ktb.chatapp.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * 채팅방별 사용자 읽음 위치.
+ * lastReadAt 이하의 timestamp를 가진 메시지는 모두 읽은 것으로 본다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "room_read_watermarks")
+@CompoundIndexes({
+    @CompoundIndex(name = "room_user_idx", def = "{'room': 1, 'user': 1}", unique = true)
+})
+public class RoomReadWatermark {
+
+    @Id
+    private String id;
+
+    @Field("room")
+    private String roomId;
+
+    @Field("user")
+    private String userId;
+
+    private LocalDateTime lastReadAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -3,15 +3,25 @@ package com.ktb.chatapp.repository;
 import com.ktb.chatapp.model.Message;
 import java.time.LocalDateTime;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MessageRepository extends MongoRepository<Message, String> {
-    Page<Message> findByRoomIdAndIsDeletedAndTimestampBefore(String roomId, Boolean isDeleted, LocalDateTime timestamp, Pageable pageable);
+    Slice<Message> findByRoomIdAndIsDeletedAndTimestampBefore(String roomId, Boolean isDeleted, LocalDateTime timestamp, Pageable pageable);
+
+    /**
+     * (timestamp, _id) 커서 이전의 삭제되지 않은 메시지 조회
+     * Slice로 limit + 1개만 읽어 hasNext를 판단하므로 count 쿼리가 없다.
+     * pageable은 timestamp, _id 내림차순으로 정렬해야 room_isDeleted_timestamp_id_idx를 그대로 탄다.
+     */
+    @Query("{ 'room': ?0, 'isDeleted': false, $or: [ { 'timestamp': { $lt: ?1 } }, { 'timestamp': ?1, '_id': { $lt: ?2 } } ] }")
+    Slice<Message> findByRoomIdBeforeCursor(String roomId, LocalDateTime timestamp, ObjectId messageId, Pageable pageable);
+
     /**
      * 특정 시간 이후의 메시지 수 카운트 (삭제되지 않은 메시지만)
      * 최근 N분간 메시지 수를 조회할 때 사용
@@ -1,23 +1,87 @@
 package com.ktb.chatapp.service;
 
+import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import com.ktb.chatapp.service.readstatus.ReadStatusStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
  * 메시지 읽음 상태 관리 서비스
+ * 읽음 처리는 사용자별로 coalesce-window 동안 모은 뒤 ReadStatusStore에 한 번에 반영한다.
+ * 저장 방식(메시지별 readers 배열 / 채팅방별 워터마크)은 chatapp.read-status.mode로 선택한다.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MessageReadStatusService {
 
-    private final MessageRepository messageRepository;
+    private final ReadStatusStore readStatusStore;
+    private final Duration coalesceWindow;
+    private final boolean expandReaders;
+    private final Map<String, Set<String>> pendingReads = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+    private final Counter updatedCounter;
+
+    private ScheduledExecutorService scheduler;
+
+    public MessageReadStatusService(
+            ReadStatusStore readStatusStore,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.read-status.coalesce-window:200ms}") Duration coalesceWindow,
+            @Value("${chatapp.read-status.watermark.expand-readers:false}") boolean expandReaders) {
+        this.readStatusStore = readStatusStore;
+        this.coalesceWindow = coalesceWindow;
+        this.expandReaders = expandReaders;
+        this.flushTimer = Timer.builder("message.read_status.flush.time")
+                .description("Read status bulk update latency")
+                .register(meterRegistry);
+        this.updatedCounter = Counter.builder("message.read_status.updated")
+                .description("Documents changed by read status updates")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (coalesceWindow.isZero() || coalesceWindow.isNegative()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-status-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowMillis = coalesceWindow.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushPending, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        flushPending();
+    }
 
     /**
      * 메시지 읽음 상태 업데이트
@@ -29,31 +93,129 @@ public class MessageReadStatusService {
         if (messageIds.isEmpty()) {
             return;
         }
-        
-        Message.MessageReader readerInfo = Message.MessageReader.builder()
-                .userId(userId)
-                .readAt(LocalDateTime.now())
-                .build();
-        
-        try {
-            List<Message> messagesToUpdate = messageRepository.findAllById(messageIds);
-            for (Message message : messagesToUpdate) {
-                if (message.getReaders() == null) {
-                    message.setReaders(new ArrayList<>());
+
+        if (scheduler == null) {
+            markAsRead(messageIds, userId);
+            return;
+        }
+
+        pendingReads.compute(userId, (key, pending) -> {
+            Set<String> ids = pending != null ? pending : new HashSet<>();
+            ids.addAll(messageIds);
+            return ids;
+        });
+    }
+
+    /**
+     * 대기 중인 읽음 처리를 사용자별로 한 번씩 반영한다.
+     */
+    void flushPending() {
+        for (String userId : new ArrayList<>(pendingReads.keySet())) {
+            Set<String> ids = pendingReads.remove(userId);
+            if (ids != null && !ids.isEmpty()) {
+                markAsRead(ids, userId);
+            }
+        }
+    }
+
+    /**
+     * 채팅방의 읽음 워터마크 조회
+     * readers 모드에서는 빈 리스트를 반환한다.
+     */
+    public List<RoomReadWatermark> findWatermarks(String roomId) {
+        return readStatusStore.findWatermarks(roomId);
+    }
+
+    /**
+     * 채팅방의 읽음 워터마크를 조회하고, 방금 readUpTo까지 읽은 요청자의 워터마크를 반영한다.
+     * 요청자의 읽음 처리는 coalesce-window 뒤에 저장되므로 저장된 워터마크에는 아직 없을 수 있다.
+     *
+     * @param readUpTo 요청자에게 보여줄 페이지의 가장 최근 메시지 시각 (null이면 반영하지 않는다)
+     */
+    public List<RoomReadWatermark> findWatermarks(String roomId, String userId, LocalDateTime readUpTo) {
+        List<RoomReadWatermark> watermarks = readStatusStore.findWatermarks(roomId);
+        if (!readStatusStore.usesWatermarks() || userId == null || readUpTo == null) {
+            return watermarks;
+        }
+        List<RoomReadWatermark> merged = new ArrayList<>(watermarks.size() + 1);
+        boolean found = false;
+        for (RoomReadWatermark watermark : watermarks) {
+            if (userId.equals(watermark.getUserId())) {
+                found = true;
+                if (watermark.getLastReadAt() == null || watermark.getLastReadAt().isBefore(readUpTo)) {
+                    watermark = RoomReadWatermark.builder()
+                            .id(watermark.getId())
+                            .roomId(roomId)
+                            .userId(userId)
+                            .lastReadAt(readUpTo)
+                            .updatedAt(watermark.getUpdatedAt())
+                            .build();
                 }
-                boolean alreadyRead = message.getReaders().stream()
-                        .anyMatch(r -> r.getUserId().equals(userId));
-                if (!alreadyRead) {
-                    message.getReaders().add(readerInfo);
+            }
+            merged.add(watermark);
+        }
+        if (!found) {
+            merged.add(RoomReadWatermark.builder().roomId(roomId).userId(userId).lastReadAt(readUpTo).build());
+        }
+        return merged;
+    }
+
+    /**
+     * 워터마크로부터 각 메시지의 readers를 계산해 채운다.
+     * expand-readers가 꺼져 있으면 readers를 비워 응답 크기를 줄이고,
+     * 클라이언트가 함께 전달된 워터마크로 직접 계산하게 한다.
+     *
+     * @param messages 응답으로 변환할 메시지 (저장하지 않는다)
+     * @param watermarks 같은 채팅방의 워터마크
+     */
+    public void applyWatermarks(List<Message> messages, List<RoomReadWatermark> watermarks) {
+        if (watermarks.isEmpty()) {
+            return;
+        }
+        for (Message message : messages) {
+            message.setReaders(readersAt(message.getTimestamp(), watermarks));
+        }
+    }
+
+    /**
+     * 이미 변환된 응답(최근 메시지 버퍼 등)에 워터마크 기반 readers를 채운다.
+     */
+    public void applyWatermarksToResponses(List<MessageResponse> responses, List<RoomReadWatermark> watermarks) {
+        if (watermarks.isEmpty()) {
+            return;
+        }
+        for (MessageResponse response : responses) {
+            LocalDateTime timestamp = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(response.getTimestamp()), ZoneId.systemDefault());
+            response.setReaders(readersAt(timestamp, watermarks));
+        }
+    }
+
+    private List<Message.MessageReader> readersAt(LocalDateTime timestamp, List<RoomReadWatermark> watermarks) {
+        List<Message.MessageReader> readers = new ArrayList<>();
+        if (expandReaders && timestamp != null) {
+            for (RoomReadWatermark watermark : watermarks) {
+                if (watermark.getLastReadAt() != null && !watermark.getLastReadAt().isBefore(timestamp)) {
+                    readers.add(new Message.MessageReader(watermark.getUserId(), watermark.getLastReadAt()));
                 }
-                messageRepository.save(message);
             }
-            
-            log.debug("Read status updated for {} messages by user {}",
-                    messagesToUpdate.size(), userId);
+        }
+        return readers;
+    }
+
+    private void markAsRead(Collection<String> messageIds, String userId) {
+        Timer.Sample sample = Timer.start();
+        try {
+            long updated = readStatusStore.markAsRead(messageIds, userId);
+            updatedCounter.increment(updated);
+
+            log.debug("Read status updated - {} documents for {} messages by user {}",
+                    updated, messageIds.size(), userId);
 
         } catch (Exception e) {
             log.error("Read status update error for user {}", userId, e);
+        } finally {
+            sample.stop(flushTimer);
         }
     }
 }
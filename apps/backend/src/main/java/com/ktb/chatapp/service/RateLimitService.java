@@ -1,6 +1,5 @@
 package com.ktb.chatapp.service;
 
-import com.ktb.chatapp.model.RateLimit;
 import com.ktb.chatapp.service.ratelimit.RateLimitStore;
 import jakarta.annotation.PostConstruct;
 import java.time.Duration;
@@ -9,7 +8,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import static java.net.InetAddress.*;
 
@@ -39,48 +37,15 @@ public class RateLimitService {
     }
     
     
-    @Transactional
     public RateLimitCheckResult checkRateLimit(String _clientId, int maxRequests, Duration window) {
-        String actualClientId = hostName + ":" + _clientId;
-        long windowSeconds = Math.max(1L, window.getSeconds());
-        Instant now = Instant.now();
-        long nowEpochSeconds = now.getEpochSecond();
-        Instant expiresAt = now.plus(window);
+        String actualClientId = rateLimitStore.isClusterWide() ? _clientId : hostName + ":" + _clientId;
 
         try {
-            RateLimit rateLimit = rateLimitStore.findByClientId(actualClientId).orElse(null);
-            int currentCount = rateLimit != null ? rateLimit.getCount() : 0;
-
-            if (rateLimit != null && currentCount >= maxRequests) {
-                long retryAfterSeconds = Math.max(1L,
-                    rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
-                long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
-                return RateLimitCheckResult.rejected(
-                        maxRequests, windowSeconds, resetEpochSeconds, retryAfterSeconds);
-            }
-
-            // Create or update rate limit
-            if (rateLimit == null) {
-                rateLimit = RateLimit.builder()
-                        .clientId(actualClientId)
-                        .count(1)
-                        .expiresAt(expiresAt)
-                        .build();
-            } else {
-                rateLimit.setCount(currentCount + 1);
-            }
-            rateLimitStore.save(rateLimit);
-
-            int newCount = currentCount + 1;
-            int remaining = Math.max(0, maxRequests - newCount);
-            long ttlSeconds = Math.max(1L, rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
-            long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
-
-            return RateLimitCheckResult.allowed(
-                    maxRequests, remaining, windowSeconds, resetEpochSeconds, ttlSeconds);
+            return rateLimitStore.checkAndIncrement(actualClientId, maxRequests, window);
         } catch (Exception e) {
             log.error("Rate limit check failed for client: {}", actualClientId, e);
-            long resetEpochSeconds = nowEpochSeconds + windowSeconds;
+            long windowSeconds = Math.max(1L, window.getSeconds());
+            long resetEpochSeconds = Instant.now().getEpochSecond() + windowSeconds;
             return RateLimitCheckResult.allowed(
                     maxRequests, maxRequests, windowSeconds, resetEpochSeconds, windowSeconds);
         }
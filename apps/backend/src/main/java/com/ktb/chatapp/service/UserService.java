@@ -3,12 +3,14 @@ package com.ktb.chatapp.service;
 import com.ktb.chatapp.dto.ProfileImageResponse;
 import com.ktb.chatapp.dto.UpdateProfileRequest;
 import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.event.UserUpdatedEvent;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.util.FileUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -25,6 +27,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final FileService fileService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.profile.image.max-size:5242880}") // 5MB
     private long maxProfileImageSize;
@@ -57,6 +60,7 @@ public class UserService {
 
         User updatedUser = userRepository.save(user);
         log.info("사용자 프로필 업데이트 완료 - ID: {}, Name: {}", user.getId(), request.getName());
+        eventPublisher.publishEvent(new UserUpdatedEvent(this, user.getId()));
 
         return UserResponse.from(updatedUser);
     }
@@ -87,6 +91,7 @@ public class UserService {
         user.setProfileImage(profileImageUrl);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserUpdatedEvent(this, user.getId()));
 
         log.info("프로필 이미지 업로드 완료 - User ID: {}, File: {}", user.getId(), profileImageUrl);
 
@@ -176,6 +181,7 @@ public class UserService {
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
             log.info("프로필 이미지 삭제 완료 - User ID: {}", user.getId());
+            eventPublisher.publishEvent(new UserUpdatedEvent(this, user.getId()));
         }
     }
 
@@ -193,6 +199,7 @@ public class UserService {
 
         userRepository.delete(user);
         log.info("회원 탈퇴 완료 - User ID: {}", user.getId());
+        eventPublisher.publishEvent(new UserUpdatedEvent(this, user.getId()));
     }
 
     private String extractFilename(String profileImageUrl) {
@@ -0,0 +1,206 @@
+package com.ktb.chatapp.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.chatapp.event.RoomUpdatedEvent;
+import com.ktb.chatapp.event.UserUpdatedEvent;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지 전송 경로용 User / Room 근거리 캐시.
+ * 크기와 TTL로 제한되며, 무효화는 Redis topic으로 모든 노드에 전파된다.
+ * 무효화 구독이 살아 있지 않으면 캐시된 참가자 목록을 쓰기 권한 판단에 쓰지 않고 매번 다시 읽는다.
+ *
+ * Redis가 없으면 단일 노드로 보고 이 노드의 캐시만 무효화한다.
+ */
+@Slf4j
+@Component
+public class ChatEntityCache {
+
+    static final String TOPIC = "chatapp:entity-cache:invalidate";
+    private static final String ROOM_PREFIX = "room:";
+    private static final String USER_PREFIX = "user:";
+
+    private final UserRepository userRepository;
+    private final RoomRepository roomRepository;
+    private final ObjectProvider<RedissonClient> redissonClientProvider;
+    private final Cache<String, User> users;
+    private final Cache<String, Room> rooms;
+
+    private RTopic topic;
+    private int messageListenerId = -1;
+    private int statusListenerId = -1;
+    // 다른 노드의 무효화를 받고 있는지. Redis가 없으면 단일 노드이므로 항상 true
+    private volatile boolean invalidationsLive = true;
+
+    public ChatEntityCache(
+            UserRepository userRepository,
+            RoomRepository roomRepository,
+            ObjectProvider<RedissonClient> redissonClientProvider,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.cache.entity.max-size:10000}") long maxSize,
+            @Value("${chatapp.cache.entity.ttl:30s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.roomRepository = roomRepository;
+        this.redissonClientProvider = redissonClientProvider;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.rooms = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "chat.entity.users");
+        CaffeineCacheMetrics.monitor(meterRegistry, rooms, "chat.entity.rooms");
+    }
+
+    @PostConstruct
+    public void start() {
+        RedissonClient redissonClient = redissonClientProvider.getIfAvailable();
+        if (redissonClient == null) {
+            log.info("Entity cache invalidation without Redis - node-local only");
+            return;
+        }
+        invalidationsLive = false;
+        topic = redissonClient.getTopic(TOPIC, StringCodec.INSTANCE);
+        try {
+            statusListenerId = topic.addListener(new BaseStatusListener() {
+                @Override
+                public void onSubscribe(String channel) {
+                    // 구독이 끊겼던 동안의 무효화는 알 수 없으므로 전부 비운다
+                    users.invalidateAll();
+                    rooms.invalidateAll();
+                    invalidationsLive = true;
+                }
+
+                @Override
+                public void onUnsubscribe(String channel) {
+                    invalidationsLive = false;
+                }
+            });
+            messageListenerId = topic.addListener(String.class, (channel, payload) -> onRemoteInvalidation(payload));
+            invalidationsLive = true;
+        } catch (Exception e) {
+            log.warn("Failed to subscribe entity cache invalidation topic - membership is read through", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (topic != null && messageListenerId != -1) {
+            topic.removeListener(messageListenerId, statusListenerId);
+        }
+    }
+
+    public Optional<User> findUser(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(users.get(userId, id -> userRepository.findById(id).orElse(null)));
+    }
+
+    public Optional<Room> findRoom(String roomId) {
+        if (roomId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(rooms.get(roomId, id -> roomRepository.findById(id).orElse(null)));
+    }
+
+    /**
+     * 사용자가 참여 중인 방을 조회한다.
+     * 캐시된 참가자 목록에 사용자가 없으면 다른 노드에서 입장했을 수 있으므로 한 번 다시 읽는다.
+     * 무효화 구독이 끊겨 있으면 퇴장이 반영되지 않았을 수 있으므로 캐시를 쓰지 않는다.
+     */
+    public Optional<Room> findRoomForParticipant(String roomId, String userId) {
+        if (!invalidationsLive) {
+            evictLocal(rooms, roomId);
+        }
+        Optional<Room> cached = findRoom(roomId);
+        if (cached.isEmpty() || isParticipant(cached.get(), userId)) {
+            return cached;
+        }
+
+        evictRoom(roomId);
+        return findRoom(roomId).filter(room -> isParticipant(room, userId));
+    }
+
+    /**
+     * 이 노드와 다른 모든 노드에서 사용자를 무효화한다.
+     */
+    public void evictUser(String userId) {
+        if (userId != null) {
+            users.invalidate(userId);
+            publish(USER_PREFIX + userId);
+        }
+    }
+
+    /**
+     * 이 노드와 다른 모든 노드에서 방을 무효화한다.
+     */
+    public void evictRoom(String roomId) {
+        if (roomId != null) {
+            rooms.invalidate(roomId);
+            publish(ROOM_PREFIX + roomId);
+        }
+    }
+
+    @EventListener
+    public void handleRoomUpdatedEvent(RoomUpdatedEvent event) {
+        evictRoom(event.getRoomId());
+    }
+
+    @EventListener
+    public void handleUserUpdatedEvent(UserUpdatedEvent event) {
+        evictUser(event.getUserId());
+    }
+
+    void onRemoteInvalidation(String payload) {
+        if (payload.startsWith(ROOM_PREFIX)) {
+            evictLocal(rooms, payload.substring(ROOM_PREFIX.length()));
+        } else if (payload.startsWith(USER_PREFIX)) {
+            evictLocal(users, payload.substring(USER_PREFIX.length()));
+        }
+    }
+
+    private void publish(String payload) {
+        if (topic == null) {
+            return;
+        }
+        topic.publishAsync(payload).whenComplete((receivers, error) -> {
+            if (error != null) {
+                log.warn("Failed to publish entity cache invalidation - {}", payload, error);
+            }
+        });
+    }
+
+    private static void evictLocal(Cache<String, ?> cache, String id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    private boolean isParticipant(Room room, String userId) {
+        return room.getParticipantIds() != null && room.getParticipantIds().contains(userId);
+    }
+}
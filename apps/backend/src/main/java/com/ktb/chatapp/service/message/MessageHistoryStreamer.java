@@ -0,0 +1,116 @@
+package com.ktb.chatapp.service.message;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.websocket.socketio.handler.MessageResponseMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 메시지 히스토리를 NDJSON(한 줄에 MessageResponse 하나)으로 내보낸다.
+ * MongoDB 커서에서 STREAM_BATCH_SIZE개씩 읽어 발신자/파일을 한 번에 채운 뒤 바로 쓰므로
+ * 범위 전체를 메모리에 올리지 않는다.
+ *
+ * 순서는 페이지 조회와 같은 (timestamp, _id) 내림차순(최신 → 과거)이다.
+ * maxMessages에서 잘리면 마지막 줄에 {"nextCursor": "..."}를 써서 이어받을 수 있게 한다.
+ * 내보내기는 읽음 처리를 하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageHistoryStreamer {
+
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final Sort HISTORY_SORT = Sort.by(Sort.Direction.DESC, "timestamp", "id");
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageResponseMapper messageResponseMapper;
+    private final MessageReadStatusService messageReadStatusService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param cursor 이 커서 이전 메시지부터 (null이면 최신부터)
+     * @return 쓴 메시지 수
+     */
+    public long stream(String roomId, MessageCursor cursor, int maxMessages, OutputStream out) throws IOException {
+        Criteria criteria = Criteria.where("roomId").is(roomId).and("isDeleted").is(false);
+        if (cursor != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("timestamp").lt(cursor.timestampAsLocalDateTime()),
+                    Criteria.where("timestamp").is(cursor.timestampAsLocalDateTime())
+                            .and("id").lt(cursor.messageObjectId()));
+        }
+        // 잘렸는지 알기 위해 한 개 더 읽는다
+        Query query = new Query(criteria)
+                .with(HISTORY_SORT)
+                .limit(maxMessages + 1)
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+
+        List<RoomReadWatermark> watermarks = messageReadStatusService.findWatermarks(roomId);
+        List<Message> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        Message last = null;
+        long count = 0;
+        boolean hasMore = false;
+
+        try (Stream<Message> messages = mongoTemplate.stream(query, Message.class)) {
+            Iterator<Message> iterator = messages.iterator();
+            while (iterator.hasNext()) {
+                Message message = iterator.next();
+                if (count == maxMessages) {
+                    hasMore = true;
+                    break;
+                }
+                batch.add(message);
+                last = message;
+                count++;
+                if (batch.size() == STREAM_BATCH_SIZE) {
+                    writeBatch(batch, watermarks, out);
+                    batch.clear();
+                }
+            }
+        }
+        writeBatch(batch, watermarks, out);
+
+        if (hasMore) {
+            writeLine(Map.of("nextCursor", MessageCursor.of(last).encode()), out);
+        }
+        out.flush();
+
+        log.debug("Message history streamed - roomId: {}, count: {}, hasMore: {}", roomId, count, hasMore);
+        return count;
+    }
+
+    private void writeBatch(List<Message> batch, List<RoomReadWatermark> watermarks, OutputStream out)
+            throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        messageReadStatusService.applyWatermarks(batch, watermarks);
+        List<MessageResponse> responses = messageResponseMapper.mapToMessageResponses(batch);
+        for (MessageResponse response : responses) {
+            writeLine(response, out);
+        }
+        out.flush();
+    }
+
+    private void writeLine(Object value, OutputStream out) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,24 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Synchronous implementation of MessageWriter.
+ * Saves each message with a single MongoDB round trip before returning.
+ */
+@Component
+@ConditionalOnProperty(name = "chatapp.message.persistence.mode", havingValue = "direct", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MessageSyncWriter implements MessageWriter {
+
+    private final MessageRepository messageRepository;
+
+    @Override
+    public Message write(Message message) {
+        return messageRepository.save(message);
+    }
+}
@@ -0,0 +1,278 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind implementation of MessageWriter.
+ * Assigns the ObjectId on the server, returns immediately and persists queued
+ * messages in batches with insertMany, flushing by batch size or flush interval.
+ *
+ * When the queue is full the caller waits up to offer-timeout; if there is still
+ * no room the message is saved synchronously so producers are slowed down
+ * instead of messages being dropped.
+ *
+ * When a batch insert fails, each message is saved individually. Messages that
+ * still fail are retried by the flush thread every retry-delay, up to max-retries
+ * times; only then are they given up and counted in message.write_behind.lost.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.message.persistence.mode", havingValue = "write-behind")
+public class MessageWriteBehindWriter implements MessageWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageRepository messageRepository;
+    private final BlockingQueue<Message> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final int maxRetries;
+    private final Duration retryDelay;
+    private final DelayQueue<RetryEntry> retries = new DelayQueue<>();
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter overflowCounter;
+    private final Counter failureCounter;
+    private final Counter retryCounter;
+    private final Counter lostCounter;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public MessageWriteBehindWriter(
+            MongoTemplate mongoTemplate,
+            MessageRepository messageRepository,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.message.write-behind.capacity:10000}") int capacity,
+            @Value("${chatapp.message.write-behind.batch-size:500}") int batchSize,
+            @Value("${chatapp.message.write-behind.flush-interval:50ms}") Duration flushInterval,
+            @Value("${chatapp.message.write-behind.offer-timeout:100ms}") Duration offerTimeout,
+            @Value("${chatapp.message.write-behind.max-retries:5}") int maxRetries,
+            @Value("${chatapp.message.write-behind.retry-delay:1s}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.messageRepository = messageRepository;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.maxRetries = maxRetries;
+        this.retryDelay = retryDelay;
+
+        Gauge.builder("message.write_behind.queue.depth", queue, BlockingQueue::size)
+                .description("Messages waiting to be persisted")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("message.write_behind.flush.time")
+                .description("Write-behind batch insert latency")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("message.write_behind.batch.size")
+                .description("Messages per write-behind batch")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("message.write_behind.overflow")
+                .description("Messages saved synchronously because the queue was full")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("message.write_behind.failures")
+                .description("Failed write-behind batch inserts")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("message.write_behind.retries")
+                .description("Individual message saves retried after failing")
+                .register(meterRegistry);
+        this.lostCounter = Counter.builder("message.write_behind.lost")
+                .description("Messages given up after exhausting retries")
+                .register(meterRegistry);
+        Gauge.builder("message.write_behind.retry.depth", retries, DelayQueue::size)
+                .description("Messages waiting to be retried")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform()
+                .name("message-write-behind")
+                .daemon(true)
+                .start(this::runFlushLoop);
+        log.info("Message write-behind enabled - capacity: {}, batchSize: {}, flushInterval: {}",
+                queue.remainingCapacity(), batchSize, flushInterval);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(Duration.ofSeconds(10));
+        }
+        if (!queue.isEmpty()) {
+            List<Message> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            flush(remaining);
+        }
+        // 종료 중에는 지연 없이 남은 재시도를 한 번씩만 더 해본다
+        List<RetryEntry> pending = new ArrayList<>(retries);
+        retries.clear();
+        for (RetryEntry entry : pending) {
+            if (!trySave(entry.message())) {
+                lose(entry.message(), entry.attempts() + 1);
+            }
+        }
+    }
+
+    @Override
+    public Message write(Message message) {
+        if (message.getId() == null) {
+            message.setId(new ObjectId().toHexString());
+        }
+
+        if (running) {
+            try {
+                if (queue.offer(message, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                    return message;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            overflowCounter.increment();
+            log.warn("Write-behind queue full - saving message {} synchronously", message.getId());
+        }
+
+        return messageRepository.save(message);
+    }
+
+    private void runFlushLoop() {
+        List<Message> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                retryDue();
+                Message first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 메시지 이후 flushInterval 동안 batchSize까지 모은다
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remainingNanos <= 0) {
+                        break;
+                    }
+                    Message next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in write-behind flush loop", e);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Message> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            mongoTemplate.insert(batch, Message.class);
+            log.debug("Write-behind batch persisted - size: {}", batch.size());
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.error("Write-behind batch insert failed - size: {}, retrying individually", batch.size(), e);
+            // save는 _id 기준 upsert이므로 일부만 insert된 경우에도 안전하다
+            for (Message message : batch) {
+                if (!trySave(message)) {
+                    scheduleRetry(message, 1);
+                }
+            }
+        } finally {
+            sample.stop(flushTimer);
+            batchSizeSummary.record(batch.size());
+        }
+    }
+
+    /**
+     * 재시도 시각이 된 메시지를 다시 저장한다. 실패하면 max-retries까지 다시 예약하고, 넘으면 유실로 센다.
+     */
+    private void retryDue() {
+        RetryEntry entry;
+        while ((entry = retries.poll()) != null) {
+            retryCounter.increment();
+            if (!trySave(entry.message())) {
+                scheduleRetry(entry.message(), entry.attempts() + 1);
+            }
+        }
+    }
+
+    private boolean trySave(Message message) {
+        try {
+            messageRepository.save(message);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to persist message {} in room {}", message.getId(), message.getRoomId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * @param failures 지금까지 개별 저장에 실패한 횟수
+     */
+    private void scheduleRetry(Message message, int failures) {
+        if (failures > maxRetries) {
+            lose(message, failures);
+            return;
+        }
+        retries.add(new RetryEntry(message, failures, System.nanoTime() + retryDelay.toNanos()));
+    }
+
+    private void lose(Message message, int failures) {
+        lostCounter.increment();
+        log.error("Giving up on message {} in room {} after {} failed saves",
+                message.getId(), message.getRoomId(), failures);
+    }
+
+    private record RetryEntry(Message message, int attempts, long dueAtNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.model.Message;
+
+/**
+ * Write path for chat messages.
+ * Implementations decide whether a message is persisted before or after it is broadcast.
+ */
+public interface MessageWriter {
+
+    /**
+     * Persist a message (or schedule it for persistence)
+     *
+     * @param message the message to write
+     * @return the message with its identifier assigned
+     */
+    Message write(Message message);
+}
@@ -0,0 +1,103 @@
+package com.ktb.chatapp.service.message;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방별 메시지 순번 발급
+ * room_sequences 컬렉션의 방 문서를 $inc로 block-size만큼 올려 구간을 예약하고, 구간 안의 순번은 메모리에서 발급한다.
+ * DB 왕복은 방마다 block-size개의 메시지당 한 번이다.
+ * Room 문서 전체를 저장하는 코드가 순번을 되돌리지 않도록 rooms 컬렉션과 분리했다.
+ *
+ * 기본값 block-size=1은 메시지마다 예약하므로 여러 노드가 같은 방에 써도 순번이 발급 순서대로 단조 증가한다.
+ * block-size를 키우는 것은 단일 노드 배포에서만 안전하다. 여러 노드가 각자 다른 구간을 쓰면 방의 순번이
+ * 뒤섞이고, 재시작하거나 방 구간이 캐시에서 밀려나면 쓰지 않은 구간만큼 건너뛴다.
+ *
+ * 방별 구간 상태는 최근에 쓴 방만 max-rooms개까지 보관한다.
+ */
+@Slf4j
+@Component
+public class RoomSequenceAllocator {
+
+    static final String COLLECTION = "room_sequences";
+    private static final Duration BLOCK_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private final MongoTemplate mongoTemplate;
+    private final int blockSize;
+    private final Cache<String, Block> blocks;
+
+    public RoomSequenceAllocator(
+            MongoTemplate mongoTemplate,
+            @Value("${chatapp.room-sequence.block-size:1}") int blockSize,
+            @Value("${chatapp.room-sequence.max-rooms:10000}") long maxRooms) {
+        this.mongoTemplate = mongoTemplate;
+        this.blockSize = Math.max(1, blockSize);
+        this.blocks = Caffeine.newBuilder()
+                .maximumSize(maxRooms)
+                .expireAfterAccess(BLOCK_IDLE_TIMEOUT)
+                .build();
+        if (this.blockSize > 1) {
+            log.warn("Room sequence block-size {} keeps seq monotonic only on a single node", this.blockSize);
+        }
+    }
+
+    public long next(String roomId) {
+        Block block = blocks.get(roomId, key -> new Block());
+        synchronized (block) {
+            if (block.next > block.last) {
+                block.last = reserve(roomId);
+                block.next = block.last - blockSize + 1;
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * 방금 발급받은 순번을 저장하지 못했을 때 되돌린다. 그 뒤로 같은 방에 발급된 순번이 없을 때만 반영되므로
+     * 방 lane 안에서 next 직후 실패한 경우 빈틈이 남지 않는다.
+     */
+    public void release(String roomId, long seq) {
+        Block block = blocks.getIfPresent(roomId);
+        if (block == null) {
+            return;
+        }
+        synchronized (block) {
+            if (block.next == seq + 1) {
+                block.next = seq;
+            }
+        }
+    }
+
+    /**
+     * @return 예약한 구간의 마지막 순번
+     */
+    private long reserve(String roomId) {
+        Query query = new Query(Criteria.where("_id").is(roomId));
+        Update update = new Update().inc("seq", (long) blockSize);
+        Document sequence = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class, COLLECTION);
+        if (sequence == null) {
+            throw new IllegalStateException("Failed to allocate message sequence for room " + roomId);
+        }
+        long last = ((Number) sequence.get("seq")).longValue();
+        log.debug("Room sequence block reserved - roomId: {}, range: {}..{}", roomId, last - blockSize + 1, last);
+        return last;
+    }
+
+    private static final class Block {
+        // next > last이면 예약한 구간을 다 쓴 상태
+        private long next = 1;
+        private long last = 0;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ktb.chatapp.service.moderation;
+
+import com.ktb.chatapp.util.BannedWordChecker;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 금칙어 사전 관리용 actuator 엔드포인트 (/actuator/bannedwords).
+ * 기본 노출 목록에 포함되어 있지 않으므로 관리망에서만
+ * management.endpoints.web.exposure.include 에 추가해 사용한다.
+ */
+@Component
+@Endpoint(id = "bannedwords")
+@RequiredArgsConstructor
+public class BannedWordEndpoint {
+
+    private final BannedWordChecker bannedWordChecker;
+    private final BannedWordReloader bannedWordReloader;
+
+    @ReadOperation
+    public Map<String, Object> dictionary() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("version", bannedWordChecker.getVersion());
+        body.put("size", bannedWordChecker.size());
+        body.put("checksum", bannedWordChecker.getChecksum());
+        body.put("loadedAt", bannedWordChecker.getLoadedAt());
+        return body;
+    }
+
+    @WriteOperation
+    public BannedWordReloader.ReloadResult reload() {
+        return bannedWordReloader.reload(true);
+    }
+}
@@ -0,0 +1,140 @@
+package com.ktb.chatapp.service.moderation;
+
+import com.ktb.chatapp.util.BannedWordChecker;
+import com.ktb.chatapp.util.BannedWordDictionary;
+import com.ktb.chatapp.util.BannedWordDictionaryLoader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * 금칙어 사전 재로드.
+ * poll-interval이 0보다 크면 사전 리소스를 주기적으로 확인하여 내용이 바뀐 경우에만 재로드한다.
+ * 매처 생성은 이 컴포넌트의 스레드에서 수행되고, 메시지 처리 경로는 교체된 참조만 읽는다.
+ */
+@Slf4j
+@Component
+public class BannedWordReloader {
+
+    private final BannedWordChecker bannedWordChecker;
+    private final BannedWordDictionaryLoader dictionaryLoader;
+    private final Duration pollInterval;
+    private final Timer reloadTimer;
+    private final Counter reloadFailures;
+
+    private ScheduledExecutorService scheduler;
+    private long lastModified = -1L;
+
+    public BannedWordReloader(
+            BannedWordChecker bannedWordChecker,
+            BannedWordDictionaryLoader dictionaryLoader,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.banned-word.reload.poll-interval:0s}") Duration pollInterval) {
+        this.bannedWordChecker = bannedWordChecker;
+        this.dictionaryLoader = dictionaryLoader;
+        this.pollInterval = pollInterval;
+
+        Gauge.builder("banned_word.dictionary.version", bannedWordChecker, BannedWordChecker::getVersion)
+                .description("Active banned word dictionary version")
+                .register(meterRegistry);
+        Gauge.builder("banned_word.dictionary.size", bannedWordChecker, BannedWordChecker::size)
+                .description("Number of words in the active banned word dictionary")
+                .register(meterRegistry);
+        this.reloadTimer = Timer.builder("banned_word.reload.time")
+                .description("Banned word dictionary load and compile time")
+                .register(meterRegistry);
+        this.reloadFailures = Counter.builder("banned_word.reload.failures")
+                .description("Failed banned word dictionary reloads")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        lastModified = lastModified(dictionaryLoader.getResource());
+        if (pollInterval.isZero() || pollInterval.isNegative()) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "banned-word-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = pollInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::poll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Banned word dictionary polling enabled - location: {}, interval: {}",
+                dictionaryLoader.getLocation(), pollInterval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 사전을 다시 읽어 내용이 바뀌었으면 매처를 교체한다.
+     *
+     * @param force true면 체크섬이 같아도 교체한다
+     * @return 재로드 결과
+     */
+    public synchronized ReloadResult reload(boolean force) {
+        Timer.Sample sample = Timer.start();
+        try {
+            BannedWordDictionary dictionary = dictionaryLoader.load();
+            if (!force && Objects.equals(dictionary.checksum(), bannedWordChecker.getChecksum())) {
+                return new ReloadResult(false, bannedWordChecker.getVersion(), bannedWordChecker.size(),
+                        dictionary.checksum());
+            }
+
+            long version = bannedWordChecker.replace(dictionary.words(), dictionary.checksum());
+            log.info("Banned word dictionary reloaded - version: {}, words: {}, checksum: {}",
+                    version, bannedWordChecker.size(), dictionary.checksum());
+            return new ReloadResult(true, version, bannedWordChecker.size(), dictionary.checksum());
+        } catch (RuntimeException e) {
+            reloadFailures.increment();
+            throw e;
+        } finally {
+            sample.stop(reloadTimer);
+        }
+    }
+
+    private void poll() {
+        try {
+            long modified = lastModified(dictionaryLoader.getResource());
+            if (modified > 0 && modified == lastModified) {
+                return;
+            }
+            reload(false);
+            lastModified = modified;
+        } catch (Exception e) {
+            // 기존 사전을 유지하고 다음 주기에 다시 시도한다
+            log.error("Banned word dictionary reload failed - location: {}", dictionaryLoader.getLocation(), e);
+        }
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (Exception e) {
+            // classpath jar 내부 등 수정 시각을 알 수 없는 리소스는 체크섬으로만 비교한다
+            return -1L;
+        }
+    }
+
+    public record ReloadResult(boolean reloaded, long version, int size, String checksum) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.chatapp.model.RateLimit;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory implementation of RateLimitStore.
+ * Uses GCRA (generic cell rate algorithm), a token bucket expressed as a single
+ * "theoretical arrival time" (TAT) per client. Each request is one CAS on an
+ * AtomicLong, so concurrent checks never lock and never lose updates.
+ *
+ * A bucket whose TAT has passed is equivalent to a full bucket and is removed
+ * by a sweep that runs at most once per sweep interval. The number of buckets
+ * is bounded by max-entries through a size-bounded Caffeine cache.
+ *
+ * A bucket leaving the map (sweep or size eviction) is first retired with a CAS
+ * to RETIRED, so a request holding the old AtomicLong cannot land an update on a
+ * detached bucket; it sees RETIRED and re-fetches the bucket instead.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.rate-limit.store", havingValue = "memory")
+public class RateLimitMemoryStore implements RateLimitStore {
+    
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    private static final long RETIRED = Long.MIN_VALUE;
+    
+    private final ConcurrentMap<String, AtomicLong> buckets;
+    private final AtomicLong nextSweepAt = new AtomicLong();
+    private final Clock clock;
+    private final long sweepIntervalNanos;
+    
+    @Autowired
+    public RateLimitMemoryStore(
+            @Value("${chatapp.rate-limit.memory.max-entries:100000}") int maxEntries,
+            @Value("${chatapp.rate-limit.memory.sweep-interval:10s}") Duration sweepInterval) {
+        this(Clock.systemUTC(), maxEntries, sweepInterval);
+    }
+    
+    RateLimitMemoryStore(Clock clock, int maxEntries, Duration sweepInterval) {
+        this.clock = clock;
+        this.sweepIntervalNanos = sweepInterval.toNanos();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .executor(Runnable::run)
+                .<String, AtomicLong>evictionListener((key, tat, cause) -> {
+                    if (tat != null) {
+                        tat.set(RETIRED);
+                    }
+                })
+                .build()
+                .asMap();
+    }
+    
+    @Override
+    public RateLimitCheckResult checkAndIncrement(String clientId, int maxRequests, Duration window) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+        long windowNanos = Math.max(NANOS_PER_SECOND, window.toNanos());
+        long emissionInterval = Math.max(1L, windowNanos / Math.max(1, maxRequests));
+        long now = nowNanos();
+        long nowEpochSeconds = Math.floorDiv(now, NANOS_PER_SECOND);
+        
+        maybeSweep(now);
+        
+        AtomicLong tat = bucket(clientId, now);
+        while (true) {
+            long current = tat.get();
+            if (current == RETIRED) {
+                tat = refetch(clientId, tat, now);
+                continue;
+            }
+            long newTat = Math.max(current, now) + emissionInterval;
+            long allowAt = newTat - windowNanos;
+            
+            if (allowAt > now) {
+                long retryAfterSeconds = Math.min(windowSeconds, Math.max(1L, ceilSeconds(allowAt - now)));
+                return RateLimitCheckResult.rejected(
+                        maxRequests, windowSeconds, nowEpochSeconds + retryAfterSeconds, retryAfterSeconds);
+            }
+            
+            if (tat.compareAndSet(current, newTat)) {
+                int remaining = (int) Math.min(maxRequests, (now - allowAt) / emissionInterval);
+                long ttlSeconds = Math.max(1L, ceilSeconds(newTat - now));
+                return RateLimitCheckResult.allowed(
+                        maxRequests, remaining, windowSeconds, nowEpochSeconds + ttlSeconds, ttlSeconds);
+            }
+        }
+    }
+    
+    /**
+     * Expose the bucket as a RateLimit view. The count is not tracked directly,
+     * so expiresAt carries the TAT and count is left at zero.
+     */
+    @Override
+    public Optional<RateLimit> findByClientId(String clientId) {
+        AtomicLong tat = buckets.get(clientId);
+        long value = tat != null ? tat.get() : RETIRED;
+        if (value == RETIRED) {
+            return Optional.empty();
+        }
+        return Optional.of(RateLimit.builder()
+                .clientId(clientId)
+                .expiresAt(Instant.ofEpochSecond(
+                        Math.floorDiv(value, NANOS_PER_SECOND), Math.floorMod(value, NANOS_PER_SECOND)))
+                .build());
+    }
+    
+    /**
+     * Set the bucket to drain at rateLimit.expiresAt. The count is ignored.
+     */
+    @Override
+    public RateLimit save(RateLimit rateLimit) {
+        Instant expiresAt = rateLimit.getExpiresAt();
+        long value = expiresAt.getEpochSecond() * NANOS_PER_SECOND + expiresAt.getNano();
+        String clientId = rateLimit.getClientId();
+        AtomicLong tat = bucket(clientId, value);
+        while (true) {
+            long current = tat.get();
+            if (current == RETIRED) {
+                tat = refetch(clientId, tat, value);
+            } else if (tat.compareAndSet(current, value)) {
+                return rateLimit;
+            }
+        }
+    }
+    
+    int size() {
+        return buckets.size();
+    }
+    
+    private AtomicLong bucket(String clientId, long initialTat) {
+        return buckets.computeIfAbsent(clientId, key -> new AtomicLong(initialTat));
+    }
+    
+    /**
+     * 퇴역한 버킷을 맵에서 떼어낸 뒤(이미 떼어졌으면 무시) 새 버킷을 가져온다.
+     */
+    private AtomicLong refetch(String clientId, AtomicLong retired, long initialTat) {
+        buckets.remove(clientId, retired);
+        return bucket(clientId, initialTat);
+    }
+    
+    private void maybeSweep(long now) {
+        long scheduled = nextSweepAt.get();
+        if (now < scheduled || !nextSweepAt.compareAndSet(scheduled, now + sweepIntervalNanos)) {
+            return;
+        }
+        
+        // TAT가 지난 버킷은 가득 찬 버킷과 같으므로 제거해도 결과가 달라지지 않는다.
+        // 버킷을 먼저 CAS로 퇴역시켜, 그 사이 들어온 요청은 퇴역을 보고 새 버킷으로 다시 시도한다.
+        int before = buckets.size();
+        buckets.forEach((clientId, tat) -> {
+            long current = tat.get();
+            if (current != RETIRED && current <= now && tat.compareAndSet(current, RETIRED)) {
+                buckets.remove(clientId, tat);
+            }
+        });
+        log.debug("Rate limit buckets swept - before: {}, after: {}", before, buckets.size());
+    }
+    
+    private long nowNanos() {
+        Instant now = clock.instant();
+        return now.getEpochSecond() * NANOS_PER_SECOND + now.getNano();
+    }
+    
+    private static long ceilSeconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+}
@@ -0,0 +1,185 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.model.RateLimit;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis implementation of RateLimitStore.
+ * Runs the whole GCRA check-and-increment as one Lua script per request, using
+ * the Redis server clock, so every node shares the same bucket per client.
+ *
+ * When Redis fails the store falls back to a node-local RateLimitMemoryStore
+ * and skips Redis for a cooldown, so an outage does not add the client
+ * timeout to every request.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.rate-limit.store", havingValue = "redis")
+public class RateLimitRedisStore implements RateLimitStore {
+    
+    static final String KEY_PREFIX = "chatapp:ratelimit:";
+    
+    private static final long MICROS_PER_SECOND = TimeUnit.SECONDS.toMicros(1);
+    
+    /**
+     * KEYS[1] = bucket key, ARGV[1] = emission interval (us), ARGV[2] = window (us)
+     * returns {allowed, remaining, retryAfter (us), ttl (us), now (us)}
+     */
+    static final String GCRA_SCRIPT = """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local interval = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]))
+            if not tat or tat < now then
+                tat = now
+            end
+            local new_tat = tat + interval
+            local allow_at = new_tat - window
+            if allow_at > now then
+                return {0, 0, allow_at - now, tat - now, now}
+            end
+            redis.call('SET', KEYS[1], new_tat, 'PX', math.max(1, math.ceil((new_tat - now) / 1000)))
+            return {1, math.floor((now - allow_at) / interval), 0, new_tat - now, now}
+            """;
+    
+    private final RedissonClient redissonClient;
+    private final RateLimitMemoryStore fallbackStore;
+    private final long fallbackCooldownMillis;
+    private final Counter fallbackCounter;
+    
+    private volatile String scriptSha;
+    private volatile long redisRetryAt;
+    
+    public RateLimitRedisStore(
+            RedissonClient redissonClient,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.rate-limit.redis.fallback-cooldown:5s}") Duration fallbackCooldown,
+            @Value("${chatapp.rate-limit.memory.max-entries:100000}") int maxEntries,
+            @Value("${chatapp.rate-limit.memory.sweep-interval:10s}") Duration sweepInterval) {
+        this.redissonClient = redissonClient;
+        this.fallbackStore = new RateLimitMemoryStore(maxEntries, sweepInterval);
+        this.fallbackCooldownMillis = fallbackCooldown.toMillis();
+        this.fallbackCounter = Counter.builder("ratelimit.redis.fallback")
+                .description("Rate limit checks served by the local fallback store")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public boolean isClusterWide() {
+        return true;
+    }
+    
+    @Override
+    public RateLimitCheckResult checkAndIncrement(String clientId, int maxRequests, Duration window) {
+        if (System.currentTimeMillis() < redisRetryAt) {
+            fallbackCounter.increment();
+            return fallbackStore.checkAndIncrement(clientId, maxRequests, window);
+        }
+        
+        try {
+            return evaluate(clientId, maxRequests, window);
+        } catch (Exception e) {
+            redisRetryAt = System.currentTimeMillis() + fallbackCooldownMillis;
+            fallbackCounter.increment();
+            log.warn("Redis rate limit check failed, using local limiter for {}ms: {}",
+                    fallbackCooldownMillis, e.getMessage());
+            return fallbackStore.checkAndIncrement(clientId, maxRequests, window);
+        }
+    }
+    
+    @Override
+    public Optional<RateLimit> findByClientId(String clientId) {
+        String value = bucket(clientId).get();
+        if (value == null) {
+            return Optional.empty();
+        }
+        long tatMicros = Long.parseLong(value);
+        return Optional.of(RateLimit.builder()
+                .clientId(clientId)
+                .expiresAt(Instant.EPOCH.plus(tatMicros, ChronoUnit.MICROS))
+                .build());
+    }
+    
+    @Override
+    public RateLimit save(RateLimit rateLimit) {
+        Instant expiresAt = rateLimit.getExpiresAt();
+        long tatMicros = expiresAt.getEpochSecond() * MICROS_PER_SECOND + expiresAt.getNano() / 1_000;
+        long ttlMillis = Math.max(1L, Duration.between(Instant.now(), expiresAt).toMillis());
+        bucket(rateLimit.getClientId()).set(Long.toString(tatMicros), Duration.ofMillis(ttlMillis));
+        return rateLimit;
+    }
+    
+    private RateLimitCheckResult evaluate(String clientId, int maxRequests, Duration window) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+        long windowMicros = Math.max(MICROS_PER_SECOND, window.toNanos() / 1_000);
+        long emissionInterval = Math.max(1L, windowMicros / Math.max(1, maxRequests));
+        
+        List<Object> reply = execute(KEY_PREFIX + clientId, emissionInterval, windowMicros);
+        boolean allowed = toLong(reply.get(0)) == 1L;
+        long nowEpochSeconds = toLong(reply.get(4)) / MICROS_PER_SECOND;
+        
+        if (!allowed) {
+            long retryAfterSeconds = Math.min(windowSeconds,
+                    Math.max(1L, ceilSeconds(toLong(reply.get(2)))));
+            return RateLimitCheckResult.rejected(
+                    maxRequests, windowSeconds, nowEpochSeconds + retryAfterSeconds, retryAfterSeconds);
+        }
+        
+        int remaining = (int) Math.min(maxRequests, toLong(reply.get(1)));
+        long ttlSeconds = Math.max(1L, ceilSeconds(toLong(reply.get(3))));
+        return RateLimitCheckResult.allowed(
+                maxRequests, remaining, windowSeconds, nowEpochSeconds + ttlSeconds, ttlSeconds);
+    }
+    
+    private List<Object> execute(String key, long emissionInterval, long windowMicros) {
+        RScript script = redissonClient.getScript(StringCodec.INSTANCE);
+        String sha = scriptSha;
+        if (sha == null) {
+            sha = script.scriptLoad(GCRA_SCRIPT);
+            scriptSha = sha;
+        }
+        
+        try {
+            return script.evalSha(key, RScript.Mode.READ_WRITE, sha, RScript.ReturnType.MULTI,
+                    List.of(key), Long.toString(emissionInterval), Long.toString(windowMicros));
+        } catch (RedisException e) {
+            if (e.getMessage() == null || !e.getMessage().contains("NOSCRIPT")) {
+                throw e;
+            }
+            // 노드 재시작 또는 SCRIPT FLUSH 이후에는 스크립트를 다시 적재한다
+            scriptSha = null;
+            return script.eval(key, RScript.Mode.READ_WRITE, GCRA_SCRIPT, RScript.ReturnType.MULTI,
+                    List.of(key), Long.toString(emissionInterval), Long.toString(windowMicros));
+        }
+    }
+    
+    private RBucket<String> bucket(String clientId) {
+        return redissonClient.getBucket(KEY_PREFIX + clientId, StringCodec.INSTANCE);
+    }
+    
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+    }
+    
+    private static long ceilSeconds(long micros) {
+        return (micros + MICROS_PER_SECOND - 1) / MICROS_PER_SECOND;
+    }
+}
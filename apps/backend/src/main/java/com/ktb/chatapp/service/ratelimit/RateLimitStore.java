@@ -1,6 +1,9 @@
 package com.ktb.chatapp.service.ratelimit;
 
 import com.ktb.chatapp.model.RateLimit;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -24,4 +27,62 @@ public interface RateLimitStore {
      * @return the saved rate limit
      */
     RateLimit save(RateLimit rateLimit);
+    
+    /**
+     * Whether the store shares counters across all nodes.
+     * Node-local stores get the host name prepended to the client ID.
+     *
+     * @return true if the same client ID is limited cluster-wide
+     */
+    default boolean isClusterWide() {
+        return false;
+    }
+    
+    /**
+     * Check the limit for a client and consume one request if allowed.
+     * The default implementation is a fixed window built on find and save,
+     * which is not atomic across concurrent callers. Stores that can do
+     * better should override it.
+     *
+     * @param clientId    the client identifier
+     * @param maxRequests maximum number of requests per window
+     * @param window      the window length
+     * @return the check result
+     */
+    default RateLimitCheckResult checkAndIncrement(String clientId, int maxRequests, Duration window) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+        Instant now = Instant.now();
+        long nowEpochSeconds = now.getEpochSecond();
+        
+        RateLimit rateLimit = findByClientId(clientId).orElse(null);
+        int currentCount = rateLimit != null ? rateLimit.getCount() : 0;
+        
+        if (rateLimit != null && currentCount >= maxRequests) {
+            long retryAfterSeconds = Math.max(1L,
+                    rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
+            long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
+            return RateLimitCheckResult.rejected(
+                    maxRequests, windowSeconds, resetEpochSeconds, retryAfterSeconds);
+        }
+        
+        // Create or update rate limit
+        if (rateLimit == null) {
+            rateLimit = RateLimit.builder()
+                    .clientId(clientId)
+                    .count(1)
+                    .expiresAt(now.plus(window))
+                    .build();
+        } else {
+            rateLimit.setCount(currentCount + 1);
+        }
+        save(rateLimit);
+        
+        int newCount = currentCount + 1;
+        int remaining = Math.max(0, maxRequests - newCount);
+        long ttlSeconds = Math.max(1L, rateLimit.getExpiresAt().getEpochSecond() - nowEpochSeconds);
+        long resetEpochSeconds = rateLimit.getExpiresAt().getEpochSecond();
+        
+        return RateLimitCheckResult.allowed(
+                maxRequests, remaining, windowSeconds, resetEpochSeconds, ttlSeconds);
+    }
 }
@@ -0,0 +1,39 @@
+package com.ktb.chatapp.service.readstatus;
+
+import com.ktb.chatapp.model.RoomReadWatermark;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Data store interface for message read status.
+ */
+public interface ReadStatusStore {
+
+    /**
+     * Mark messages as read by a user.
+     * Messages the user has already read are left untouched.
+     *
+     * @param messageIds the messages to mark
+     * @param userId     the reader
+     * @return the number of documents changed
+     */
+    long markAsRead(Collection<String> messageIds, String userId);
+
+    /**
+     * Find the read watermarks of a room.
+     * Stores that keep readers on each message return an empty list.
+     *
+     * @param roomId the room identifier
+     * @return one watermark per user who has read the room
+     */
+    default List<RoomReadWatermark> findWatermarks(String roomId) {
+        return List.of();
+    }
+
+    /**
+     * Whether read status is kept as per-room watermarks rather than readers on each message.
+     */
+    default boolean usesWatermarks() {
+        return false;
+    }
+}
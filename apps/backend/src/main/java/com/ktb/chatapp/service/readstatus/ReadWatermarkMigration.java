@@ -0,0 +1,109 @@
+package com.ktb.chatapp.service.readstatus;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지 readers 배열을 채팅방별 읽음 워터마크로 옮기는 마이그레이션.
+ * (room, readers.userId)별로 읽은 메시지 중 가장 최신 timestamp를 워터마크로 삼는다.
+ * $max로 반영하므로 여러 번 실행해도 결과가 같다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.read-status.watermark.migrate", havingValue = "true")
+public class ReadWatermarkMigration {
+
+    private static final int BULK_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean clearReaders;
+
+    public ReadWatermarkMigration(
+            MongoTemplate mongoTemplate,
+            @Value("${chatapp.read-status.watermark.migration.clear-readers:false}") boolean clearReaders) {
+        this.mongoTemplate = mongoTemplate;
+        this.clearReaders = clearReaders;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            migrate();
+        } catch (Exception e) {
+            log.error("Read watermark migration failed", e);
+        }
+    }
+
+    /**
+     * @return 반영한 워터마크 수
+     */
+    public long migrate() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("readers.0").exists(true)),
+                Aggregation.unwind("readers"),
+                Aggregation.project("room", "timestamp").and("readers.userId").as("user"),
+                Aggregation.group("room", "user").max("timestamp").as("lastReadAt"));
+
+        long migrated = 0;
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RoomReadWatermark.class);
+        int pending = 0;
+
+        try (Stream<Document> rows = mongoTemplate.aggregateStream(aggregation, "messages", Document.class)) {
+            for (Document row : (Iterable<Document>) rows::iterator) {
+                Document key = row.get("_id", Document.class);
+                Date lastReadAt = row.getDate("lastReadAt");
+                if (key == null || key.getString("room") == null || key.getString("user") == null
+                        || lastReadAt == null) {
+                    continue;
+                }
+
+                bulk.upsert(
+                        Query.query(Criteria.where("roomId").is(key.getString("room"))
+                                .and("userId").is(key.getString("user"))),
+                        new Update()
+                                .max("lastReadAt", LocalDateTime.ofInstant(lastReadAt.toInstant(), ZoneId.systemDefault()))
+                                .set("updatedAt", now));
+                migrated++;
+
+                if (++pending == BULK_SIZE) {
+                    bulk.execute();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RoomReadWatermark.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            bulk.execute();
+        }
+
+        long cleared = 0;
+        if (clearReaders) {
+            cleared = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("readers.0").exists(true)),
+                    new Update().set("readers", List.of()),
+                    Message.class).getModifiedCount();
+        }
+
+        log.info("Read watermark migration complete - watermarks: {}, messages cleared: {}", migrated, cleared);
+        return migrated;
+    }
+}
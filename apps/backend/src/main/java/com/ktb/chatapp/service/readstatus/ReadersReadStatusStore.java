@@ -0,0 +1,38 @@
+package com.ktb.chatapp.service.readstatus;
+
+import com.ktb.chatapp.model.Message;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read status store that appends the reader to each message's readers array.
+ * One updateMulti per call; messages already read by the user are excluded
+ * by the query so they are never rewritten.
+ */
+@Component
+@ConditionalOnProperty(name = "chatapp.read-status.mode", havingValue = "readers", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReadersReadStatusStore implements ReadStatusStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long markAsRead(Collection<String> messageIds, String userId) {
+        Message.MessageReader readerInfo = Message.MessageReader.builder()
+                .userId(userId)
+                .readAt(LocalDateTime.now())
+                .build();
+
+        Query query = Query.query(Criteria.where("id").in(messageIds)
+                .and("readers.userId").ne(userId));
+        return mongoTemplate.updateMulti(query, new Update().push("readers", readerInfo), Message.class)
+                .getModifiedCount();
+    }
+}
@@ -0,0 +1,81 @@
+package com.ktb.chatapp.service.readstatus;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import com.ktb.chatapp.repository.RoomReadWatermarkRepository;
+import com.mongodb.client.result.UpdateResult;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read status store that keeps one watermark per (room, user) instead of
+ * growing a readers array on every message.
+ * Marking messages as read advances the watermark to the newest of their
+ * timestamps with $max, so out-of-order or repeated reads never move it back.
+ */
+@Component
+@ConditionalOnProperty(name = "chatapp.read-status.mode", havingValue = "watermark")
+@RequiredArgsConstructor
+public class WatermarkReadStatusStore implements ReadStatusStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final RoomReadWatermarkRepository watermarkRepository;
+
+    @Override
+    public long markAsRead(Collection<String> messageIds, String userId) {
+        Query query = Query.query(Criteria.where("id").in(messageIds));
+        query.fields().include("roomId").include("timestamp");
+
+        Map<String, LocalDateTime> latestByRoom = new HashMap<>();
+        for (Message message : mongoTemplate.find(query, Message.class)) {
+            if (message.getRoomId() != null && message.getTimestamp() != null) {
+                latestByRoom.merge(message.getRoomId(), message.getTimestamp(),
+                        (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+
+        long updated = 0;
+        for (Map.Entry<String, LocalDateTime> entry : latestByRoom.entrySet()) {
+            updated += advance(entry.getKey(), userId, entry.getValue());
+        }
+        return updated;
+    }
+
+    @Override
+    public List<RoomReadWatermark> findWatermarks(String roomId) {
+        return watermarkRepository.findByRoomId(roomId);
+    }
+
+    @Override
+    public boolean usesWatermarks() {
+        return true;
+    }
+
+    /**
+     * 워터마크를 readUpTo까지 전진시킨다. 동시 upsert로 unique 인덱스 충돌이 나면
+     * 이미 문서가 생긴 것이므로 한 번 더 갱신한다.
+     */
+    long advance(String roomId, String userId, LocalDateTime readUpTo) {
+        Query query = Query.query(Criteria.where("roomId").is(roomId).and("userId").is(userId));
+        Update update = new Update()
+                .max("lastReadAt", readUpTo)
+                .set("updatedAt", LocalDateTime.now());
+        try {
+            UpdateResult result = mongoTemplate.upsert(query, update, RoomReadWatermark.class);
+            return result.getUpsertedId() != null ? 1 : result.getModifiedCount();
+        } catch (DuplicateKeyException e) {
+            return mongoTemplate.updateFirst(query, update, RoomReadWatermark.class).getModifiedCount();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.ktb.chatapp.service.session;
+
+import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.repository.SessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * MongoDB SessionStore with lastActivity write coalescing.
+ * New sessions and deletes go straight to MongoDB. Saves that only move
+ * lastActivity forward are kept in a local table and overlaid on reads.
+ * Once the pending value is at least the slack newer than the stored one,
+ * it is written by a periodic batched flush.
+ *
+ * The stored lastActivity lags the real one by at most slack + flush interval,
+ * which is small compared to the 30m session TTL.
+ *
+ * The same table doubles as a short-TTL read cache: the last session read or
+ * written on this node is served for read-cache-ttl without a MongoDB read,
+ * with the pending lastActivity overlaid. Changes made on another node (a new
+ * login, a logout) are therefore seen here after at most read-cache-ttl.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.session.store", havingValue = "coalescing")
+public class SessionCoalescingStore implements SessionStore {
+    
+    private final SessionMongoStore delegate;
+    private final MongoTemplate mongoTemplate;
+    private final long slackMillis;
+    private final Duration flushInterval;
+    private final long readCacheTtlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Activity> activities = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+    private final Counter flushedCounter;
+    private final Counter cacheHitCounter;
+    
+    private ScheduledExecutorService scheduler;
+    
+    @Autowired
+    public SessionCoalescingStore(
+            SessionRepository sessionRepository,
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.session.coalescing.slack:30s}") Duration slack,
+            @Value("${chatapp.session.coalescing.flush-interval:1s}") Duration flushInterval,
+            @Value("${chatapp.session.coalescing.read-cache-ttl:1s}") Duration readCacheTtl) {
+        this(sessionRepository, mongoTemplate, meterRegistry, slack, flushInterval, readCacheTtl, System::nanoTime);
+    }
+    
+    SessionCoalescingStore(
+            SessionRepository sessionRepository,
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            Duration slack,
+            Duration flushInterval,
+            Duration readCacheTtl,
+            LongSupplier nanoClock) {
+        this.delegate = new SessionMongoStore(sessionRepository);
+        this.mongoTemplate = mongoTemplate;
+        this.slackMillis = slack.toMillis();
+        this.flushInterval = flushInterval;
+        this.readCacheTtlNanos = readCacheTtl.toNanos();
+        this.nanoClock = nanoClock;
+        
+        Gauge.builder("session.coalescing.pending", activities, Map::size)
+                .description("Sessions with lastActivity tracked locally")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("session.coalescing.saves.skipped")
+                .description("Session saves absorbed by the local table")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("session.coalescing.flushed")
+                .description("Session lastActivity updates written in batches")
+                .register(meterRegistry);
+        this.cacheHitCounter = Counter.builder("session.coalescing.cache.hits")
+                .description("Session reads served from the local table without MongoDB")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-coalescing-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> flush(false), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        flush(true);
+    }
+    
+    @Override
+    public Optional<Session> findByUserId(String userId) {
+        long now = nanoClock.getAsLong();
+        Activity cached = activities.get(userId);
+        if (cached != null && now - cached.loadedAtNanos() < readCacheTtlNanos) {
+            cacheHitCounter.increment();
+            return Optional.of(cached.current());
+        }
+        
+        Optional<Session> stored = delegate.findByUserId(userId);
+        if (stored.isEmpty()) {
+            activities.remove(userId);
+            return stored;
+        }
+        
+        Session session = stored.get();
+        Activity activity = activities.compute(userId, (key, current) ->
+                current == null || !current.sessionId().equals(session.getSessionId())
+                        ? Activity.stored(session, now)
+                        : current.reloaded(session, now));
+        return Optional.of(activity.current());
+    }
+    
+    @Override
+    public Session save(Session session) {
+        Activity activity = session.getId() != null ? activities.get(session.getUserId()) : null;
+        if (activity == null || !activity.sessionId().equals(session.getSessionId())) {
+            Session saved = delegate.save(session);
+            activities.put(saved.getUserId(), Activity.stored(saved, nanoClock.getAsLong()));
+            return saved;
+        }
+        
+        activities.computeIfPresent(session.getUserId(), (key, current) ->
+                current.sessionId().equals(session.getSessionId())
+                        ? current.touch(session.getLastActivity(), session.getExpiresAt())
+                        : current);
+        coalescedCounter.increment();
+        return session;
+    }
+    
+    @Override
+    public void delete(String userId, String sessionId) {
+        activities.remove(userId);
+        delegate.delete(userId, sessionId);
+    }
+    
+    @Override
+    public void deleteAll(String userId) {
+        activities.remove(userId);
+        delegate.deleteAll(userId);
+    }
+    
+    /**
+     * Write pending lastActivity values in one unordered bulk operation.
+     *
+     * @param all true to flush every pending value regardless of the slack
+     */
+    void flush(boolean all) {
+        try {
+            Instant now = Instant.now();
+            List<Map.Entry<String, Activity>> due = new ArrayList<>();
+            for (Map.Entry<String, Activity> entry : activities.entrySet()) {
+                Activity activity = entry.getValue();
+                long lag = activity.pendingLastActivity() - activity.storedLastActivity();
+                if (lag > 0 && (all || lag >= slackMillis)) {
+                    due.add(Map.entry(entry.getKey(), activity));
+                } else if (lag <= 0 && activity.pendingExpiresAt() != null && activity.pendingExpiresAt().isBefore(now)) {
+                    // 만료된 세션은 더 이상 추적하지 않는다
+                    activities.remove(entry.getKey(), activity);
+                }
+            }
+            if (due.isEmpty()) {
+                return;
+            }
+            
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Session.class);
+            for (Map.Entry<String, Activity> entry : due) {
+                Activity activity = entry.getValue();
+                bulk.updateOne(
+                        Query.query(Criteria.where("userId").is(entry.getKey())
+                                .and("sessionId").is(activity.sessionId())),
+                        new Update()
+                                .max("lastActivity", activity.pendingLastActivity())
+                                .max("expiresAt", activity.pendingExpiresAt()));
+            }
+            bulk.execute();
+            flushedCounter.increment(due.size());
+            
+            for (Map.Entry<String, Activity> entry : due) {
+                long flushed = entry.getValue().pendingLastActivity();
+                activities.computeIfPresent(entry.getKey(), (key, current) ->
+                        current.sessionId().equals(entry.getValue().sessionId()) ? current.observeStored(flushed) : current);
+            }
+        } catch (Exception e) {
+            log.error("Session lastActivity flush failed", e);
+        }
+    }
+    
+    /**
+     * Immutable snapshot of one session's activity, replaced atomically in the map.
+     * snapshot is the session as last read from or written to MongoDB at loadedAtNanos.
+     */
+    private record Activity(String sessionId, long storedLastActivity, long pendingLastActivity, Instant pendingExpiresAt,
+                            Session snapshot, long loadedAtNanos) {
+        
+        private static Activity stored(Session session, long nowNanos) {
+            return new Activity(session.getSessionId(), session.getLastActivity(), session.getLastActivity(),
+                    session.getExpiresAt(), copy(session), nowNanos);
+        }
+        
+        private Activity reloaded(Session session, long nowNanos) {
+            Activity observed = observeStored(session.getLastActivity());
+            return new Activity(sessionId, observed.storedLastActivity, observed.pendingLastActivity,
+                    observed.pendingExpiresAt, copy(session), nowNanos);
+        }
+        
+        private Activity observeStored(long stored) {
+            long newStored = Math.max(storedLastActivity, stored);
+            return new Activity(sessionId, newStored, Math.max(pendingLastActivity, newStored), pendingExpiresAt,
+                    snapshot, loadedAtNanos);
+        }
+        
+        private Activity touch(long lastActivity, Instant expiresAt) {
+            if (lastActivity <= pendingLastActivity) {
+                return this;
+            }
+            return new Activity(sessionId, storedLastActivity, lastActivity, expiresAt, snapshot, loadedAtNanos);
+        }
+        
+        /**
+         * A fresh copy of the snapshot with the pending lastActivity overlaid. Callers may modify it freely.
+         */
+        private Session current() {
+            Session session = copy(snapshot);
+            if (pendingLastActivity > session.getLastActivity()) {
+                session.setLastActivity(pendingLastActivity);
+                session.setExpiresAt(pendingExpiresAt);
+            }
+            return session;
+        }
+        
+        private static Session copy(Session session) {
+            return Session.builder()
+                    .id(session.getId())
+                    .userId(session.getUserId())
+                    .sessionId(session.getSessionId())
+                    .createdAt(session.getCreatedAt())
+                    .lastActivity(session.getLastActivity())
+                    .metadata(session.getMetadata())
+                    .expiresAt(session.getExpiresAt())
+                    .build();
+        }
+    }
+}
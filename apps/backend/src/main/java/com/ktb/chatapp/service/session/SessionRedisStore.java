@@ -0,0 +1,183 @@
+package com.ktb.chatapp.service.session;
+
+import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.service.SessionMetadata;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.model.Session.SESSION_TTL;
+
+/**
+ * Redis implementation of SessionStore.
+ * Stores one hash per user and lets Redis expire the key at session.expiresAt,
+ * so no TTL index or cleanup job is needed. A save is a single Lua script
+ * (DEL + HSET + PEXPIRE).
+ *
+ * Saving a session that was read from the store (id set) only writes if the
+ * stored sessionId still matches, so a lastActivity update that raced with a
+ * new login or a logout cannot write the old session back.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.session.store", havingValue = "redis")
+@RequiredArgsConstructor
+public class SessionRedisStore implements SessionStore {
+    
+    static final String KEY_PREFIX = "chatapp:session:";
+    
+    private static final Duration DEFAULT_TTL = DurationStyle.detectAndParse(SESSION_TTL);
+    private static final String SESSION_ID = "sessionId";
+    private static final String CREATED_AT = "createdAt";
+    private static final String LAST_ACTIVITY = "lastActivity";
+    private static final String EXPIRES_AT = "expiresAt";
+    private static final String USER_AGENT = "metadata.userAgent";
+    private static final String IP_ADDRESS = "metadata.ipAddress";
+    private static final String DEVICE_INFO = "metadata.deviceInfo";
+    
+    private static final String DELETE_IF_MATCHES_SCRIPT = """
+            if redis.call('HGET', KEYS[1], 'sessionId') == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """;
+    
+    // ARGV[1]: '1' to write only if the stored sessionId equals ARGV[2], ARGV[3]: ttl millis, ARGV[4..]: field/value pairs
+    private static final String SAVE_SCRIPT = """
+            if ARGV[1] == '1' and redis.call('HGET', KEYS[1], 'sessionId') ~= ARGV[2] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], unpack(ARGV, 4))
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """;
+    
+    private final RedissonClient redissonClient;
+    
+    @Override
+    public Optional<Session> findByUserId(String userId) {
+        RMap<String, String> map = redissonClient.getMap(key(userId), StringCodec.INSTANCE);
+        Map<String, String> fields = map.readAllMap();
+        if (fields.isEmpty() || fields.get(SESSION_ID) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(toSession(userId, fields));
+    }
+    
+    @Override
+    public Session save(Session session) {
+        Instant now = Instant.now();
+        Duration ttl = session.getExpiresAt() != null
+                ? Duration.between(now, session.getExpiresAt())
+                : DEFAULT_TTL;
+        if (ttl.isNegative() || ttl.isZero()) {
+            ttl = Duration.ofMillis(1);
+        }
+        
+        // id가 있으면 저장소에서 읽은 세션이므로, 그 사이 새 로그인/로그아웃이 있었다면 덮어쓰지 않는다
+        boolean conditional = session.getId() != null;
+        List<Object> args = new ArrayList<>();
+        args.add(conditional ? "1" : "0");
+        args.add(session.getSessionId());
+        args.add(Long.toString(ttl.toMillis()));
+        toFields(session).forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        
+        String key = key(session.getUserId());
+        Long written = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                key,
+                RScript.Mode.READ_WRITE,
+                SAVE_SCRIPT,
+                RScript.ReturnType.INTEGER,
+                List.of(key),
+                args.toArray());
+        if (written == null || written == 0) {
+            log.debug("Stale session save skipped - userId: {}, sessionId: {}", session.getUserId(), session.getSessionId());
+        }
+        
+        session.setId(session.getUserId());
+        return session;
+    }
+    
+    @Override
+    public void delete(String userId, String sessionId) {
+        redissonClient.getScript(StringCodec.INSTANCE).eval(
+                key(userId),
+                RScript.Mode.READ_WRITE,
+                DELETE_IF_MATCHES_SCRIPT,
+                RScript.ReturnType.INTEGER,
+                List.of(key(userId)),
+                sessionId);
+    }
+    
+    @Override
+    public void deleteAll(String userId) {
+        redissonClient.getMap(key(userId), StringCodec.INSTANCE).delete();
+    }
+    
+    private static String key(String userId) {
+        return KEY_PREFIX + userId;
+    }
+    
+    private static Map<String, String> toFields(Session session) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(SESSION_ID, session.getSessionId());
+        fields.put(CREATED_AT, Long.toString(session.getCreatedAt()));
+        fields.put(LAST_ACTIVITY, Long.toString(session.getLastActivity()));
+        if (session.getExpiresAt() != null) {
+            fields.put(EXPIRES_AT, Long.toString(session.getExpiresAt().toEpochMilli()));
+        }
+        SessionMetadata metadata = session.getMetadata();
+        if (metadata != null) {
+            putIfNotNull(fields, USER_AGENT, metadata.userAgent());
+            putIfNotNull(fields, IP_ADDRESS, metadata.ipAddress());
+            putIfNotNull(fields, DEVICE_INFO, metadata.deviceInfo());
+        }
+        return fields;
+    }
+    
+    private static Session toSession(String userId, Map<String, String> fields) {
+        boolean hasMetadata = fields.containsKey(USER_AGENT)
+                || fields.containsKey(IP_ADDRESS)
+                || fields.containsKey(DEVICE_INFO);
+        String expiresAt = fields.get(EXPIRES_AT);
+        
+        return Session.builder()
+                .id(userId)
+                .userId(userId)
+                .sessionId(fields.get(SESSION_ID))
+                .createdAt(parseLong(fields.get(CREATED_AT)))
+                .lastActivity(parseLong(fields.get(LAST_ACTIVITY)))
+                .expiresAt(expiresAt != null ? Instant.ofEpochMilli(Long.parseLong(expiresAt)) : null)
+                .metadata(hasMetadata
+                        ? new SessionMetadata(fields.get(USER_AGENT), fields.get(IP_ADDRESS), fields.get(DEVICE_INFO))
+                        : null)
+                .build();
+    }
+    
+    private static void putIfNotNull(Map<String, String> fields, String key, String value) {
+        if (value != null) {
+            fields.put(key, value);
+        }
+    }
+    
+    private static long parseLong(String value) {
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+}
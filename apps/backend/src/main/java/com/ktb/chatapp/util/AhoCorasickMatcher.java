@@ -0,0 +1,208 @@
+package com.ktb.chatapp.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 다중 패턴 문자열 매칭을 위한 Aho-Corasick 오토마톤.
+ *
+ * 트라이는 생성 시 한 번만 만들어지고 CSR 형태의 원시 배열로 압축된다.
+ * 노드 n의 간선은 edgeChars[edgeStart[n] .. edgeStart[n + 1]) 구간에 문자 순으로 정렬되어 있어
+ * 이진 탐색으로 전이를 찾는다. 검색은 메시지를 한 번만 순회하며 매칭 결과를 만들 때를 제외하고는
+ * 객체를 할당하지 않는다. 대소문자 구분 없이 비교하기 위해 문자 단위로 소문자 정규화한다.
+ *
+ * 생성 이후에는 불변이므로 여러 스레드에서 동시에 사용해도 안전하다.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final String[] words;
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    /** 이 노드에서 끝나는 단어 인덱스, 없으면 NONE */
+    private final int[] output;
+    /** fail 체인을 따라 처음 만나는 출력 노드, 없으면 NONE */
+    private final int[] dictLink;
+
+    public AhoCorasickMatcher(Collection<String> patterns) {
+        // 1. 임시 트라이 구성
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        List<String> dictionary = new ArrayList<>();
+        Map<String, Integer> seen = new HashMap<>();
+        children.add(new TreeMap<>());
+        terminal.add(NONE);
+
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            String word = normalize(pattern);
+            if (seen.putIfAbsent(word, dictionary.size()) != null) {
+                continue;
+            }
+            int node = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    terminal.add(NONE);
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            terminal.set(node, dictionary.size());
+            dictionary.add(word);
+        }
+
+        // 2. CSR 배열로 압축
+        int nodeCount = children.size();
+        int edgeCount = nodeCount - 1;
+        this.words = dictionary.toArray(String[]::new);
+        this.edgeStart = new int[nodeCount + 1];
+        this.edgeChars = new char[edgeCount];
+        this.edgeTargets = new int[edgeCount];
+        this.output = new int[nodeCount];
+        int cursor = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            edgeStart[node] = cursor;
+            for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                edgeChars[cursor] = edge.getKey();
+                edgeTargets[cursor] = edge.getValue();
+                cursor++;
+            }
+            output[node] = terminal.get(node);
+        }
+        edgeStart[nodeCount] = cursor;
+
+        // 3. BFS로 fail / dictionary 링크 계산
+        this.fail = new int[nodeCount];
+        this.dictLink = new int[nodeCount];
+        Arrays.fill(dictLink, NONE);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+            fail[edgeTargets[e]] = ROOT;
+            queue.add(edgeTargets[e]);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                int child = edgeTargets[e];
+                char c = edgeChars[e];
+                int state = fail[node];
+                int next = transition(state, c);
+                while (next == NONE && state != ROOT) {
+                    state = fail[state];
+                    next = transition(state, c);
+                }
+                int failTarget = next == NONE ? ROOT : next;
+                fail[child] = failTarget;
+                dictLink[child] = output[failTarget] != NONE ? failTarget : dictLink[failTarget];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * 사전의 단어 수
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * 텍스트에 사전 단어가 하나라도 포함되어 있는지 확인한다. 객체를 할당하지 않는다.
+     */
+    public boolean matches(CharSequence text) {
+        return findFirstEnd(text) >= 0;
+    }
+
+    /**
+     * 가장 먼저 끝나는 매칭을 찾는다. 같은 위치에서 끝나는 단어가 여럿이면 가장 긴 단어를 반환한다.
+     *
+     * @return 매칭 결과, 없으면 null
+     */
+    public BannedWordMatch findFirst(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = step(state, Character.toLowerCase(text.charAt(i)));
+            int hit = output[state] != NONE ? output[state] : wordAt(dictLink[state]);
+            if (hit != NONE) {
+                String word = words[hit];
+                return new BannedWordMatch(word, i + 1 - word.length(), i + 1);
+            }
+        }
+        return null;
+    }
+
+    private int findFirstEnd(CharSequence text) {
+        if (text == null) {
+            return NONE;
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = step(state, Character.toLowerCase(text.charAt(i)));
+            if (output[state] != NONE || dictLink[state] != NONE) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    private int wordAt(int node) {
+        return node == NONE ? NONE : output[node];
+    }
+
+    private int step(int state, char c) {
+        while (true) {
+            int next = transition(state, c);
+            if (next != NONE) {
+                return next;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    private int transition(int node, char c) {
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return NONE;
+    }
+
+    private static String normalize(String word) {
+        char[] chars = word.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+}
@@ -1,21 +1,28 @@
 package com.ktb.chatapp.util;
 
+import java.time.Instant;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.springframework.util.Assert;
 
+/**
+ * 금칙어 검사기.
+ * 컴파일된 매처는 AtomicReference로 게시되며, 재로드 시 새 매처를 미리 만든 뒤 참조만 교체한다.
+ * 검사 중인 호출은 교체 전 매처를 그대로 사용하므로 잠금 없이 동작한다.
+ */
 public class BannedWordChecker {
     
-    private final Set<String> bannedWords;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
     
     public BannedWordChecker(Set<String> bannedWords) {
-        this.bannedWords =
-                bannedWords.stream()
-                        .filter(word -> word != null && !word.isBlank())
-                        .map(word -> word.toLowerCase(Locale.ROOT))
-                        .collect(Collectors.toUnmodifiableSet());
-        Assert.notEmpty(this.bannedWords, "Banned words set must not be empty");
+        this(bannedWords, null);
+    }
+    
+    public BannedWordChecker(Set<String> bannedWords, String checksum) {
+        replace(bannedWords, checksum);
     }
     
     public boolean containsBannedWord(String message) {
@@ -23,7 +30,59 @@ public class BannedWordChecker {
             return false;
         }
         
-        String normalizedMessage = message.toLowerCase(Locale.ROOT);
-        return bannedWords.stream().anyMatch(normalizedMessage::contains);
+        return snapshot.get().matcher().matches(message);
+    }
+    
+    /**
+     * 메시지에서 처음 발견된 금칙어와 위치를 반환한다.
+     */
+    public Optional<BannedWordMatch> findFirstMatch(String message) {
+        if (message == null || message.isBlank()) {
+            return Optional.empty();
+        }
+        
+        return Optional.ofNullable(snapshot.get().matcher().findFirst(message));
+    }
+    
+    /**
+     * 새 사전으로 매처를 만든 뒤 원자적으로 교체한다.
+     *
+     * @return 교체 후 사전 버전
+     */
+    public long replace(Set<String> bannedWords, String checksum) {
+        Set<String> normalizedWords =
+                bannedWords.stream()
+                        .filter(word -> word != null && !word.isBlank())
+                        .map(word -> word.toLowerCase(Locale.ROOT))
+                        .collect(Collectors.toUnmodifiableSet());
+        Assert.notEmpty(normalizedWords, "Banned words set must not be empty");
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(normalizedWords);
+        Instant loadedAt = Instant.now();
+        
+        return snapshot.updateAndGet(current -> new Snapshot(
+                matcher,
+                current != null ? current.version() + 1 : 1,
+                checksum,
+                loadedAt
+        )).version();
+    }
+    
+    public int size() {
+        return snapshot.get().matcher().size();
+    }
+    
+    public long getVersion() {
+        return snapshot.get().version();
+    }
+    
+    public String getChecksum() {
+        return snapshot.get().checksum();
+    }
+    
+    public Instant getLoadedAt() {
+        return snapshot.get().loadedAt();
+    }
+    
+    private record Snapshot(AhoCorasickMatcher matcher, long version, String checksum, Instant loadedAt) {
     }
 }
@@ -0,0 +1,12 @@
+package com.ktb.chatapp.util;
+
+import java.util.Set;
+
+/**
+ * 로드된 금칙어 사전.
+ *
+ * @param words    공백 제거된 금칙어 목록
+ * @param checksum 원본 내용의 SHA-256 접두사 (변경 감지용)
+ */
+public record BannedWordDictionary(Set<String> words, String checksum) {
+}
@@ -0,0 +1,72 @@
+package com.ktb.chatapp.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * 금칙어 사전 리소스를 읽어 BannedWordDictionary로 변환한다.
+ */
+public class BannedWordDictionaryLoader {
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    public BannedWordDictionaryLoader(ResourceLoader resourceLoader, String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public Resource getResource() {
+        return resourceLoader.getResource(location);
+    }
+
+    public BannedWordDictionary load() {
+        Resource resource = getResource();
+        if (!resource.exists()) {
+            throw new IllegalStateException(
+                    "Banned word resource not found at " + location);
+        }
+
+        byte[] content;
+        try (InputStream inputStream = resource.getInputStream()) {
+            content = inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    "Failed to load banned words from " + location, e);
+        }
+
+        Set<String> words =
+                new String(content, StandardCharsets.UTF_8).lines()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty())
+                        .collect(Collectors.toUnmodifiableSet());
+
+        if (words.isEmpty()) {
+            throw new IllegalStateException(
+                    "Banned word dictionary at " + location + " must not be empty.");
+        }
+
+        return new BannedWordDictionary(words, checksum(content));
+    }
+
+    private static String checksum(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ktb.chatapp.util;
+
+/**
+ * 금칙어 매칭 결과.
+ *
+ * @param word  매칭된 금칙어 (소문자 정규화된 사전 단어)
+ * @param start 메시지 내 시작 인덱스 (포함)
+ * @param end   메시지 내 끝 인덱스 (제외)
+ */
+public record BannedWordMatch(String word, int start, int end) {
+}
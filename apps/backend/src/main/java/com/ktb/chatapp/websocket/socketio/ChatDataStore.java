@@ -1,6 +1,7 @@
 package com.ktb.chatapp.websocket.socketio;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Data store interface for chat-related data storage.
@@ -32,6 +33,46 @@ public interface ChatDataStore {
      * @param key the storage key
      */
     void delete(String key);
-    
-    int size();
+
+    /**
+     * Get the members of a set
+     *
+     * @param key the storage key of the set
+     * @return the members, or an empty set if the set does not exist
+     */
+    Set<String> getMembers(String key);
+
+    /**
+     * Add a member to a set, creating the set if needed.
+     * Concurrent adds and removes on the same set do not overwrite each other.
+     *
+     * @param key the storage key of the set
+     * @param member the member to add
+     */
+    void addMember(String key, String member);
+
+    /**
+     * Remove a member from a set. The set is deleted when it becomes empty.
+     *
+     * @param key the storage key of the set
+     * @param member the member to remove
+     */
+    void removeMember(String key, String member);
+
+    /**
+     * Check whether a set contains a member
+     *
+     * @param key the storage key of the set
+     * @param member the member to check
+     * @return true if the member is in the set
+     */
+    boolean isMember(String key, String member);
+
+    /**
+     * Count the members of a set
+     *
+     * @param key the storage key of the set
+     * @return the number of members, 0 if the set does not exist
+     */
+    int countMembers(String key);
 }
@@ -0,0 +1,25 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.Module;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Socket.IO 패킷 인코딩용 JsonSupport.
+ * 패킷 인코더와 같은 ObjectMapper로 payload를 미리 직렬화할 수 있게 한다.
+ */
+public class ChatJsonSupport extends JacksonJsonSupport {
+
+    public ChatJsonSupport(Module... modules) {
+        super(modules);
+    }
+
+    /**
+     * payload를 패킷 인코더와 동일한 설정으로 한 번 직렬화한다.
+     * 패킷 인코더처럼 바이트 generator로 쓰므로 BMP 밖 문자(이모지 키 등)의 이스케이프도 동일하다.
+     */
+    public PreEncodedPayload preEncode(Object payload) throws JsonProcessingException {
+        return new PreEncodedPayload(new String(objectMapper.writeValueAsBytes(payload), StandardCharsets.UTF_8));
+    }
+}
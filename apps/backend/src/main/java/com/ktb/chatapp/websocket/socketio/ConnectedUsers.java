@@ -11,22 +11,46 @@ public class ConnectedUsers {
     
     private static final String USER_SOCKET_KEY_PREFIX = "conn_users:userid:";
     
+    /**
+     * 접속 중인 사용자 ID만 모아두는 인덱스 집합.
+     * 전체 키를 세면 사용자별 방 목록 같은 다른 데이터까지 함께 집계되므로 따로 관리한다.
+     */
+    private static final String CONNECTED_USER_INDEX_KEY = "conn_users:index";
+    
+    /**
+     * 게이지 수집과 접속/해제 로그마다 저장소를 조회하지 않도록 접속자 수를 잠시 캐시한다.
+     */
+    private static final long SIZE_CACHE_MILLIS = 5_000;
+    
     private final ChatDataStore chatDataStore;
     
+    private volatile int cachedSize;
+    private volatile long cachedSizeAt = Long.MIN_VALUE;
+    
     public SocketUser get(String userId) {
         return chatDataStore.get(buildKey(userId), SocketUser.class).orElse(null);
     }
     
     public void set(String userId, SocketUser sockerUser) {
         chatDataStore.set(buildKey(userId), sockerUser);
+        chatDataStore.addMember(CONNECTED_USER_INDEX_KEY, userId);
     }
     
     public void del(String userId) {
         chatDataStore.delete(buildKey(userId));
+        chatDataStore.removeMember(CONNECTED_USER_INDEX_KEY, userId);
     }
     
+    /**
+     * 현재 접속자 수. 최대 {@value #SIZE_CACHE_MILLIS}ms 전 값일 수 있다.
+     */
     public int size() {
-        return chatDataStore.size();
+        long now = System.currentTimeMillis();
+        if (cachedSizeAt == Long.MIN_VALUE || now - cachedSizeAt >= SIZE_CACHE_MILLIS) {
+            cachedSize = chatDataStore.countMembers(CONNECTED_USER_INDEX_KEY);
+            cachedSizeAt = now;
+        }
+        return cachedSize;
     }
     
     private String buildKey(String userId) {
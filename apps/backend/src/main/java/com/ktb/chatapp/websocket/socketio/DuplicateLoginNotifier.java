@@ -0,0 +1,155 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.DUPLICATE_LOGIN;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.SESSION_ENDED;
+
+/**
+ * 중복 로그인 통보
+ * 새 연결이 들어오면 이전 연결의 socketId로 통보를 Redis topic에 발행하고,
+ * 그 소켓을 가진 노드가 duplicate_login을 보낸 뒤 session-ended-delay 후 session_ended를 보낸다.
+ * 이전 연결이 다른 노드에 있어도 통보되며, 지연 전송은 로그인마다 스레드를 만들지 않고 공유 스케줄러 하나로 처리한다.
+ *
+ * Redis가 없으면 이 노드의 소켓에만 통보한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class DuplicateLoginNotifier {
+
+    static final String TOPIC = "chatapp:duplicate-login";
+
+    private final SocketIOServer socketIOServer;
+    private final ObjectProvider<RedissonClient> redissonClientProvider;
+    private final ObjectMapper objectMapper;
+    private final Duration sessionEndedDelay;
+    private final Counter notifiedCounter;
+
+    private ScheduledExecutorService scheduler;
+    private RTopic topic;
+    private int listenerId = -1;
+
+    public DuplicateLoginNotifier(
+            SocketIOServer socketIOServer,
+            ObjectProvider<RedissonClient> redissonClientProvider,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${socketio.duplicate-login.session-ended-delay:10s}") Duration sessionEndedDelay) {
+        this.socketIOServer = socketIOServer;
+        this.redissonClientProvider = redissonClientProvider;
+        this.objectMapper = objectMapper;
+        this.sessionEndedDelay = sessionEndedDelay;
+        this.notifiedCounter = Counter.builder("socketio.duplicate_login.notified")
+                .description("Duplicate login notices delivered to a socket on this node")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duplicate-login-notifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        RedissonClient redissonClient = redissonClientProvider.getIfAvailable();
+        if (redissonClient == null) {
+            log.info("Duplicate login notices without Redis - node-local only");
+            return;
+        }
+        topic = redissonClient.getTopic(TOPIC, StringCodec.INSTANCE);
+        listenerId = topic.addListener(String.class, (channel, payload) -> onRemoteNotice(payload));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (topic != null) {
+            topic.removeListener(listenerId);
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 이전 연결에 중복 로그인을 알린다. 이전 연결이 어느 노드에 있든 그 노드가 전달한다.
+     *
+     * @param previous 이전 연결 정보 (ConnectedUsers에 남아 있던 값)
+     * @param newClient 새로 연결한 클라이언트
+     */
+    public void notifyPrevious(SocketUser previous, SocketIOClient newClient) {
+        DuplicateLoginNotice notice = new DuplicateLoginNotice(
+                previous.id(),
+                previous.socketId(),
+                newClient.getHandshakeData().getHttpHeaders().get("User-Agent"),
+                String.valueOf(newClient.getRemoteAddress()),
+                System.currentTimeMillis());
+
+        if (topic == null) {
+            deliver(notice);
+            return;
+        }
+        try {
+            topic.publish(objectMapper.writeValueAsString(notice));
+        } catch (Exception e) {
+            log.warn("Failed to publish duplicate login notice - userId: {}, delivering locally", notice.userId(), e);
+            deliver(notice);
+        }
+    }
+
+    private void onRemoteNotice(String payload) {
+        try {
+            deliver(objectMapper.readValue(payload, DuplicateLoginNotice.class));
+        } catch (Exception e) {
+            log.warn("Failed to handle duplicate login notice", e);
+        }
+    }
+
+    /**
+     * 이 노드에 이전 소켓이 있으면 통보하고 session_ended를 예약한다.
+     */
+    void deliver(DuplicateLoginNotice notice) {
+        SocketIOClient existingClient = socketIOServer.getClient(UUID.fromString(notice.socketId()));
+        if (existingClient == null) {
+            return;
+        }
+
+        existingClient.sendEvent(DUPLICATE_LOGIN, Map.of(
+                "type", "new_login_attempt",
+                "deviceInfo", String.valueOf(notice.deviceInfo()),
+                "ipAddress", notice.ipAddress(),
+                "timestamp", notice.timestamp()
+        ));
+        notifiedCounter.increment();
+
+        scheduler.schedule(() -> existingClient.sendEvent(SESSION_ENDED, Map.of(
+                "reason", "duplicate_login",
+                "message", "다른 기기에서 로그인하여 현재 세션이 종료되었습니다."
+        )), sessionEndedDelay.toMillis(), TimeUnit.MILLISECONDS);
+
+        log.debug("Duplicate login notified - userId: {}, socketId: {}", notice.userId(), notice.socketId());
+    }
+
+    record DuplicateLoginNotice(String userId, String socketId, String deviceInfo, String ipAddress, long timestamp) {
+    }
+}
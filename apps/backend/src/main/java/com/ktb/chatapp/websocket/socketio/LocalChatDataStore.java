@@ -1,6 +1,7 @@
 package com.ktb.chatapp.websocket.socketio;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -36,7 +37,51 @@ public class LocalChatDataStore implements ChatDataStore {
     }
     
     @Override
-    public int size() {
-        return storage.size();
+    public Set<String> getMembers(String key) {
+        Set<String> members = findSet(key);
+        return members != null ? Set.copyOf(members) : Set.of();
+    }
+    
+    @Override
+    public void addMember(String key, String member) {
+        storage.compute(key, (k, current) -> {
+            Set<String> members = current instanceof Set<?> ? castSet(current) : ConcurrentHashMap.newKeySet();
+            members.add(member);
+            return members;
+        });
+    }
+    
+    @Override
+    public void removeMember(String key, String member) {
+        storage.computeIfPresent(key, (k, current) -> {
+            if (!(current instanceof Set<?>)) {
+                return current;
+            }
+            Set<String> members = castSet(current);
+            members.remove(member);
+            return members.isEmpty() ? null : members;
+        });
+    }
+    
+    @Override
+    public boolean isMember(String key, String member) {
+        Set<String> members = findSet(key);
+        return members != null && members.contains(member);
+    }
+    
+    @Override
+    public int countMembers(String key) {
+        Set<String> members = findSet(key);
+        return members != null ? members.size() : 0;
+    }
+    
+    private Set<String> findSet(String key) {
+        Object value = storage.get(key);
+        return value instanceof Set<?> ? castSet(value) : null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Set<String> castSet(Object value) {
+        return (Set<String>) value;
     }
 }
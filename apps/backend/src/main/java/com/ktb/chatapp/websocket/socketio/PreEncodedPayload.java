@@ -0,0 +1,41 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * 한 번 JSON으로 직렬화해 둔 브로드캐스트 payload.
+ * 수신자마다 패킷을 인코딩할 때 객체를 다시 직렬화하지 않고 JSON 문자열을 그대로 복사한다.
+ * 다른 노드로 전달될 때(RedissonStoreFactory pub/sub)도 문자열만 오가므로 그대로 동작한다.
+ */
+public final class PreEncodedPayload implements JsonSerializable, Serializable {
+
+    private String json;
+
+    // Redis pub/sub 역직렬화용
+    private PreEncodedPayload() {
+    }
+
+    PreEncodedPayload(String json) {
+        this.json = json;
+    }
+
+    public String json() {
+        return json;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
@@ -0,0 +1,108 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+/**
+ * Redis implementation of ChatDataStore.
+ * Every key is its own Redis key under {@value #KEY_PREFIX}, so load is spread across
+ * keys (and cluster slots) instead of one shared hash. Values are stored as JSON and read
+ * back into the requested type. Sets are sorted sets scored by each member's expiry time,
+ * so adds and removes are single atomic commands and never overwrite each other.
+ * Values and set members expire after the configured TTL (refreshed on every write) so data
+ * left behind by a crashed node is cleaned up.
+ */
+@Slf4j
+public class RedisChatDataStore implements ChatDataStore {
+
+    static final String KEY_PREFIX = "chatapp:chat-data:";
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public RedisChatDataStore(RedissonClient redissonClient, ObjectMapper objectMapper, Duration ttl) {
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public <T> Optional<T> get(String key, Class<T> type) {
+        String json = bucket(key).get();
+        if (json == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(objectMapper.readValue(json, type));
+        } catch (Exception e) {
+            log.warn("Failed to read chat data - key: {}, type: {}", key, type.getSimpleName(), e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        try {
+            bucket(key).set(objectMapper.writeValueAsString(value), ttl);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to store chat data - key: " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        redissonClient.getKeys().delete(KEY_PREFIX + key);
+    }
+
+    @Override
+    public Set<String> getMembers(String key) {
+        return new HashSet<>(sortedSet(key).valueRange(System.currentTimeMillis(), false, Double.POSITIVE_INFINITY, true));
+    }
+
+    @Override
+    public void addMember(String key, String member) {
+        long now = System.currentTimeMillis();
+        RBatch batch = redissonClient.createBatch();
+        RScoredSortedSetAsync<String> members = batch.getScoredSortedSet(KEY_PREFIX + key, StringCodec.INSTANCE);
+        members.removeRangeByScoreAsync(Double.NEGATIVE_INFINITY, true, now, true);
+        members.addAsync(now + ttl.toMillis(), member);
+        members.expireAsync(ttl);
+        batch.execute();
+    }
+
+    @Override
+    public void removeMember(String key, String member) {
+        sortedSet(key).remove(member);
+    }
+
+    @Override
+    public boolean isMember(String key, String member) {
+        Double expiresAt = sortedSet(key).getScore(member);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public int countMembers(String key) {
+        return sortedSet(key).count(System.currentTimeMillis(), false, Double.POSITIVE_INFINITY, true);
+    }
+
+    private RBucket<String> bucket(String key) {
+        return redissonClient.getBucket(KEY_PREFIX + key, StringCodec.INSTANCE);
+    }
+
+    private RScoredSortedSet<String> sortedSet(String key) {
+        return redissonClient.getScoredSortedSet(KEY_PREFIX + key, StringCodec.INSTANCE);
+    }
+}
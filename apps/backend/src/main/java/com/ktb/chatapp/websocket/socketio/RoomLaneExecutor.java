@@ -0,0 +1,96 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 단위 순차 실행기
+ * roomId를 해시해 고정된 lane(단일 스레드)에 배정하므로 같은 방의 메시지 저장/브로드캐스트, 리액션, 입장/퇴장 메시지는
+ * 락 없이 제출 순서대로 실행된다. 다른 lane의 방은 서로 막지 않는다.
+ *
+ * lane 스레드는 가상 스레드라 Mongo 호출로 대기해도 캐리어 스레드를 점유하지 않는다.
+ * 한 노드 안의 순서만 보장하며, 노드 간 순서는 메시지의 방별 seq로 판단한다.
+ *
+ * 측정값
+ * - room.lane.queue.wait: 제출 후 lane에서 실행되기까지 기다린 시간
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomLaneExecutor {
+
+    private final ExecutorService[] lanes;
+    private final ExecutorService afterLane =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("room-lane-after-", 0).factory());
+    private final Timer waitTimer;
+
+    public RoomLaneExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.room-lanes.count:64}") int laneCount) {
+        this.lanes = new ExecutorService[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("room-lane-" + i).factory());
+        }
+        this.waitTimer = Timer.builder("room.lane.queue.wait")
+                .description("Time room mutations wait for their lane")
+                .register(meterRegistry);
+        log.info("Room lane executor started - lanes: {}", lanes.length);
+    }
+
+    /**
+     * 방의 lane에 작업을 넣고 바로 반환한다. 예외는 로그만 남기므로 작업 안에서 클라이언트 응답까지 처리한다.
+     */
+    public void execute(String roomId, Runnable task) {
+        long submittedAt = System.nanoTime();
+        lanes[laneOf(roomId)].execute(() -> {
+            waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("Room lane task failed - roomId: {}", roomId, e);
+            }
+        });
+    }
+
+    /**
+     * task를 방 lane에서 실행하고, 결과가 null이 아니면 then을 lane 밖(가상 스레드)에서 이어 실행한다.
+     * 순서가 필요한 저장/브로드캐스트만 lane에 두고, AI 호출 같은 후속 작업이 같은 lane의 다른 방을 막지 않게 한다.
+     */
+    public <T> void execute(String roomId, Supplier<T> task, Consumer<? super T> then) {
+        execute(roomId, () -> {
+            T result = task.get();
+            if (result == null) {
+                return;
+            }
+            afterLane.execute(() -> {
+                try {
+                    then.accept(result);
+                } catch (Exception e) {
+                    log.error("Room lane follow-up failed - roomId: {}", roomId, e);
+                }
+            });
+        });
+    }
+
+    int laneOf(String roomId) {
+        return Math.floorMod(roomId.hashCode(), lanes.length);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        afterLane.shutdown();
+    }
+}
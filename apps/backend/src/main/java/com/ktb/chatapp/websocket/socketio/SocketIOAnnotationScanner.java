@@ -0,0 +1,107 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.AckRequest;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.annotation.OnConnect;
+import com.corundumstudio.socketio.annotation.OnDisconnect;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * SpringAnnotationScanner 대신 @OnEvent / @OnConnect / @OnDisconnect 메서드를 등록한다.
+ * 이벤트 리스너는 SocketIOEventDispatcher를 거쳐 실행되므로 dispatch 모드에 따라 가상 스레드로 넘길 수 있다.
+ *
+ * 지원하는 메서드 인자는 SocketIOClient, AckRequest, 데이터 객체(최대 하나)이다.
+ * VIRTUAL 모드에서는 리스너가 반환된 뒤 netty-socketio가 빈 ack를 보내므로 AckRequest로 응답하는 핸들러는 쓰지 않는다.
+ */
+@Slf4j
+public class SocketIOAnnotationScanner implements BeanPostProcessor {
+
+    private final SocketIOServer socketIOServer;
+    private final SocketIOEventDispatcher dispatcher;
+
+    public SocketIOAnnotationScanner(SocketIOServer socketIOServer, SocketIOEventDispatcher dispatcher) {
+        this.socketIOServer = socketIOServer;
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> beanClass = ClassUtils.getUserClass(bean);
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanClass, this::isListenerMethod)) {
+            ReflectionUtils.makeAccessible(method);
+            OnEvent onEvent = method.getAnnotation(OnEvent.class);
+            if (onEvent != null) {
+                addEventListener(bean, method, onEvent.value());
+            }
+            if (method.isAnnotationPresent(OnConnect.class)) {
+                socketIOServer.addConnectListener(client -> dispatcher.dispatchInline(
+                        "connect", () -> invoke(bean, method, client, null, null)));
+            }
+            if (method.isAnnotationPresent(OnDisconnect.class)) {
+                socketIOServer.addDisconnectListener(client -> dispatcher.dispatchInline(
+                        "disconnect", () -> invoke(bean, method, client, null, null)));
+            }
+            log.debug("Socket.IO listener registered - {}.{}", beanClass.getSimpleName(), method.getName());
+        }
+        return bean;
+    }
+
+    private boolean isListenerMethod(Method method) {
+        return method.isAnnotationPresent(OnEvent.class)
+                || method.isAnnotationPresent(OnConnect.class)
+                || method.isAnnotationPresent(OnDisconnect.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addEventListener(Object bean, Method method, String event) {
+        Class<Object> dataType = (Class<Object>) findDataType(method);
+        socketIOServer.addEventListener(event, dataType, (client, data, ackRequest) ->
+                dispatcher.dispatch(client, event, () -> invoke(bean, method, client, data, ackRequest)));
+    }
+
+    private Class<?> findDataType(Method method) {
+        Class<?> dataType = null;
+        for (Class<?> type : method.getParameterTypes()) {
+            if (isClientOrAck(type)) {
+                continue;
+            }
+            if (dataType != null) {
+                throw new IllegalStateException("Socket.IO listener accepts at most one data argument: " + method);
+            }
+            dataType = type;
+        }
+        return dataType != null ? dataType : Object.class;
+    }
+
+    private boolean isClientOrAck(Class<?> type) {
+        return SocketIOClient.class.isAssignableFrom(type) || AckRequest.class.equals(type);
+    }
+
+    private void invoke(Object bean, Method method, SocketIOClient client, Object data, AckRequest ackRequest) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (SocketIOClient.class.isAssignableFrom(types[i])) {
+                args[i] = client;
+            } else if (AckRequest.class.equals(types[i])) {
+                args[i] = ackRequest;
+            } else {
+                args[i] = data;
+            }
+        }
+        try {
+            method.invoke(bean, args);
+        } catch (InvocationTargetException e) {
+            ReflectionUtils.rethrowRuntimeException(e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
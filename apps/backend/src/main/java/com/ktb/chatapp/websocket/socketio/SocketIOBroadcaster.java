@@ -0,0 +1,49 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 브로드캐스트.
+ * netty-socketio는 방의 클라이언트마다 패킷을 따로 인코딩하므로, payload를 여기서 한 번만 직렬화해
+ * PreEncodedPayload로 넘긴다. 수신자별 인코딩은 이벤트 이름과 JSON 문자열 복사만 남는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class SocketIOBroadcaster {
+
+    private final SocketIOServer socketIOServer;
+    private final ChatJsonSupport chatJsonSupport;
+    private final Counter fallbackCounter;
+
+    public SocketIOBroadcaster(
+            SocketIOServer socketIOServer,
+            ChatJsonSupport chatJsonSupport,
+            MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.chatJsonSupport = chatJsonSupport;
+        this.fallbackCounter = Counter.builder("socketio.broadcast.pre_encode.fallback")
+                .description("Broadcasts sent without pre-encoding because serialization failed")
+                .register(meterRegistry);
+    }
+
+    public void sendToRoom(String roomId, String event, Object payload) {
+        socketIOServer.getRoomOperations(roomId).sendEvent(event, encode(event, payload));
+    }
+
+    private Object encode(String event, Object payload) {
+        try {
+            return chatJsonSupport.preEncode(payload);
+        } catch (Exception e) {
+            // 미리 직렬화하지 못하면 기존처럼 수신자별 인코딩에 맡긴다
+            log.warn("Failed to pre-encode {} payload: {}", event, e.getMessage());
+            fallbackCounter.increment();
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+
+/**
+ * Socket.IO 이벤트 핸들러 실행 방식
+ * - INLINE: netty-socketio 워커 스레드에서 바로 실행 (기존 방식)
+ * - VIRTUAL: 클라이언트별 직렬 큐에 넣고 가상 스레드에서 실행한다. 같은 클라이언트의 이벤트는 도착 순서대로 하나씩,
+ *   다른 클라이언트의 이벤트는 동시에 처리되므로 느린 Mongo 쿼리가 이벤트 루프를 공유하는 다른 소켓을 막지 않는다.
+ *
+ * VIRTUAL 모드에서 클라이언트당 대기+실행 중 이벤트가 maxInFlightPerClient를 넘으면 이벤트를 버리고 error를 보낸다.
+ * 연결 해제 정리는 dispatchAfterPending으로 같은 큐의 맨 뒤에 넣어 먼저 도착한 이벤트보다 앞서거나 겹쳐 실행되지 않게 한다.
+ *
+ * 측정값
+ * - socketio.event.loop.blocking{event, mode}: 워커 스레드가 이벤트 하나에 묶여 있던 시간 (INLINE은 핸들러 전체, VIRTUAL은 큐 삽입)
+ * - socketio.dispatch.queue.wait{event}: 큐에 들어간 뒤 실행되기까지 기다린 시간
+ * - socketio.dispatch.rejected{event}: in-flight 한도로 버려진 이벤트 수
+ */
+@Slf4j
+public class SocketIOEventDispatcher implements AutoCloseable {
+
+    public enum Mode {
+        INLINE,
+        VIRTUAL
+    }
+
+    private final Mode mode;
+    private final int maxInFlightPerClient;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+
+    // 큐의 추가/제거와 draining 상태 변경은 모두 compute 안에서 하므로 키 단위로 직렬화된다
+    private final ConcurrentHashMap<UUID, ClientQueue> clients = new ConcurrentHashMap<>();
+
+    public SocketIOEventDispatcher(Mode mode, int maxInFlightPerClient, MeterRegistry meterRegistry) {
+        this.mode = mode;
+        this.maxInFlightPerClient = Math.max(1, maxInFlightPerClient);
+        this.meterRegistry = meterRegistry;
+        this.executor = mode == Mode.VIRTUAL
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("socketio-event-", 0).factory())
+                : null;
+        log.info("Socket.IO event dispatch mode: {}, max in-flight per client: {}", mode, this.maxInFlightPerClient);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * 워커 스레드에서 호출된다. 모드에 따라 handler를 바로 실행하거나 클라이언트 큐에 넣는다.
+     */
+    public void dispatch(SocketIOClient client, String event, Runnable handler) {
+        long start = System.nanoTime();
+        try {
+            if (mode == Mode.INLINE) {
+                handler.run();
+            } else {
+                enqueue(client, event, handler, start, false);
+            }
+        } finally {
+            blockingTimer(event).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 연결/해제 리스너처럼 netty-socketio가 호출 직후 클라이언트 상태를 정리하는 경우 항상 워커 스레드에서 실행한다.
+     * 무거운 정리 작업은 여기서 필요한 상태만 읽고 dispatchAfterPending으로 넘긴다.
+     */
+    public void dispatchInline(String event, Runnable handler) {
+        long start = System.nanoTime();
+        try {
+            handler.run();
+        } finally {
+            blockingTimer(event).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 이 클라이언트의 대기 중인 이벤트가 모두 끝난 뒤에 handler를 실행한다. 연결 해제 정리처럼 버리면 안 되는 작업이므로
+     * in-flight 한도를 적용하지 않는다. INLINE 모드는 이벤트가 이미 모두 끝났으므로 바로 실행한다.
+     */
+    public void dispatchAfterPending(SocketIOClient client, String event, Runnable handler) {
+        long start = System.nanoTime();
+        try {
+            if (mode == Mode.INLINE) {
+                handler.run();
+            } else {
+                enqueue(client, event, handler, start, true);
+            }
+        } finally {
+            blockingTimer(event).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    int queuedClientCount() {
+        return clients.size();
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void enqueue(SocketIOClient client, String event, Runnable handler, long enqueuedAt, boolean force) {
+        UUID sessionId = client.getSessionId();
+        Runnable task = () -> {
+            Timer.builder("socketio.dispatch.queue.wait")
+                    .description("Time Socket.IO events wait in the per-client queue")
+                    .tag("event", event)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                handler.run();
+            } catch (Exception e) {
+                log.error("Error handling Socket.IO event {} - sessionId: {}", event, sessionId, e);
+            }
+        };
+
+        boolean[] startDrain = {false};
+        boolean[] rejected = {false};
+        ClientQueue queue = clients.compute(sessionId, (id, current) -> {
+            ClientQueue target = current != null ? current : new ClientQueue(id);
+            if (!force && target.inFlight() >= maxInFlightPerClient) {
+                rejected[0] = true;
+                return target;
+            }
+            target.tasks.addLast(task);
+            if (!target.draining) {
+                target.draining = true;
+                startDrain[0] = true;
+            }
+            return target;
+        });
+
+        if (rejected[0]) {
+            Counter.builder("socketio.dispatch.rejected")
+                    .description("Socket.IO events dropped by the per-client in-flight limit")
+                    .tag("event", event)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Socket.IO event rejected, too many in flight - event: {}, sessionId: {}", event, sessionId);
+            client.sendEvent(ERROR, Map.of("message", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."));
+            return;
+        }
+        if (startDrain[0]) {
+            executor.execute(() -> drain(queue));
+        }
+    }
+
+    private void drain(ClientQueue queue) {
+        while (true) {
+            Runnable[] next = new Runnable[1];
+            clients.compute(queue.sessionId, (id, current) -> {
+                next[0] = queue.tasks.pollFirst();
+                if (next[0] == null) {
+                    queue.draining = false;
+                    queue.running = false;
+                    return null;
+                }
+                queue.running = true;
+                return current;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            next[0].run();
+        }
+    }
+
+    private Timer blockingTimer(String event) {
+        return Timer.builder("socketio.event.loop.blocking")
+                .description("Time a Socket.IO worker thread spends on one event")
+                .tag("event", event)
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+    }
+
+    private static final class ClientQueue {
+        private final UUID sessionId;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean draining;
+        // drain이 꺼낸 이벤트를 실행 중인지. drain 예약 직후 첫 이벤트를 꺼내기 전에는 false
+        private boolean running;
+
+        private ClientQueue(UUID sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        // 실행 중인 이벤트와 대기 중인 이벤트
+        private int inFlight() {
+            return tasks.size() + (running ? 1 : 0);
+        }
+    }
+}
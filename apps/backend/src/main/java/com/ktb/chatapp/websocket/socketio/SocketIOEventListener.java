@@ -1,7 +1,8 @@
 package com.ktb.chatapp.websocket.socketio;
 
-import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.config.properties.AiProperties;
 import com.ktb.chatapp.event.*;
+import java.util.HashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,16 +18,16 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class SocketIOEventListener {
 
-    private final SocketIOServer socketIOServer;
+    private final SocketIOBroadcaster socketIOBroadcaster;
+    private final AiProperties aiProperties;
 
     @EventListener
     public void handleSessionEndedEvent(SessionEndedEvent event) {
         try {
-            socketIOServer.getRoomOperations("user:" + event.getUserId())
-                    .sendEvent("session_ended", Map.of(
-                            "reason", event.getReason(),
-                            "message", event.getMessage()
-                    ));
+            socketIOBroadcaster.sendToRoom("user:" + event.getUserId(), "session_ended", Map.of(
+                "reason", event.getReason(),
+                "message", event.getMessage()
+            ));
             log.info("session_ended 이벤트 발송: userId={}, reason={}", event.getUserId(), event.getReason());
         } catch (Exception e) {
             log.error("session_ended 이벤트 발송 실패: userId={}", event.getUserId(), e);
@@ -36,7 +37,7 @@ public class SocketIOEventListener {
     @EventListener
     public void handleRoomCreatedEvent(RoomCreatedEvent event) {
         try {
-            socketIOServer.getRoomOperations("room-list").sendEvent(ROOM_CREATED, event.getRoomResponse());
+            socketIOBroadcaster.sendToRoom("room-list", ROOM_CREATED, event.getRoomResponse());
             log.info("roomCreated 이벤트 발송: roomId={}", event.getRoomResponse().getId());
         } catch (Exception e) {
             log.error("roomCreated 이벤트 발송 실패", e);
@@ -46,7 +47,7 @@ public class SocketIOEventListener {
     @EventListener
     public void handleRoomUpdatedEvent(RoomUpdatedEvent event) {
         try {
-            socketIOServer.getRoomOperations(event.getRoomId()).sendEvent(ROOM_UPDATE, event.getRoomResponse());
+            socketIOBroadcaster.sendToRoom(event.getRoomId(), ROOM_UPDATE, event.getRoomResponse());
             log.info("roomUpdate 이벤트 발송: roomId={}", event.getRoomId());
         } catch (Exception e) {
             log.error("roomUpdate 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
@@ -61,8 +62,7 @@ public class SocketIOEventListener {
                 "aiType", event.getAiType(),
                 "timestamp", event.getStartTime()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_START, data);
+            socketIOBroadcaster.sendToRoom(event.getRoomId(), AI_MESSAGE_START, data);
             log.info("aiMessageStart 이벤트 발송: roomId={}, messageId={}",
                     event.getRoomId(), event.getMessageId());
         } catch (Exception e) {
@@ -72,20 +72,43 @@ public class SocketIOEventListener {
 
     @EventListener
     public void handleAiMessageChunkEvent(AiMessageChunkEvent event) {
+        AiProperties.StreamProtocol protocol = aiProperties.getStream().getProtocol();
         try {
-            Map<String, Object> data = Map.of(
-                "messageId", event.getMessageId(),
-                "fullContent", event.getFullContent(),
-                "isCodeBlock", event.isCodeBlock(),
-                "isComplete", false
-            );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_CHUNK, data);
+            if (protocol.sendsFull()) {
+                Map<String, Object> data = Map.of(
+                    "messageId", event.getMessageId(),
+                    "fullContent", event.getFullContent(),
+                    "isCodeBlock", event.isCodeBlock(),
+                    "isComplete", false
+                );
+                socketIOBroadcaster.sendToRoom(event.getRoomId(), AI_MESSAGE_CHUNK, data);
+            }
+            if (protocol.sendsDelta()) {
+                socketIOBroadcaster.sendToRoom(event.getRoomId(), AI_MESSAGE_DELTA, toDelta(event));
+            }
         } catch (Exception e) {
             log.error("aiMessageChunk 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
         }
     }
 
+    /**
+     * 누적 내용 대신 offset 위치에 이어 붙일 청크만 보낸다.
+     * offset은 UTF-16 길이(JS String.length)이며, 클라이언트는 자신의 길이와 다르면 다음 스냅샷까지 기다린다.
+     */
+    private Map<String, Object> toDelta(AiMessageChunkEvent event) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("messageId", event.getMessageId());
+        data.put("seq", event.getSeq());
+        data.put("offset", event.getOffset());
+        data.put("chunk", event.getCurrentChunk());
+        data.put("isCodeBlock", event.isCodeBlock());
+        int snapshotInterval = aiProperties.getStream().getSnapshotInterval();
+        if (snapshotInterval > 0 && event.getSeq() % snapshotInterval == 0) {
+            data.put("fullContent", event.getFullContent());
+        }
+        return data;
+    }
+
     @EventListener
     public void handleAiMessageCompleteEvent(AiMessageSavedEvent event) {
         
@@ -96,8 +119,7 @@ public class SocketIOEventListener {
                 "aiType", event.getAiType(),
                 "timestamp", event.getStartTime()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_COMPLETE, data);
+            socketIOBroadcaster.sendToRoom(event.getRoomId(), AI_MESSAGE_COMPLETE, data);
             log.info("aiMessageComplete 이벤트 발송: roomId={}, messageId={}",
                     event.getRoomId(), event.getSavedMessageId());
         } catch (Exception e) {
@@ -113,8 +135,7 @@ public class SocketIOEventListener {
                 "error", event.getErrorMessage(),
                 "aiType", event.getAiType()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_ERROR, data);
+            socketIOBroadcaster.sendToRoom(event.getRoomId(), AI_MESSAGE_ERROR, data);
             log.error("aiMessageError 이벤트 발송: roomId={}, messageId={}, error={}",
                     event.getRoomId(), event.getMessageId(), event.getErrorMessage());
         } catch (Exception e) {
@@ -157,6 +157,13 @@ public final class SocketIOEvents {
      */
     public static final String AI_MESSAGE_CHUNK = "aiMessageChunk";
 
+    /**
+     * AI 스트리밍 델타 (chatapp.ai.stream.protocol=delta|both)
+     * Payload: { messageId, seq, offset, chunk, isCodeBlock, fullContent? }
+     * fullContent는 snapshot-interval 번째 델타마다 포함된다.
+     */
+    public static final String AI_MESSAGE_DELTA = "aiMessageDelta";
+
     /**
      * AI 스트리밍 완료
      * Payload: { messageId, _id, content, aiType, timestamp, isComplete, query, reactions }
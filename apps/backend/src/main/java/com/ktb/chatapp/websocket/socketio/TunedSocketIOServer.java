@@ -0,0 +1,39 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.SocketIOServer;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
+
+/**
+ * 연결 옵션에 ByteBufAllocator와 SO_REUSEPORT를 추가한 SocketIOServer
+ * netty-socketio Configuration은 allocator를 받지 않으므로 부트스트랩 옵션을 적용하는 시점에 덧붙인다.
+ * SO_REUSEPORT는 native epoll transport일 때만 적용된다.
+ */
+public class TunedSocketIOServer extends SocketIOServer {
+
+    private final ByteBufAllocator allocator;
+    private final boolean reusePort;
+
+    public TunedSocketIOServer(Configuration configuration, ByteBufAllocator allocator, boolean reusePort) {
+        super(configuration);
+        this.allocator = allocator;
+        this.reusePort = reusePort;
+    }
+
+    public ByteBufAllocator getAllocator() {
+        return allocator;
+    }
+
+    @Override
+    protected void applyConnectionOptions(ServerBootstrap bootstrap) {
+        super.applyConnectionOptions(bootstrap);
+        bootstrap.option(ChannelOption.ALLOCATOR, allocator);
+        bootstrap.childOption(ChannelOption.ALLOCATOR, allocator);
+        if (reusePort && getConfiguration().isUseLinuxNativeEpoll()) {
+            bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+        }
+    }
+}
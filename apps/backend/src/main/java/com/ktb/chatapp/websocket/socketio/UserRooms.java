@@ -21,11 +21,8 @@ public class UserRooms {
      * @param userId the user ID
      * @return the set of room IDs the user is currently in, or empty set if not in any room
      */
-    @SuppressWarnings("unchecked")
     public Set<String> get(String userId) {
-        return chatDataStore.get(buildKey(userId), Set.class)
-                .map(obj -> (Set<String>) obj)
-                .orElse(new HashSet<>());
+        return new HashSet<>(chatDataStore.getMembers(buildKey(userId)));
     }
 
     /**
@@ -35,9 +32,7 @@ public class UserRooms {
      * @param roomId the room ID to add to the user's room set
      */
     public void add(String userId, String roomId) {
-        Set<String> rooms = new HashSet<>(get(userId));
-        rooms.add(roomId);
-        chatDataStore.set(buildKey(userId), rooms);
+        chatDataStore.addMember(buildKey(userId), roomId);
     }
 
     /**
@@ -47,13 +42,7 @@ public class UserRooms {
      * @param roomId the room ID to remove
      */
     public void remove(String userId, String roomId) {
-        Set<String> rooms = new HashSet<>(get(userId));
-        rooms.remove(roomId);
-        if (rooms.isEmpty()) {
-            chatDataStore.delete(buildKey(userId));
-        } else {
-            chatDataStore.set(buildKey(userId), rooms);
-        }
+        chatDataStore.removeMember(buildKey(userId), roomId);
     }
 
     /**
@@ -73,7 +62,7 @@ public class UserRooms {
      * @return true if the user is in the room, false otherwise
      */
     public boolean isInRoom(String userId, String roomId) {
-        return get(userId).contains(roomId);
+        return chatDataStore.isMember(buildKey(userId), roomId);
     }
 
     private String buildKey(String userId) {
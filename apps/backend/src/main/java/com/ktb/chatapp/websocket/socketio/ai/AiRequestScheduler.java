@@ -0,0 +1,358 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.config.properties.AiProperties;
+import com.ktb.chatapp.event.RoomEmptiedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * AI 업스트림 스트림의 동시 실행 수를 제한한다.
+ * 전체/방별/요청자별 한도를 넘는 요청은 방별 대기열에 넣고, 슬롯이 비면 방을 돌아가며 하나씩 시작하므로
+ * 한 방의 멘션 폭주가 다른 방의 요청을 막지 않는다 (방 안에서는 FIFO).
+ * 요청자 한도에 걸린 요청은 건너뛰고 같은 방의 다음 요청을 시작하므로, 한 사용자의 연속 멘션이 방 전체를 막지 않는다.
+ *
+ * 대기열이 가득 차거나 maxWait보다 오래 기다린 요청은 거절하고, 채팅방이 비면 그 방의 대기/실행 중 스트림을 취소한다.
+ * 만료 검사는 제출/반납 때와 별도로 sweepInterval마다 돌므로, 슬롯이 계속 차 있어도 오래 기다린 요청이 제때 거절된다.
+ *
+ * 측정값
+ * - ai.scheduler.queue.depth / ai.scheduler.active: 대기 중 / 실행 중 스트림 수
+ * - ai.scheduler.wait: 대기열에서 시작까지 걸린 시간
+ * - ai.scheduler.rejected{reason}: 거절된 요청 수
+ * - ai.scheduler.cancelled{state=queued|running}: 빈 방 때문에 취소된 요청 수
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiRequestScheduler {
+
+    public enum RejectReason {
+        QUEUE_FULL,
+        TIMEOUT
+    }
+
+    private final AiProperties.Scheduler settings;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final Timer waitTimer;
+
+    // 방별 대기열, 삽입 순서가 곧 다음에 확인할 방 순서다
+    private final LinkedHashMap<String, ArrayDeque<Task<?>>> queues = new LinkedHashMap<>();
+    private final Set<Task<?>> running = new HashSet<>();
+    private final Map<String, Integer> runningPerRoom = new HashMap<>();
+    private final Map<String, Integer> runningPerUser = new HashMap<>();
+    private int queued;
+    private ScheduledExecutorService sweeper;
+
+    @Autowired
+    public AiRequestScheduler(AiProperties aiProperties, MeterRegistry meterRegistry) {
+        this(aiProperties, meterRegistry, System::nanoTime);
+    }
+
+    AiRequestScheduler(AiProperties aiProperties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.settings = aiProperties.getScheduler();
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.waitTimer = Timer.builder("ai.scheduler.wait")
+                .description("Time AI requests spend queued before their stream starts")
+                .register(meterRegistry);
+        Gauge.builder("ai.scheduler.queue.depth", this, AiRequestScheduler::queuedCount)
+                .description("AI requests waiting for a stream slot")
+                .register(meterRegistry);
+        Gauge.builder("ai.scheduler.active", this, AiRequestScheduler::activeCount)
+                .description("AI streams currently running")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMillis = settings.getSweepInterval().toMillis();
+        if (intervalMillis <= 0) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai-scheduler-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepExpired, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * 슬롯이 있으면 바로, 없으면 차례가 왔을 때 streamFactory로 스트림을 만들어 subscriber로 구독한다.
+     * 스트림이 끝나거나(완료/에러/취소) 만들 수 없으면 슬롯을 반납한다.
+     *
+     * @param onRejected 대기열이 가득 찼거나 너무 오래 기다려 시작하지 못한 경우 호출된다
+     */
+    public <T> void submit(String roomId, String userId, Supplier<Flux<T>> streamFactory,
+                           Subscriber<? super T> subscriber, Consumer<RejectReason> onRejected) {
+        Task<T> task = new Task<>(roomId, userId, streamFactory, subscriber, onRejected, nanoClock.getAsLong());
+        List<Task<?>> expired = new ArrayList<>();
+        List<Task<?>> startable;
+        synchronized (this) {
+            if (queued >= settings.getMaxQueued()) {
+                startable = List.of();
+            } else {
+                queues.computeIfAbsent(roomId, id -> new ArrayDeque<>()).addLast(task);
+                queued++;
+                task.accepted = true;
+                startable = pollStartable(expired);
+            }
+        }
+        if (!task.accepted) {
+            reject(task, RejectReason.QUEUE_FULL);
+            return;
+        }
+        expired.forEach(timedOut -> reject(timedOut, RejectReason.TIMEOUT));
+        startable.forEach(this::start);
+    }
+
+    @EventListener
+    public void onRoomEmptied(RoomEmptiedEvent event) {
+        cancelRoom(event.getRoomId());
+    }
+
+    /**
+     * 방의 대기 요청을 버리고 실행 중 스트림을 취소한다. 받을 사람이 없으므로 거절 콜백은 호출하지 않는다.
+     */
+    public void cancelRoom(String roomId) {
+        List<Task<?>> toCancel = new ArrayList<>();
+        int dropped;
+        synchronized (this) {
+            ArrayDeque<Task<?>> queue = queues.remove(roomId);
+            dropped = queue != null ? queue.size() : 0;
+            queued -= dropped;
+            for (Task<?> task : running) {
+                if (task.roomId.equals(roomId)) {
+                    toCancel.add(task);
+                }
+            }
+        }
+        if (dropped == 0 && toCancel.isEmpty()) {
+            return;
+        }
+        cancelledCounter("queued").increment(dropped);
+        cancelledCounter("running").increment(toCancel.size());
+        log.info("AI requests cancelled for emptied room - roomId: {}, queued: {}, running: {}",
+                roomId, dropped, toCancel.size());
+        toCancel.forEach(Task::cancel);
+    }
+
+    /**
+     * 슬롯 여부와 관계없이 maxWait을 넘긴 대기 요청을 거절한다.
+     */
+    void sweepExpired() {
+        List<Task<?>> expired = new ArrayList<>();
+        synchronized (this) {
+            collectExpired(expired);
+        }
+        expired.forEach(timedOut -> reject(timedOut, RejectReason.TIMEOUT));
+    }
+
+    synchronized int queuedCount() {
+        return queued;
+    }
+
+    synchronized int activeCount() {
+        return running.size();
+    }
+
+    /**
+     * 한도 안에서 시작할 수 있는 요청을 방을 돌아가며 꺼낸다. 호출자가 this를 잡고 있어야 한다.
+     * 기다린 시간이 maxWait을 넘은 대기 요청은 슬롯이 없어도 expired에 모은다.
+     */
+    private List<Task<?>> pollStartable(List<Task<?>> expired) {
+        collectExpired(expired);
+        List<Task<?>> startable = new ArrayList<>();
+
+        while (running.size() < settings.getMaxConcurrent()) {
+            String picked = null;
+            for (Map.Entry<String, ArrayDeque<Task<?>>> entry : queues.entrySet()) {
+                Task<?> next = pollFirstStartable(entry.getKey(), entry.getValue());
+                if (next != null) {
+                    queued--;
+                    markRunning(next);
+                    startable.add(next);
+                    picked = entry.getKey();
+                    break;
+                }
+            }
+            if (picked == null) {
+                break;
+            }
+            // 방금 시작한 방은 맨 뒤로 보내 다른 방에 차례를 넘긴다
+            ArrayDeque<Task<?>> queue = queues.remove(picked);
+            if (!queue.isEmpty()) {
+                queues.put(picked, queue);
+            }
+        }
+        return startable;
+    }
+
+    /**
+     * 방 한도가 남아 있으면 방 대기열에서 요청자 한도에 걸리지 않은 가장 앞 요청을 꺼낸다.
+     */
+    private Task<?> pollFirstStartable(String roomId, ArrayDeque<Task<?>> queue) {
+        if (runningPerRoom.getOrDefault(roomId, 0) >= settings.getMaxConcurrentPerRoom()) {
+            return null;
+        }
+        Iterator<Task<?>> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Task<?> task = iterator.next();
+            if (runningPerUser.getOrDefault(task.userId, 0) < settings.getMaxConcurrentPerUser()) {
+                iterator.remove();
+                return task;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 방마다 대기열은 들어온 순서이므로 앞에서부터 maxWait을 넘긴 요청을 꺼낸다. 호출자가 this를 잡고 있어야 한다.
+     */
+    private void collectExpired(List<Task<?>> expired) {
+        long deadline = nanoClock.getAsLong() - settings.getMaxWait().toNanos();
+        Iterator<ArrayDeque<Task<?>>> iterator = queues.values().iterator();
+        while (iterator.hasNext()) {
+            ArrayDeque<Task<?>> queue = iterator.next();
+            while (!queue.isEmpty() && queue.peekFirst().enqueuedAt < deadline) {
+                expired.add(queue.pollFirst());
+                queued--;
+            }
+            if (queue.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void markRunning(Task<?> task) {
+        running.add(task);
+        runningPerRoom.merge(task.roomId, 1, Integer::sum);
+        runningPerUser.merge(task.userId, 1, Integer::sum);
+    }
+
+    private void start(Task<?> task) {
+        waitTimer.record(nanoClock.getAsLong() - task.enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            task.start(() -> release(task));
+        } catch (Exception e) {
+            log.error("Failed to start AI stream - roomId: {}, userId: {}", task.roomId, task.userId, e);
+            release(task);
+        }
+    }
+
+    private void release(Task<?> task) {
+        if (!task.released.compareAndSet(false, true)) {
+            return;
+        }
+        List<Task<?>> expired = new ArrayList<>();
+        List<Task<?>> startable;
+        synchronized (this) {
+            running.remove(task);
+            runningPerRoom.computeIfPresent(task.roomId, (id, count) -> count > 1 ? count - 1 : null);
+            runningPerUser.computeIfPresent(task.userId, (id, count) -> count > 1 ? count - 1 : null);
+            startable = pollStartable(expired);
+        }
+        expired.forEach(timedOut -> reject(timedOut, RejectReason.TIMEOUT));
+        startable.forEach(this::start);
+    }
+
+    private void reject(Task<?> task, RejectReason reason) {
+        Counter.builder("ai.scheduler.rejected")
+                .description("AI requests rejected by the scheduler")
+                .tag("reason", reason.name())
+                .register(meterRegistry)
+                .increment();
+        log.warn("AI request rejected - roomId: {}, userId: {}, reason: {}", task.roomId, task.userId, reason);
+        try {
+            task.onRejected.accept(reason);
+        } catch (Exception e) {
+            log.error("Error handling rejected AI request - roomId: {}", task.roomId, e);
+        }
+    }
+
+    private Counter cancelledCounter(String state) {
+        return Counter.builder("ai.scheduler.cancelled")
+                .description("AI requests cancelled because their room became empty")
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    private static final class Task<T> {
+        private final String roomId;
+        private final String userId;
+        private final Supplier<Flux<T>> streamFactory;
+        private final Subscriber<? super T> subscriber;
+        private final Consumer<RejectReason> onRejected;
+        private final long enqueuedAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private boolean accepted;
+        private volatile boolean cancelled;
+        private volatile Subscription subscription;
+
+        private Task(String roomId, String userId, Supplier<Flux<T>> streamFactory,
+                     Subscriber<? super T> subscriber, Consumer<RejectReason> onRejected, long enqueuedAt) {
+            this.roomId = roomId;
+            this.userId = userId;
+            this.streamFactory = streamFactory;
+            this.subscriber = subscriber;
+            this.onRejected = onRejected;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        private void start(Runnable onFinally) {
+            streamFactory.get()
+                    .doFinally(signal -> onFinally.run())
+                    .doOnSubscribe(s -> {
+                        subscription = s;
+                        if (cancelled) {
+                            s.cancel();
+                        }
+                    })
+                    .subscribe(subscriber);
+        }
+
+        // subscriber에는 종료 신호가 가지 않는다 (완료 이벤트/저장 없이 버린다)
+        private void cancel() {
+            cancelled = true;
+            Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
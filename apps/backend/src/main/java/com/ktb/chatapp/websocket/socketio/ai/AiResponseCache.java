@@ -0,0 +1,210 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.chatapp.config.properties.AiProperties;
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * 같은 AI 페르소나에 같은 질문이 반복되면 모델을 다시 호출하지 않고 저장된 응답을 재생한다.
+ * 키는 (AiType, 정규화된 질문)이고, 값은 브로드캐스트된 청크 목록이라 재생해도 실제 응답과 같은 단위로 나뉜다.
+ *
+ * 노드 로컬 Caffeine 캐시(max-entries, ttl)가 먼저이며, redis-enabled이면 Redis를 공유 2차 캐시로 쓴다.
+ * Redis 오류는 캐시 미스로 취급한다.
+ *
+ * 측정값
+ * - ai.response.cache.requests{result=hit|miss, tier=local|redis}: 조회 결과 (적중률 = hit / 전체)
+ * - ai.response.cache.local.*: 로컬 캐시 크기/제거 통계
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiResponseCache {
+
+    static final String KEY_PREFIX = "chatapp:ai-response:";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s?!.~？！。]+$");
+    private static final TypeReference<List<String>> CHUNKS_TYPE = new TypeReference<>() {};
+
+    private final AiProperties.ResponseCache settings;
+    private final ObjectMapper objectMapper;
+    private final RedissonClient redissonClient;
+    private final Cache<String, List<String>> local;
+    private final MeterRegistry meterRegistry;
+
+    public AiResponseCache(
+            AiProperties aiProperties,
+            ObjectProvider<RedissonClient> redissonClientProvider,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.settings = aiProperties.getResponseCache();
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.redissonClient = settings.isEnabled() && settings.isRedisEnabled()
+                ? redissonClientProvider.getIfAvailable()
+                : null;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxEntries())
+                .expireAfterWrite(settings.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "ai.response.cache.local");
+        if (settings.isEnabled()) {
+            log.info("AI response cache enabled - max entries: {}, ttl: {}, redis: {}",
+                    settings.getMaxEntries(), settings.getTtl(), redissonClient != null);
+        }
+    }
+
+    /**
+     * @return 저장된 응답 청크, 캐시가 꺼져 있거나 없으면 empty
+     */
+    public Optional<List<String>> find(AiType aiType, String query) {
+        String key = keyOf(aiType, query);
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        List<String> chunks = local.getIfPresent(key);
+        if (chunks != null) {
+            count("hit", "local");
+            return Optional.of(chunks);
+        }
+        count("miss", "local");
+
+        if (redissonClient == null) {
+            return Optional.empty();
+        }
+        chunks = findInRedis(key);
+        if (chunks == null) {
+            count("miss", "redis");
+            return Optional.empty();
+        }
+        count("hit", "redis");
+        local.put(key, chunks);
+        return Optional.of(chunks);
+    }
+
+    /**
+     * 정상 완료된 스트림의 청크를 모아 캐시에 넣는다. 에러나 취소로 끝난 응답은 저장하지 않는다.
+     */
+    public Flux<String> record(AiType aiType, String query, Flux<String> chunks) {
+        String key = keyOf(aiType, query);
+        if (key == null) {
+            return chunks;
+        }
+        return Flux.defer(() -> {
+            List<String> collected = new ArrayList<>();
+            return chunks
+                    .doOnNext(collected::add)
+                    .doOnComplete(() -> put(key, collected));
+        });
+    }
+
+    /**
+     * 저장된 청크를 replay-interval 간격으로 내보낸다.
+     */
+    public Flux<String> replay(List<String> chunks) {
+        Duration interval = settings.getReplayInterval();
+        Flux<String> replayed = Flux.fromIterable(chunks);
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            return replayed;
+        }
+        return replayed.delayElements(interval);
+    }
+
+    /**
+     * 대소문자, 공백, 끝의 문장부호만 다른 질문은 같은 키가 되도록 정규화한다.
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return TRAILING_PUNCTUATION.matcher(normalized).replaceAll("");
+    }
+
+    private String keyOf(AiType aiType, String query) {
+        if (!settings.isEnabled() || aiType == null) {
+            return null;
+        }
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return aiType.name() + ":" + normalized;
+    }
+
+    private void put(String key, List<String> chunks) {
+        if (chunks.isEmpty()) {
+            return;
+        }
+        List<String> stored = List.copyOf(chunks);
+        local.put(key, stored);
+        if (redissonClient == null) {
+            return;
+        }
+        try {
+            bucket(key).set(objectMapper.writeValueAsString(stored), settings.getTtl());
+        } catch (Exception e) {
+            log.warn("Failed to store AI response in Redis - key: {}", key, e);
+        }
+    }
+
+    private List<String> findInRedis(String key) {
+        try {
+            String json = bucket(key).get();
+            return json != null ? objectMapper.readValue(json, CHUNKS_TYPE) : null;
+        } catch (Exception e) {
+            log.warn("Failed to read AI response from Redis - key: {}", key, e);
+            return null;
+        }
+    }
+
+    private RBucket<String> bucket(String key) {
+        return redissonClient.getBucket(KEY_PREFIX + sha256(key), StringCodec.INSTANCE);
+    }
+
+    private void count(String result, String tier) {
+        Counter.builder("ai.response.cache.requests")
+                .description("AI response cache lookups")
+                .tag("result", result)
+                .tag("tier", tier)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -2,14 +2,19 @@ package com.ktb.chatapp.websocket.socketio.ai;
 
 import com.ktb.chatapp.dto.MessageContent;
 import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
 import com.ktb.chatapp.event.AiMessageSavedEvent;
 import com.ktb.chatapp.event.AiMessageStartEvent;
 import com.ktb.chatapp.model.AiType;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.message.RoomSequenceAllocator;
+import com.ktb.chatapp.websocket.socketio.RoomLaneExecutor;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
@@ -31,14 +36,29 @@ public class AiService {
     private final ChatClient chatClient;
     private final ApplicationEventPublisher eventPublisher;
     private final MessageRepository messageRepository;
+    private final ChunkCoalescer chunkCoalescer;
+    private final AiRequestScheduler aiRequestScheduler;
+    private final AiResponseCache aiResponseCache;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final RoomSequenceAllocator roomSequenceAllocator;
 
     public AiService(
             ChatClient.Builder chatClientBuilder,
             ApplicationEventPublisher eventPublisher,
-            MessageRepository messageRepository) {
+            MessageRepository messageRepository,
+            ChunkCoalescer chunkCoalescer,
+            AiRequestScheduler aiRequestScheduler,
+            AiResponseCache aiResponseCache,
+            RoomLaneExecutor roomLaneExecutor,
+            RoomSequenceAllocator roomSequenceAllocator) {
         this.chatClient = chatClientBuilder.build();
         this.eventPublisher = eventPublisher;
         this.messageRepository = messageRepository;
+        this.chunkCoalescer = chunkCoalescer;
+        this.aiRequestScheduler = aiRequestScheduler;
+        this.aiResponseCache = aiResponseCache;
+        this.roomLaneExecutor = roomLaneExecutor;
+        this.roomSequenceAllocator = roomSequenceAllocator;
     }
 
     public void handleAIMentions(String roomId, String userId, MessageContent messageContent) {
@@ -54,14 +74,6 @@ public class AiService {
         var timestamp = System.currentTimeMillis();
         String messageId = aiType + "-" + timestamp;
 
-        log.info("AI response started - messageId: {}, room: {}, aiType: {}, query: {}",
-            messageId, roomId, aiType, query);
-        
-        // AI 스트리밍 시작 이벤트 발행
-        eventPublisher.publishEvent(new AiMessageStartEvent(
-            this, roomId, messageId, aiType, timestamp
-        ));
-        
         // 스트리밍 세션 초기화
         StreamingSession session = StreamingSession.builder()
             .messageId(messageId)
@@ -72,9 +84,38 @@ public class AiService {
             .query(query)
             .build();
         
+        AiStreamHandler handler = new AiStreamHandler(session, eventPublisher);
+
+        // 캐시된 응답은 모델을 호출하지 않으므로 스케줄러를 거치지 않고 같은 이벤트 순서로 재생한다
+        Optional<List<String>> cached = aiResponseCache.find(session.aiTypeEnum(), query);
+        if (cached.isPresent()) {
+            publishStart(session);
+            replayResponse(cached.get()).subscribe(handler);
+            return;
+        }
+
+        // 동시 실행 한도를 넘으면 대기열에서 차례를 기다린다
+        aiRequestScheduler.submit(roomId, userId,
+                () -> {
+                    publishStart(session);
+                    return streamResponse(session);
+                },
+                handler,
+                reason -> eventPublisher.publishEvent(new AiMessageErrorEvent(
+                    this, roomId, messageId,
+                    "AI 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.",
+                    session.aiTypeEnum()
+                )));
+    }
+
+    private void publishStart(StreamingSession session) {
+        log.info("AI response started - messageId: {}, room: {}, aiType: {}, query: {}",
+            session.getMessageId(), session.getRoomId(), session.getAiType(), session.getQuery());
         
-        streamResponse(session)
-                .subscribe(new AiStreamHandler(session, eventPublisher));
+        // AI 스트리밍 시작 이벤트 발행
+        eventPublisher.publishEvent(new AiMessageStartEvent(
+            this, session.getRoomId(), session.getMessageId(), session.getAiType(), session.getTimestamp()
+        ));
     }
 
     Flux<ChunkData> streamResponse(StreamingSession session) {
@@ -91,11 +132,11 @@ public class AiService {
                     .stream()
                     .content();
 
-            AtomicBoolean codeBlockState = new AtomicBoolean(false);
+            // 토큰을 window 단위로 합쳐 브로드캐스트 횟수를 줄인다 (공백/개행 토큰도 합쳐진 내용 안에 보존)
+            Flux<String> chunks = chunkCoalescer.coalesce(
+                    contentStream.filter(chunk -> chunk != null && !chunk.isEmpty()), aiType);
 
-            return contentStream
-                    .filter(chunk -> chunk != null && !chunk.isBlank())
-                    .map(chunk -> ChunkData.from(chunk).updateCodeBlockState(codeBlockState))
+            return withCodeBlockState(aiResponseCache.record(aiType, query, chunks))
                     .doOnSubscribe(subscription -> log.info(
                             "Starting AI streaming response - aiType: {}, query: {}",
                             aiType, query))
@@ -103,11 +144,34 @@ public class AiService {
         });
     }
 
+    Flux<ChunkData> replayResponse(List<String> chunks) {
+        return Flux.defer(() -> withCodeBlockState(aiResponseCache.replay(chunks)));
+    }
+
+    private Flux<ChunkData> withCodeBlockState(Flux<String> chunks) {
+        AtomicBoolean codeBlockState = new AtomicBoolean(false);
+        return chunks.map(chunk -> ChunkData.from(chunk).updateCodeBlockState(codeBlockState));
+    }
+
     @EventListener
     public void onAiMessageCompleteEvent(AiMessageCompleteEvent event) {
+        // 완료된 AI 메시지도 방 lane에서 순번을 받아 저장한다
+        roomLaneExecutor.execute(event.getRoomId(), () -> saveAiMessage(event));
+    }
+
+    private void saveAiMessage(AiMessageCompleteEvent event) {
         try {
             // 메시지 저장
-            Message savedMessage = messageRepository.save(getMessage(event));
+            Message aiMessage = getMessage(event);
+            long seq = roomSequenceAllocator.next(event.getRoomId());
+            aiMessage.setSeq(seq);
+            Message savedMessage;
+            try {
+                savedMessage = messageRepository.save(aiMessage);
+            } catch (RuntimeException e) {
+                roomSequenceAllocator.release(event.getRoomId(), seq);
+                throw e;
+            }
             log.info("AI message saved - messageId: {}, savedId: {}, roomId: {}",
                 event.getMessageId(), savedMessage.getId(), event.getRoomId());
 
@@ -17,6 +17,7 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
     private final StreamingSession session;
     private final ApplicationEventPublisher eventPublisher;
     private Subscription subscription;
+    private long chunkSeq;
 
     @Override
     public void onSubscribe(Subscription subscription) {
@@ -26,7 +27,9 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
 
     @Override
     public void onNext(ChunkData chunk) {
+        int offset = session.contentLength();
         session.appendContent(chunk.currentChunk());
+        chunkSeq++;
         
         String messageId = session.getMessageId();
         String roomId = session.getRoomId();
@@ -37,7 +40,8 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
 
         eventPublisher.publishEvent(new AiMessageChunkEvent(
             this, roomId, messageId,
-            session.getContent(), chunk.codeBlock()
+            session::getContent, chunk.currentChunk(), offset, chunkSeq,
+            chunk.codeBlock()
         ));
     }
 
@@ -0,0 +1,159 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.config.properties.AiProperties;
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * LLM 토큰 스트림을 시간/크기 기준으로 합친다.
+ * 대기 중인 첫 토큰 이후 window가 지나거나 maxChars 이상 쌓이면 한 번에 내보내므로
+ * 토큰마다 발생하던 이벤트/브로드캐스트가 window당 한 번으로 줄어든다.
+ *
+ * 측정값
+ * - ai.stream.chunks{stage=raw|coalesced}: 합치기 전/후 청크 수 (비율이 브로드캐스트 감소율)
+ * - ai.stream.coalesce.delay: 첫 토큰이 버퍼에 들어온 뒤 내보내기까지 더해진 지연
+ */
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ChunkCoalescer {
+
+    private final AiProperties aiProperties;
+    private final MeterRegistry meterRegistry;
+
+    public Flux<String> coalesce(Flux<String> tokens, AiType aiType) {
+        AiProperties.Coalesce settings = aiProperties.getStream().coalesceFor(aiType);
+        Duration window = settings.getWindow();
+        if (window == null || window.isZero() || window.isNegative()) {
+            return tokens;
+        }
+
+        String tag = aiType.name();
+        Counter rawCounter = chunkCounter(tag, "raw");
+        Counter coalescedCounter = chunkCounter(tag, "coalesced");
+        Timer delayTimer = Timer.builder("ai.stream.coalesce.delay")
+                .description("Latency added by AI chunk coalescing")
+                .tag("aiType", tag)
+                .register(meterRegistry);
+
+        return Flux.create(sink -> {
+            Buffer buffer = new Buffer(sink, window, settings.getMaxChars(),
+                    rawCounter, coalescedCounter, delayTimer);
+            Disposable upstream = tokens.subscribe(buffer::add, buffer::error, buffer::complete);
+            sink.onDispose(() -> {
+                upstream.dispose();
+                buffer.cancelTimer();
+            });
+        });
+    }
+
+    private Counter chunkCounter(String aiType, String stage) {
+        return Counter.builder("ai.stream.chunks")
+                .description("AI stream chunks before and after coalescing")
+                .tag("aiType", aiType)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 구독 하나의 대기 버퍼. 토큰 수신 스레드와 타이머 스레드가 함께 접근하므로 this로 동기화하며,
+     * 그 덕분에 downstream 신호도 직렬화된다.
+     */
+    private static final class Buffer {
+        private final FluxSink<String> sink;
+        private final Duration window;
+        private final int maxChars;
+        private final Counter rawCounter;
+        private final Counter coalescedCounter;
+        private final Timer delayTimer;
+
+        private final StringBuilder pending = new StringBuilder();
+        private long pendingSince;
+        private Disposable timer;
+        private boolean done;
+
+        Buffer(FluxSink<String> sink, Duration window, int maxChars,
+               Counter rawCounter, Counter coalescedCounter, Timer delayTimer) {
+            this.sink = sink;
+            this.window = window;
+            this.maxChars = maxChars;
+            this.rawCounter = rawCounter;
+            this.coalescedCounter = coalescedCounter;
+            this.delayTimer = delayTimer;
+        }
+
+        synchronized void add(String token) {
+            if (done) {
+                return;
+            }
+            rawCounter.increment();
+            if (pending.isEmpty()) {
+                pendingSince = System.nanoTime();
+                timer = Schedulers.parallel().schedule(this::flushOnTimer, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            pending.append(token);
+            if (maxChars > 0 && pending.length() >= maxChars) {
+                flush();
+            }
+        }
+
+        synchronized void error(Throwable error) {
+            if (done) {
+                return;
+            }
+            // 이미 받은 내용은 에러보다 먼저 전달한다
+            flush();
+            done = true;
+            sink.error(error);
+        }
+
+        synchronized void complete() {
+            if (done) {
+                return;
+            }
+            flush();
+            done = true;
+            sink.complete();
+        }
+
+        synchronized void cancelTimer() {
+            done = true;
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+        }
+
+        private synchronized void flushOnTimer() {
+            if (!done) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            String merged = pending.toString();
+            pending.setLength(0);
+            delayTimer.record(System.nanoTime() - pendingSince, TimeUnit.NANOSECONDS);
+            coalescedCounter.increment();
+            sink.next(merged);
+        }
+    }
+}
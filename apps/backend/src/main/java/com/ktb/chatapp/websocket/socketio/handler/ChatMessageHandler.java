@@ -1,7 +1,6 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.ChatMessageRequest;
 import com.ktb.chatapp.dto.FileResponse;
@@ -10,15 +9,17 @@ import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
 import com.ktb.chatapp.model.*;
 import com.ktb.chatapp.repository.FileRepository;
-import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.util.BannedWordChecker;
+import com.ktb.chatapp.websocket.socketio.SocketIOBroadcaster;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
 import com.ktb.chatapp.service.SessionService;
 import com.ktb.chatapp.service.SessionValidationResult;
 import com.ktb.chatapp.service.RateLimitService;
 import com.ktb.chatapp.service.RateLimitCheckResult;
+import com.ktb.chatapp.service.cache.ChatEntityCache;
+import com.ktb.chatapp.service.message.MessageWriter;
+import com.ktb.chatapp.service.message.RoomSequenceAllocator;
+import com.ktb.chatapp.websocket.socketio.RoomLaneExecutor;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -38,16 +39,18 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 public class ChatMessageHandler {
-    private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
-    private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final SocketIOBroadcaster socketIOBroadcaster;
+    private final MessageWriter messageWriter;
+    private final ChatEntityCache chatEntityCache;
     private final FileRepository fileRepository;
     private final AiService aiService;
     private final SessionService sessionService;
     private final BannedWordChecker bannedWordChecker;
     private final RateLimitService rateLimitService;
+    private final RecentMessageBuffer recentMessageBuffer;
     private final MeterRegistry meterRegistry;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final RoomSequenceAllocator roomSequenceAllocator;
     
     @OnEvent(CHAT_MESSAGE)
     public void handleChatMessage(SocketIOClient client, ChatMessageRequest data) {
@@ -108,7 +111,7 @@ public class ChatMessageHandler {
         }
         
         try {
-            User sender = userRepository.findById(socketUser.id()).orElse(null);
+            User sender = chatEntityCache.findUser(socketUser.id()).orElse(null);
             if (sender == null) {
                 recordError("user_not_found");
                 client.sendEvent(ERROR, Map.of(
@@ -120,8 +123,8 @@ public class ChatMessageHandler {
             }
 
             String roomId = data.getRoom();
-            Room room = roomRepository.findById(roomId).orElse(null);
-            if (room == null || !room.getParticipantIds().contains(socketUser.id())) {
+            Room room = chatEntityCache.findRoomForParticipant(roomId, socketUser.id()).orElse(null);
+            if (room == null) {
                 recordError("room_access_denied");
                 client.sendEvent(ERROR, Map.of(
                     "code", "MESSAGE_ERROR",
@@ -147,8 +150,11 @@ public class ChatMessageHandler {
             }
 
             String messageType = data.getMessageType();
+            File file = "file".equals(messageType)
+                    ? resolveFile(socketUser.id(), data.getFileData())
+                    : null;
             Message message = switch (messageType) {
-                case "file" -> handleFileMessage(roomId, socketUser.id(), messageContent, data.getFileData());
+                case "file" -> handleFileMessage(roomId, socketUser.id(), messageContent, file);
                 case "text" -> handleTextMessage(roomId, socketUser.id(), messageContent);
                 default -> throw new IllegalArgumentException("Unsupported message type: " + messageType);
             };
@@ -159,35 +165,70 @@ public class ChatMessageHandler {
                 return;
             }
 
-            Message savedMessage = messageRepository.save(message);
+            // 같은 방의 변경은 방 lane에서 순서대로 저장/브로드캐스트하고, AI 멘션/세션 갱신은 lane 밖에서 이어 한다
+            String userId = socketUser.id();
+            roomLaneExecutor.execute(roomId,
+                    () -> persistAndBroadcast(client, message, messageType, sender, file, timerSample),
+                    saved -> {
+                        aiService.handleAIMentions(roomId, userId, messageContent);
+                        sessionService.updateLastActivity(userId);
+                    });
 
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, createMessageResponse(savedMessage, sender));
+        } catch (Exception e) {
+            handleMessageError(client, e, timerSample);
+        }
+    }
 
-            // AI 멘션 처리
-            aiService.handleAIMentions(roomId, socketUser.id(), messageContent);
+    /**
+     * 방 lane에서 실행된다. 순번/시각 발급부터 브로드캐스트까지 같은 방의 다른 변경과 섞이지 않는다.
+     * 저장에 실패하면 받은 순번을 되돌려 빈틈을 남기지 않는다.
+     *
+     * @return 저장된 메시지, 실패하면 null
+     */
+    Message persistAndBroadcast(SocketIOClient client, Message message, String messageType,
+                                User sender, File file, Timer.Sample timerSample) {
+        String roomId = message.getRoomId();
+        try {
+            long seq = roomSequenceAllocator.next(roomId);
+            message.setSeq(seq);
+            message.setTimestamp(LocalDateTime.now());
+            Message savedMessage;
+            try {
+                savedMessage = messageWriter.write(message);
+            } catch (RuntimeException e) {
+                roomSequenceAllocator.release(roomId, seq);
+                throw e;
+            }
 
-            sessionService.updateLastActivity(socketUser.id());
+            MessageResponse response = createMessageResponse(savedMessage, sender, file);
+            socketIOBroadcaster.sendToRoom(roomId, MESSAGE, response);
+            recentMessageBuffer.append(response);
 
             // Record success metrics
             recordMessageSuccess(messageType);
             timerSample.stop(createTimer("success", messageType));
 
-            log.debug("Message processed - messageId: {}, type: {}, room: {}",
-                savedMessage.getId(), savedMessage.getType(), roomId);
+            log.debug("Message processed - messageId: {}, seq: {}, type: {}, room: {}",
+                savedMessage.getId(), savedMessage.getSeq(), savedMessage.getType(), roomId);
+            return savedMessage;
 
         } catch (Exception e) {
-            recordError("exception");
-            log.error("Message handling error", e);
-            client.sendEvent(ERROR, Map.of(
-                "code", "MESSAGE_ERROR",
-                "message", e.getMessage() != null ? e.getMessage() : "메시지 전송 중 오류가 발생했습니다."
-            ));
-            timerSample.stop(createTimer("error", "exception"));
+            handleMessageError(client, e, timerSample);
+            return null;
         }
     }
 
-    private Message handleFileMessage(String roomId, String userId, MessageContent messageContent, Map<String, Object> fileData) {
+    private void handleMessageError(SocketIOClient client, Exception e, Timer.Sample timerSample) {
+        recordError("exception");
+        log.error("Message handling error", e);
+        client.sendEvent(ERROR, Map.of(
+            "code", "MESSAGE_ERROR",
+            "message", e.getMessage() != null ? e.getMessage() : "메시지 전송 중 오류가 발생했습니다."
+        ));
+        timerSample.stop(createTimer("error", "exception"));
+    }
+
+    private File resolveFile(String userId, Map<String, Object> fileData) {
         if (fileData == null || fileData.get("_id") == null) {
             throw new IllegalArgumentException("파일 데이터가 올바르지 않습니다.");
         }
@@ -199,11 +240,15 @@ public class ChatMessageHandler {
             throw new IllegalStateException("파일을 찾을 수 없거나 접근 권한이 없습니다.");
         }
 
+        return file;
+    }
+
+    private Message handleFileMessage(String roomId, String userId, MessageContent messageContent, File file) {
         Message message = new Message();
         message.setRoomId(roomId);
         message.setSenderId(userId);
         message.setType(MessageType.file);
-        message.setFileId(fileId);
+        message.setFileId(file.getId());
         message.setContent(messageContent.getTrimmedContent());
         message.setTimestamp(LocalDateTime.now());
         message.setMentions(messageContent.aiMentions());
@@ -234,20 +279,20 @@ public class ChatMessageHandler {
         return message;
     }
 
-    private MessageResponse createMessageResponse(Message message, User sender) {
+    private MessageResponse createMessageResponse(Message message, User sender, File file) {
         var messageResponse = new MessageResponse();
         messageResponse.setId(message.getId());
         messageResponse.setRoomId(message.getRoomId());
         messageResponse.setContent(message.getContent());
         messageResponse.setType(message.getType());
         messageResponse.setTimestamp(message.toTimestampMillis());
+        messageResponse.setSeq(message.getSeq());
         messageResponse.setReactions(message.getReactions() != null ? message.getReactions() : Collections.emptyMap());
         messageResponse.setSender(UserResponse.from(sender));
         messageResponse.setMetadata(message.getMetadata());
 
-        if (message.getFileId() != null) {
-            fileRepository.findById(message.getFileId())
-                    .ifPresent(file -> messageResponse.setFile(FileResponse.from(file)));
+        if (file != null) {
+            messageResponse.setFile(FileResponse.from(file));
         }
 
         return messageResponse;
@@ -1,17 +1,16 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnDisconnect;
 import com.ktb.chatapp.websocket.socketio.ConnectedUsers;
+import com.ktb.chatapp.websocket.socketio.DuplicateLoginNotifier;
+import com.ktb.chatapp.websocket.socketio.SocketIOEventDispatcher;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
-import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
@@ -28,24 +27,27 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
 public class ConnectionLoginHandler {
 
-    private final SocketIOServer socketIOServer;
+    private final DuplicateLoginNotifier duplicateLoginNotifier;
     private final ConnectedUsers connectedUsers;
     private final UserRooms userRooms;
     private final RoomJoinHandler roomJoinHandler;
     private final RoomLeaveHandler roomLeaveHandler;
+    private final SocketIOEventDispatcher eventDispatcher;
 
     public ConnectionLoginHandler(
-            SocketIOServer socketIOServer,
+            DuplicateLoginNotifier duplicateLoginNotifier,
             ConnectedUsers connectedUsers,
             UserRooms userRooms,
             RoomJoinHandler roomJoinHandler,
             RoomLeaveHandler roomLeaveHandler,
+            SocketIOEventDispatcher eventDispatcher,
             MeterRegistry meterRegistry) {
-        this.socketIOServer = socketIOServer;
+        this.duplicateLoginNotifier = duplicateLoginNotifier;
         this.connectedUsers = connectedUsers;
         this.userRooms = userRooms;
         this.roomJoinHandler = roomJoinHandler;
         this.roomLeaveHandler = roomLeaveHandler;
+        this.eventDispatcher = eventDispatcher;
 
         // Register gauge metric for concurrent users
         Gauge.builder("socketio.concurrent.users", connectedUsers::size)
@@ -83,24 +85,32 @@ public class ConnectionLoginHandler {
         }
     }
     
+    /**
+     * 워커 스레드에서 실행된다. netty-socketio가 곧 클라이언트 저장소를 지우므로 사용자만 읽어 두고,
+     * Mongo를 거치는 정리는 이 클라이언트의 대기 중인 이벤트가 모두 끝난 뒤에 실행한다.
+     */
     @OnDisconnect
     public void onDisconnect(SocketIOClient client) {
-        String userId = getUserId(client);
-        String userName = getUserName(client);
+        SocketUser socketUser = getUserDto(client);
+        if (socketUser == null) {
+            return;
+        }
+        eventDispatcher.dispatchAfterPending(client, "disconnect", () -> cleanupDisconnected(client, socketUser));
+    }
+
+    private void cleanupDisconnected(SocketIOClient client, SocketUser socketUser) {
+        String userId = socketUser.id();
+        String userName = socketUser.name();
         
         try {
-            if (userId == null) {
-                return;
-            }
-            
             userRooms.get(userId).forEach(roomId -> {
-                roomLeaveHandler.handleLeaveRoom(client, roomId);
+                roomLeaveHandler.leaveRoom(client, socketUser, roomId);
             });
             String socketId = client.getSessionId().toString();
             
             // 해당 사용자의 현재 활성 연결인 경우에만 정리
-            var socketUser = connectedUsers.get(userId);
-            if (socketUser != null && socketId.equals(socketUser.socketId())) {
+            var activeUser = connectedUsers.get(userId);
+            if (activeUser != null && socketId.equals(activeUser.socketId())) {
                 connectedUsers.del(userId);
             } else {
                 log.warn("Socket.IO disconnect: User {} has a different active connection. Skipping cleanup.", userId);
@@ -125,50 +135,19 @@ public class ConnectionLoginHandler {
         return client.get("user");
     }
     
-    private String getUserId(SocketIOClient client) {
-        SocketUser user = getUserDto(client);
-        return user != null ? user.id() : null;
-    }
-    
     private String getUserName(SocketIOClient client) {
         SocketUser user = getUserDto(client);
         return user != null ? user.name() : null;
     }
     
     /**
-     * TODO 멀티 클러스터에서 동작 안함 다중 노드의 경우 다른  노드에 접속된 사용자는 통보 불가함
-     * socketIOServer.getRoomOperations("user:" + userId) 로 처리 변경.
+     * 다른 연결이 남아 있으면 그 연결이 있는 노드를 통해 중복 로그인을 알린다.
      */
     private void notifyDuplicateLogin(SocketIOClient client, String userId) {
         var socketUser = connectedUsers.get(userId);
-        if (socketUser == null) {
+        if (socketUser == null || client.getSessionId().toString().equals(socketUser.socketId())) {
             return;
         }
-        String existingSocketId = socketUser.socketId();
-        SocketIOClient existingClient = socketIOServer.getClient(UUID.fromString(existingSocketId));
-        if (existingClient == null) {
-            return;
-        }
-        
-        // Send duplicate login notification
-        existingClient.sendEvent(DUPLICATE_LOGIN, Map.of(
-                "type", "new_login_attempt",
-                "deviceInfo", client.getHandshakeData().getHttpHeaders().get("User-Agent"),
-                "ipAddress", client.getRemoteAddress().toString(),
-                "timestamp", System.currentTimeMillis()
-        ));
-        
-        new Thread(() -> {
-            try {
-                Thread.sleep(Duration.ofSeconds(10));
-                existingClient.sendEvent(SESSION_ENDED, Map.of(
-                        "reason", "duplicate_login",
-                        "message", "다른 기기에서 로그인하여 현재 세션이 종료되었습니다."
-                ));
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.error("Error in duplicate login notification thread", e);
-            }
-        }).start();
+        duplicateLoginNotifier.notifyPrevious(socketUser, client);
     }
 }
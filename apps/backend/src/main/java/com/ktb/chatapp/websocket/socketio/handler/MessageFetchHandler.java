@@ -4,6 +4,7 @@ import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.exception.InvalidCursorException;
 import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
@@ -65,6 +66,12 @@ public class MessageFetchHandler {
             
             client.sendEvent(PREVIOUS_MESSAGES_LOADED, result);
 
+        } catch (InvalidCursorException e) {
+            log.debug("Invalid cursor for fetchPreviousMessages - room: {}, userId: {}", data.roomId(), userId);
+            client.sendEvent(ERROR, Map.of(
+                    "code", "INVALID_CURSOR",
+                    "message", "잘못된 커서입니다."
+            ));
         } catch (Exception e) {
             log.error("Error handling fetchPreviousMessages", e);
             client.sendEvent(ERROR, Map.of(
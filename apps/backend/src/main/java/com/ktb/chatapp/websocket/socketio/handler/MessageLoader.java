@@ -2,99 +2,162 @@ package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
 import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.ReadWatermarkResponse;
+import com.ktb.chatapp.exception.InvalidCursorException;
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.model.RoomReadWatermark;
 import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
-import jakarta.annotation.Nullable;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
-import static java.util.Collections.emptyList;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class MessageLoader {
 
     private final MessageRepository messageRepository;
-    private final UserRepository userRepository;
     private final MessageResponseMapper messageResponseMapper;
     private final MessageReadStatusService messageReadStatusService;
+    private final RecentMessageBuffer recentMessageBuffer;
 
     private static final int BATCH_SIZE = 30;
+    private static final Sort HISTORY_SORT = Sort.by(Sort.Direction.DESC, "timestamp", "id");
 
     /**
-     * 메시지 로드
+     * 메시지를 로드하고 요청자가 읽은 것으로 처리한다. (Socket.IO 경로)
+     *
+     * @see #loadMessages(FetchMessagesRequest, String, boolean)
      */
     public FetchMessagesResponse loadMessages(FetchMessagesRequest data, String userId) {
-        try {
-            return loadMessagesInternal(data.roomId(), data.limit(BATCH_SIZE), data.before(LocalDateTime.now()), userId);
-        } catch (Exception e) {
-            log.error("Error loading initial messages for room {}", data.roomId(), e);
-            return FetchMessagesResponse.builder()
-                    .messages(emptyList())
-                    .hasMore(false)
-                    .build();
+        return loadMessages(data, userId, true);
+    }
+
+    /**
+     * 메시지 로드
+     * 요청한 페이지가 최근 메시지 버퍼 안에 있으면 버퍼에서, 아니면 MongoDB에서 읽는다.
+     * 저장소 오류는 빈 페이지로 바꾸지 않고 그대로 던진다.
+     *
+     * @param markAsRead false면 읽음 처리 없이 조회만 한다 (REST 히스토리 조회)
+     * @throws InvalidCursorException 커서를 해석할 수 없을 때 (빈 페이지로 바꾸지 않는다)
+     */
+    public FetchMessagesResponse loadMessages(FetchMessagesRequest data, String userId, boolean markAsRead) {
+        MessageCursor cursor = data.hasCursor() ? MessageCursor.decode(data.cursor()) : null;
+        String roomId = data.roomId();
+        int limit = data.limit(BATCH_SIZE);
+        Long before = data.before() != null && data.before() > 0 ? data.before() : null;
+
+        Optional<RecentMessageBuffer.BufferedPage> buffered = cursor != null
+                ? recentMessageBuffer.findPage(roomId, cursor.timestamp(), cursor.messageId(), limit)
+                : recentMessageBuffer.findPage(roomId, before, null, limit);
+
+        // 이 시점 이후의 변경은 버퍼 topic으로 받으므로 여기서 읽은 페이지로 seed할 수 있다
+        long readStartedNanos = System.nanoTime();
+        FetchMessagesResponse response;
+        if (buffered.isPresent()) {
+            response = loadFromBuffer(roomId, buffered.get(), userId, markAsRead);
+        } else {
+            Pageable pageable = PageRequest.of(0, limit, HISTORY_SORT);
+            Slice<Message> messageSlice = cursor != null
+                    ? messageRepository.findByRoomIdBeforeCursor(
+                            roomId, cursor.timestampAsLocalDateTime(), cursor.messageObjectId(), pageable)
+                    : messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
+                            roomId, false, data.before(LocalDateTime.now()), pageable);
+            response = loadMessagesInternal(roomId, messageSlice, userId, markAsRead);
+
+            // 최신 페이지는 버퍼를 채우는 데 사용
+            if (cursor == null && before == null) {
+                recentMessageBuffer.seed(roomId, response.getMessages(), response.isHasMore(), readStartedNanos);
+            }
+        }
+
+        if (markAsRead) {
+            recentMessageBuffer.markRead(roomId,
+                    response.getMessages().stream().map(MessageResponse::getId).toList(), userId);
         }
+        return response;
     }
 
     private FetchMessagesResponse loadMessagesInternal(
             String roomId,
-            int limit,
-            LocalDateTime before,
-            String userId) {
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("timestamp").descending());
-
-        Page<Message> messagePage = messageRepository
-                .findByRoomIdAndIsDeletedAndTimestampBefore(roomId, false, before, pageable);
-
-        List<Message> messages = messagePage.getContent();
+            Slice<Message> messageSlice,
+            String userId,
+            boolean markAsRead) {
+        List<Message> messages = messageSlice.getContent();
 
         // DESC로 조회했으므로 ASC로 재정렬 (채팅 UI 표시 순서)
         List<Message> sortedMessages = messages.reversed();
         
-        var messageIds = sortedMessages.stream().map(Message::getId).toList();
-        messageReadStatusService.updateReadStatus(messageIds, userId);
+        LocalDateTime readUpTo = null;
+        if (markAsRead) {
+            var messageIds = sortedMessages.stream().map(Message::getId).toList();
+            messageReadStatusService.updateReadStatus(messageIds, userId);
+            readUpTo = sortedMessages.isEmpty() ? null : sortedMessages.getLast().getTimestamp();
+        }
+
+        // watermark 모드: readers를 저장하지 않으므로 워터마크로 계산 (요청자의 이번 읽음 포함)
+        List<RoomReadWatermark> watermarks = messageReadStatusService.findWatermarks(roomId, userId, readUpTo);
+        messageReadStatusService.applyWatermarks(sortedMessages, watermarks);
         
-        // 메시지 응답 생성
-        List<MessageResponse> messageResponses = sortedMessages.stream()
-                .map(message -> {
-                    var user = findUserById(message.getSenderId());
-                    return messageResponseMapper.mapToMessageResponse(message, user);
-                })
-                .collect(Collectors.toList());
+        // 메시지 응답 생성 (발신자/파일은 페이지 단위로 한 번에 조회)
+        List<MessageResponse> messageResponses =
+                messageResponseMapper.mapToMessageResponses(sortedMessages);
 
-        boolean hasMore = messagePage.hasNext();
+        boolean hasMore = messageSlice.hasNext();
 
         log.debug("Messages loaded - roomId: {}, limit: {}, count: {}, hasMore: {}",
-                roomId, limit, messageResponses.size(), hasMore);
+                roomId, messageSlice.getSize(), messageResponses.size(), hasMore);
+
+        return buildResponse(messageResponses, hasMore, watermarks);
+    }
+
+    private FetchMessagesResponse loadFromBuffer(
+            String roomId,
+            RecentMessageBuffer.BufferedPage page,
+            String userId,
+            boolean markAsRead) {
+        List<MessageResponse> messageResponses = page.messages();
+
+        LocalDateTime readUpTo = null;
+        if (markAsRead) {
+            var messageIds = messageResponses.stream().map(MessageResponse::getId).toList();
+            messageReadStatusService.updateReadStatus(messageIds, userId);
+            readUpTo = messageResponses.isEmpty() ? null : LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(messageResponses.getLast().getTimestamp()), ZoneId.systemDefault());
+        }
+        List<RoomReadWatermark> watermarks = messageReadStatusService.findWatermarks(roomId, userId, readUpTo);
+        messageReadStatusService.applyWatermarksToResponses(messageResponses, watermarks);
+
+        log.debug("Messages loaded from recent buffer - roomId: {}, count: {}, hasMore: {}",
+                roomId, messageResponses.size(), page.hasMore());
 
+        return buildResponse(messageResponses, page.hasMore(), watermarks);
+    }
+
+    private FetchMessagesResponse buildResponse(
+            List<MessageResponse> messageResponses,
+            boolean hasMore,
+            List<RoomReadWatermark> watermarks) {
         return FetchMessagesResponse.builder()
                 .messages(messageResponses)
                 .hasMore(hasMore)
+                .nextCursor(hasMore ? MessageCursor.of(messageResponses.getFirst()).encode() : null)
+                .readWatermarks(watermarks.isEmpty() ? null : watermarks.stream()
+                        .filter(watermark -> watermark.getLastReadAt() != null)
+                        .map(ReadWatermarkResponse::from)
+                        .toList())
                 .build();
     }
-
-    /**
-     * AI 경우 null 반환 가능
-     */
-    @Nullable
-    private User findUserById(String id) {
-        if (id == null) {
-            return null;
-        }
-        return userRepository.findById(id)
-                .orElse(null);
-    }
 }
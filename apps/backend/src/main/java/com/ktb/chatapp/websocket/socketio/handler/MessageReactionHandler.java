@@ -1,17 +1,24 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MessageReactionRequest;
 import com.ktb.chatapp.dto.MessageReactionResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.websocket.socketio.RoomLaneExecutor;
+import com.ktb.chatapp.websocket.socketio.SocketIOBroadcaster;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
@@ -26,8 +33,14 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class MessageReactionHandler {
     
-    private final SocketIOServer socketIOServer;
+    // 리액션 키는 Mongo 필드 경로(reactions.<reaction>)가 되므로 길이와 문자를 제한한다
+    private static final int MAX_REACTION_LENGTH = 32;
+    
+    private final SocketIOBroadcaster socketIOBroadcaster;
     private final MessageRepository messageRepository;
+    private final MongoTemplate mongoTemplate;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final RoomLaneExecutor roomLaneExecutor;
     
     @OnEvent(MESSAGE_REACTION)
     public void handleMessageReaction(SocketIOClient client, MessageReactionRequest data) {
@@ -38,41 +51,85 @@ public class MessageReactionHandler {
                 return;
             }
 
+            if (!"add".equals(data.getType()) && !"remove".equals(data.getType())) {
+                client.sendEvent(ERROR, Map.of("message", "지원하지 않는 리액션 타입입니다."));
+                return;
+            }
+
+            if (!isValidReaction(data.getReaction())) {
+                client.sendEvent(ERROR, Map.of("message", "지원하지 않는 리액션입니다."));
+                return;
+            }
+
             Message message = messageRepository.findById(data.getMessageId()).orElse(null);
             if (message == null) {
                 client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
                 return;
             }
 
-            switch (data.getType()) {
-                case "add" -> message.addReaction(data.getReaction(), userId);
-                case "remove" -> message.removeReaction(data.getReaction(), userId);
-                case null, default -> {
-                    client.sendEvent(ERROR, Map.of("message", "지원하지 않는 리액션 타입입니다."));
-                    return;
-                }
+            // 처음 읽은 메시지로 방을 정하고, 변경은 방 lane에서 원자적 갱신 한 번으로 끝낸다
+            roomLaneExecutor.execute(message.getRoomId(), () -> applyReaction(client, userId, message, data));
+
+        } catch (Exception e) {
+            handleReactionError(client, e);
+        }
+    }
+
+    private void applyReaction(SocketIOClient client, String userId, Message message, MessageReactionRequest data) {
+        try {
+            String reaction = data.getReaction();
+            String field = "reactions." + reaction;
+            Query query = new Query(Criteria.where("_id").is(message.getId()));
+            Update update = "add".equals(data.getType())
+                    ? new Update().addToSet(field, userId)
+                    : new Update().pull(field, userId);
+            Message updated = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().returnNew(true), Message.class);
+            if (updated == null) {
+                client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
+                return;
+            }
+
+            Map<String, Set<String>> reactions = updated.getReactions();
+            if (reactions != null && reactions.containsKey(reaction) && reactions.get(reaction).isEmpty()) {
+                // 마지막 사용자가 빠진 리액션은 키째 지운다 (그 사이 다시 추가됐으면 건드리지 않는다)
+                reactions.remove(reaction);
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(message.getId()).and(field).size(0)),
+                        new Update().unset(field), Message.class);
             }
 
             log.debug("Message reaction processed - type: {}, reaction: {}, messageId: {}, userId: {}",
-                data.getType(), data.getReaction(), message.getId(), userId);
+                data.getType(), reaction, updated.getId(), userId);
 
-            messageRepository.save(message);
+            MessageReactionResponse response = new MessageReactionResponse(updated.getId(), reactions);
 
-            MessageReactionResponse response = new MessageReactionResponse(
-                message.getId(),
-                message.getReactions()
-            );
-
-            socketIOServer.getRoomOperations(message.getRoomId())
-                .sendEvent(MESSAGE_REACTION_UPDATE, response);
+            socketIOBroadcaster.sendToRoom(updated.getRoomId(), MESSAGE_REACTION_UPDATE, response);
+            recentMessageBuffer.updateReactions(updated.getRoomId(), updated.getId(), reactions);
 
         } catch (Exception e) {
-            log.error("Error handling messageReaction", e);
-            client.sendEvent(ERROR, Map.of(
-                "message", "리액션 처리 중 오류가 발생했습니다."
-            ));
+            handleReactionError(client, e);
         }
     }
+
+    /**
+     * Socket.IO 이벤트에는 @NotBlank가 적용되지 않으므로 직접 검사한다.
+     * '.'은 중첩 경로를, '$'는 연산자를 만들기 때문에 허용하지 않는다.
+     */
+    static boolean isValidReaction(String reaction) {
+        return reaction != null
+                && !reaction.isBlank()
+                && reaction.length() <= MAX_REACTION_LENGTH
+                && reaction.indexOf('.') < 0
+                && reaction.indexOf('$') < 0;
+    }
+
+    private void handleReactionError(SocketIOClient client, Exception e) {
+        log.error("Error handling messageReaction", e);
+        client.sendEvent(ERROR, Map.of(
+            "message", "리액션 처리 중 오류가 발생했습니다."
+        ));
+    }
     
     private String getUserId(SocketIOClient client) {
         var user = (SocketUser) client.get("user");
@@ -3,12 +3,19 @@ package com.ktb.chatapp.websocket.socketio.handler;
 import com.ktb.chatapp.dto.FileResponse;
 import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.File;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
+import com.ktb.chatapp.repository.UserRepository;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -23,20 +30,91 @@ import org.springframework.stereotype.Component;
 public class MessageResponseMapper {
 
     private final FileRepository fileRepository;
+    private final UserRepository userRepository;
 
     /**
      * Message 엔티티를 MessageResponse DTO로 변환
+     * 첨부 파일이 있으면 파일 정보를 조회한다.
      *
      * @param message 변환할 메시지 엔티티
      * @param sender 메시지 발신자 정보 (null 가능)
      * @return MessageResponse DTO
      */
     public MessageResponse mapToMessageResponse(Message message, User sender) {
+        File file = message.getFileId() != null
+                ? fileRepository.findById(message.getFileId()).orElse(null)
+                : null;
+        return mapToMessageResponse(message, sender, file);
+    }
+
+    /**
+     * 메시지 목록을 MessageResponse DTO 목록으로 변환
+     * 발신자와 첨부 파일은 목록 전체에 대해 각각 findAllById 한 번으로 조회한다.
+     *
+     * @param messages 변환할 메시지 목록
+     * @return 입력 순서를 유지한 MessageResponse 목록
+     */
+    public List<MessageResponse> mapToMessageResponses(List<Message> messages) {
+        return mapToMessageResponses(messages, findSenders(messages));
+    }
+
+    /**
+     * 메시지 목록을 MessageResponse DTO 목록으로 변환
+     * 첨부 파일은 목록 전체에 대해 findAllById 한 번으로 조회한다.
+     *
+     * @param messages 변환할 메시지 목록
+     * @param senders 발신자 ID별 사용자 정보 (AI/시스템 메시지는 없음)
+     * @return 입력 순서를 유지한 MessageResponse 목록
+     */
+    public List<MessageResponse> mapToMessageResponses(List<Message> messages, Map<String, User> senders) {
+        Set<String> fileIds = messages.stream()
+                .map(Message::getFileId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, File> files = fileIds.isEmpty()
+                ? Map.of()
+                : fileRepository.findAllById(fileIds).stream()
+                        .collect(Collectors.toMap(File::getId, Function.identity()));
+
+        return messages.stream()
+                .map(message -> mapToMessageResponse(
+                        message,
+                        message.getSenderId() != null ? senders.get(message.getSenderId()) : null,
+                        message.getFileId() != null ? files.get(message.getFileId()) : null))
+                .toList();
+    }
+
+    /**
+     * 목록에 포함된 발신자를 한 번에 조회한다. AI/시스템 메시지는 발신자가 없다.
+     */
+    private Map<String, User> findSenders(List<Message> messages) {
+        Set<String> senderIds = messages.stream()
+                .map(Message::getSenderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (senderIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllById(senderIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * Message 엔티티를 MessageResponse DTO로 변환
+     *
+     * @param message 변환할 메시지 엔티티
+     * @param sender 메시지 발신자 정보 (null 가능)
+     * @param file 첨부 파일 정보 (null 가능)
+     * @return MessageResponse DTO
+     */
+    public MessageResponse mapToMessageResponse(Message message, User sender, File file) {
         MessageResponse.MessageResponseBuilder builder = MessageResponse.builder()
                 .id(message.getId())
                 .content(message.getContent())
                 .type(message.getType())
                 .timestamp(message.toTimestampMillis())
+                .seq(message.getSeq())
                 .roomId(message.getRoomId())
                 .reactions(message.getReactions() != null ?
                         message.getReactions() : new HashMap<>())
@@ -54,16 +132,15 @@ public class MessageResponseMapper {
         }
 
         // 파일 정보 설정
-        Optional.ofNullable(message.getFileId())
-                .flatMap(fileRepository::findById)
-                .map(file -> FileResponse.builder()
-                        .id(file.getId())
-                        .filename(file.getFilename())
-                        .originalname(file.getOriginalname())
-                        .mimetype(file.getMimetype())
-                        .size(file.getSize())
-                        .build())
-                .ifPresent(builder::file);
+        if (file != null) {
+            builder.file(FileResponse.builder()
+                    .id(file.getId())
+                    .filename(file.getFilename())
+                    .originalname(file.getOriginalname())
+                    .mimetype(file.getMimetype())
+                    .size(file.getSize())
+                    .build());
+        }
 
         // 메타데이터 설정
         if (message.getMetadata() != null) {
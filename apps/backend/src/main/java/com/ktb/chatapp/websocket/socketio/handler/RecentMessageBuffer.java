@@ -0,0 +1,712 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.event.AiMessageSavedEvent;
+import com.ktb.chatapp.event.UserUpdatedEvent;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼
+ * 이 노드가 브로드캐스트한 MessageResponse를 방마다 최대 room-capacity개까지 보관하고,
+ * 요청한 페이지가 버퍼 안에 완전히 들어오면 MongoDB 대신 버퍼에서 응답한다.
+ *
+ * 버퍼는 가장 오래된 항목부터 현재까지 빠짐없이 이어져 있어야 한다. 이를 위해
+ * - 다른 노드의 추가/읽음/리액션 변경은 방 ID로 나눈 Redis topic shard로 전달받아 반영하고,
+ *   이 노드에 버퍼가 있는 방의 shard만 구독한다,
+ * - 새 방 버퍼는 해당 shard 구독이 확인된 뒤에 읽은 데이터로만 만들고,
+ * - shard 재구독 시(연결이 끊겼던 동안 유실 가능) 그 shard의 방 버퍼를 비우며,
+ * - 가장 오래된 항목보다 이전 시각의 메시지는 넣지 않는다.
+ * 방마다 따로 잠그므로 다른 방의 변경끼리는 기다리지 않는다.
+ * 추정 메모리 사용량이 memory-budget을 넘으면 가장 오래 쓰이지 않은 방부터 비운다.
+ */
+@Slf4j
+@Component
+public class RecentMessageBuffer {
+
+    static final String TOPIC = "chatapp:recent-messages";
+
+    private final boolean enabled;
+    private final int roomCapacity;
+    private final long memoryBudgetBytes;
+    private final ObjectProvider<RedissonClient> redissonClientProvider;
+    private final ObjectMapper objectMapper;
+    private final MessageRepository messageRepository;
+    private final MessageResponseMapper messageResponseMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentHashMap<String, RoomBuffer> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    // LRU 근사용 접근 순번
+    private final AtomicLong accessClock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    private final int topicShards;
+    // Redis가 없으면 null (노드 로컬 버퍼로만 동작)
+    private Shard[] shards;
+    // 방과 무관한 변경(발신자 정보 변경) 전달용. 시작할 때부터 구독한다
+    private Shard control;
+
+    public RecentMessageBuffer(
+            ObjectProvider<RedissonClient> redissonClientProvider,
+            ObjectMapper objectMapper,
+            MessageRepository messageRepository,
+            MessageResponseMapper messageResponseMapper,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.message.recent-buffer.enabled:false}") boolean enabled,
+            @Value("${chatapp.message.recent-buffer.room-capacity:100}") int roomCapacity,
+            @Value("${chatapp.message.recent-buffer.memory-budget:64MB}") DataSize memoryBudget,
+            @Value("${chatapp.message.recent-buffer.topic-shards:16}") int topicShards) {
+        this.redissonClientProvider = redissonClientProvider;
+        this.objectMapper = objectMapper;
+        this.messageRepository = messageRepository;
+        this.messageResponseMapper = messageResponseMapper;
+        this.enabled = enabled;
+        this.roomCapacity = roomCapacity;
+        this.memoryBudgetBytes = memoryBudget.toBytes();
+        this.topicShards = topicShards;
+
+        this.hitCounter = Counter.builder("message.recent_buffer.requests")
+                .description("History pages served by the recent message buffer")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("message.recent_buffer.requests")
+                .description("History pages served by the recent message buffer")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("message.recent_buffer.evictions")
+                .description("Rooms evicted to stay within the memory budget")
+                .register(meterRegistry);
+        Gauge.builder("message.recent_buffer.bytes", this, RecentMessageBuffer::estimatedBytes)
+                .description("Estimated memory held by the recent message buffer")
+                .register(meterRegistry);
+        Gauge.builder("message.recent_buffer.rooms", this, RecentMessageBuffer::roomCount)
+                .description("Rooms held by the recent message buffer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RedissonClient redissonClient = redissonClientProvider.getIfAvailable();
+        if (redissonClient == null) {
+            log.info("Recent message buffer enabled without Redis - node-local only");
+            return;
+        }
+        Shard[] created = new Shard[topicShards];
+        for (int i = 0; i < created.length; i++) {
+            created[i] = new Shard(TOPIC + ":" + i, redissonClient);
+        }
+        shards = created;
+        control = new Shard(TOPIC + ":control", redissonClient);
+        control.subscribe();
+        log.info("Recent message buffer enabled - room capacity: {}, memory budget: {} bytes, topic shards: {}",
+                roomCapacity, memoryBudgetBytes, topicShards);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (shards == null) {
+            return;
+        }
+        for (Shard shard : shards) {
+            shard.unsubscribe();
+        }
+        control.unsubscribe();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 새 메시지를 버퍼에 추가하고 다른 노드에 전파한다.
+     * 아직 버퍼가 없는 방은 shard 구독이 확인된 경우에만 새로 만든다.
+     */
+    public void append(MessageResponse response) {
+        if (!enabled || response == null || response.getId() == null || response.getRoomId() == null) {
+            return;
+        }
+        String roomId = response.getRoomId();
+        RoomBuffer room = isLive(roomId)
+                ? rooms.computeIfAbsent(roomId, RoomBuffer::new)
+                : rooms.get(roomId);
+        if (room != null) {
+            applyAppend(room, response);
+        }
+        publish(new BufferEvent(nodeId, EventType.APPEND, roomId, response, null, null, null, null));
+    }
+
+    /**
+     * MongoDB에서 읽은 최신 페이지로 버퍼를 채운다. 노드마다 따로 채우므로 전파하지 않는다.
+     * 읽기를 시작한 시점에 방의 shard를 구독 중이 아니었다면 그 사이 변경을 놓쳤을 수 있으므로 버린다.
+     *
+     * @param latest 현재 시각 기준 최신 페이지 (오름차순)
+     * @param hasMore 페이지보다 오래된 메시지 존재 여부. false면 방의 전체 히스토리가 버퍼에 있다.
+     * @param readStartedNanos 페이지를 읽기 시작한 System.nanoTime()
+     */
+    public void seed(String roomId, List<MessageResponse> latest, boolean hasMore, long readStartedNanos) {
+        if (!enabled || latest.isEmpty() || !isLiveSince(roomId, readStartedNanos)) {
+            return;
+        }
+        RoomBuffer room = rooms.computeIfAbsent(roomId, RoomBuffer::new);
+        synchronized (room) {
+            if (room.evicted) {
+                return;
+            }
+            long before = room.bytes;
+            for (MessageResponse response : latest) {
+                if (response.getId() != null) {
+                    room.insert(response, true);
+                }
+            }
+            room.complete = !hasMore || room.complete;
+            if (room.trim(roomCapacity)) {
+                room.complete = false;
+            }
+            room.touch(accessClock.incrementAndGet());
+            totalBytes.addAndGet(room.bytes - before);
+        }
+        enforceBudget();
+    }
+
+    /**
+     * 읽음 처리를 버퍼의 readers에 반영하고 다른 노드에 전파한다.
+     * 이 노드 버퍼에 이미 읽음으로 있는 메시지는 전파하지 않는다.
+     */
+    public void markRead(String roomId, Collection<String> messageIds, String userId) {
+        if (!enabled || messageIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime readAt = LocalDateTime.now();
+        List<String> ids = List.copyOf(messageIds);
+        RoomBuffer room = rooms.get(roomId);
+        List<String> changed = room != null ? applyRead(room, ids, userId, readAt) : ids;
+        if (!changed.isEmpty()) {
+            publish(new BufferEvent(nodeId, EventType.READ, roomId, null, changed, userId, null, readAt));
+        }
+    }
+
+    /**
+     * 리액션 변경을 버퍼에 반영하고 다른 노드에 전파한다.
+     */
+    public void updateReactions(String roomId, String messageId, Map<String, Set<String>> reactions) {
+        if (!enabled) {
+            return;
+        }
+        RoomBuffer room = rooms.get(roomId);
+        if (room != null) {
+            applyReactions(room, messageId, reactions);
+        }
+        publish(new BufferEvent(nodeId, EventType.REACTION, roomId, null, List.of(messageId), null, reactions, null));
+    }
+
+    /**
+     * 버퍼에서 페이지를 찾는다.
+     * 요청 위치 이전 메시지가 limit보다 많이 버퍼에 있거나, 방 전체 히스토리가 버퍼에 있을 때만 응답한다.
+     * 버퍼가 없으면 이어서 seed할 수 있도록 방의 shard를 구독해 둔다.
+     *
+     * @param beforeTimestamp 이 시각(ms) 이전 메시지만 (null이면 최신부터)
+     * @param beforeMessageId 같은 시각이면 이 ID보다 작은 메시지만 (null이면 시각만 비교)
+     */
+    public Optional<BufferedPage> findPage(String roomId, Long beforeTimestamp, String beforeMessageId, int limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        RoomBuffer room = rooms.get(roomId);
+        if (room == null) {
+            subscribe(roomId);
+            missCounter.increment();
+            return Optional.empty();
+        }
+        synchronized (room) {
+            room.touch(accessClock.incrementAndGet());
+            int end = beforeTimestamp == null
+                    ? room.entries.size()
+                    : room.countBefore(beforeTimestamp, beforeMessageId != null ? beforeMessageId : "");
+
+            int start;
+            boolean hasMore;
+            if (end > limit) {
+                start = end - limit;
+                hasMore = true;
+            } else if (room.complete) {
+                start = 0;
+                hasMore = false;
+            } else {
+                missCounter.increment();
+                return Optional.empty();
+            }
+
+            List<MessageResponse> messages = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                messages.add(room.entries.get(i).response().toBuilder().build());
+            }
+            hitCounter.increment();
+            return Optional.of(new BufferedPage(messages, hasMore));
+        }
+    }
+
+    @EventListener
+    public void onAiMessageSaved(AiMessageSavedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        messageRepository.findById(event.getSavedMessageId())
+                .map(message -> messageResponseMapper.mapToMessageResponse(message, null))
+                .ifPresent(this::append);
+    }
+
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // 발신자 정보가 바뀌었으므로 해당 사용자의 메시지가 있는 방은 다시 채운다
+        applyEvictSender(event.getUserId());
+        if (control != null) {
+            control.publish(new BufferEvent(nodeId, EventType.EVICT_SENDER, null, null, null,
+                    event.getUserId(), null, null));
+        }
+    }
+
+    public void clear() {
+        rooms.values().forEach(this::evict);
+    }
+
+    long estimatedBytes() {
+        return totalBytes.get();
+    }
+
+    int roomCount() {
+        return rooms.size();
+    }
+
+    void onRemoteEvent(String payload) {
+        try {
+            BufferEvent event = objectMapper.readValue(payload, BufferEvent.class);
+            if (nodeId.equals(event.origin())) {
+                return;
+            }
+            if (event.type() == EventType.EVICT_SENDER) {
+                applyEvictSender(event.userId());
+                return;
+            }
+            // 이 노드에 버퍼가 있는 방의 변경만 반영한다
+            RoomBuffer room = rooms.get(event.roomId());
+            if (room == null) {
+                return;
+            }
+            switch (event.type()) {
+                case APPEND -> applyAppend(room, event.message());
+                case READ -> applyRead(room, event.messageIds(), event.userId(),
+                        event.readAt() != null ? event.readAt() : LocalDateTime.now());
+                case REACTION -> applyReactions(room, event.messageIds().getFirst(), event.reactions());
+                default -> { }
+            }
+        } catch (Exception e) {
+            // 변경 하나를 놓치면 버퍼가 어긋나므로 전부 비운다
+            log.warn("Failed to apply recent message buffer event - clearing buffer", e);
+            clear();
+        }
+    }
+
+    private void applyAppend(RoomBuffer room, MessageResponse response) {
+        synchronized (room) {
+            if (room.evicted) {
+                return;
+            }
+            long before = room.bytes;
+            room.insert(response, false);
+            if (room.trim(roomCapacity)) {
+                room.complete = false;
+            }
+            room.touch(accessClock.incrementAndGet());
+            totalBytes.addAndGet(room.bytes - before);
+        }
+        enforceBudget();
+    }
+
+    /**
+     * @return 새로 읽음 처리된 메시지 ID (버퍼에 없는 ID 포함)
+     */
+    private List<String> applyRead(RoomBuffer room, List<String> messageIds, String userId, LocalDateTime readAt) {
+        synchronized (room) {
+            if (room.evicted) {
+                return messageIds;
+            }
+            Set<String> unchanged = new HashSet<>();
+            long before = room.bytes;
+            room.replaceWhere(new HashSet<>(messageIds), response -> {
+                List<Message.MessageReader> readers = response.getReaders() != null
+                        ? response.getReaders() : List.of();
+                if (readers.stream().anyMatch(reader -> userId.equals(reader.getUserId()))) {
+                    unchanged.add(response.getId());
+                    return null;
+                }
+                List<Message.MessageReader> updated = new ArrayList<>(readers);
+                updated.add(new Message.MessageReader(userId, readAt));
+                return response.toBuilder().readers(updated).build();
+            });
+            totalBytes.addAndGet(room.bytes - before);
+            return unchanged.isEmpty()
+                    ? messageIds
+                    : messageIds.stream().filter(id -> !unchanged.contains(id)).toList();
+        }
+    }
+
+    private void applyReactions(RoomBuffer room, String messageId, Map<String, Set<String>> reactions) {
+        Map<String, Set<String>> copy = new HashMap<>();
+        reactions.forEach((reaction, users) -> copy.put(reaction, Set.copyOf(users)));
+        synchronized (room) {
+            if (room.evicted) {
+                return;
+            }
+            long before = room.bytes;
+            room.replaceWhere(Set.of(messageId), response -> response.toBuilder().reactions(copy).build());
+            totalBytes.addAndGet(room.bytes - before);
+        }
+    }
+
+    private void applyEvictSender(String userId) {
+        for (RoomBuffer room : rooms.values()) {
+            boolean hasSender;
+            synchronized (room) {
+                hasSender = room.hasSender(userId);
+            }
+            if (hasSender) {
+                evict(room);
+            }
+        }
+    }
+
+    private void evict(RoomBuffer room) {
+        synchronized (room) {
+            if (room.evicted) {
+                return;
+            }
+            room.evicted = true;
+            rooms.remove(room.roomId, room);
+            totalBytes.addAndGet(-room.bytes);
+        }
+    }
+
+    /**
+     * 예산을 넘었으면 마지막 접근이 가장 오래된 방부터 비운다. 한 스레드만 정리하고 나머지는 기다리지 않는다.
+     */
+    private void enforceBudget() {
+        if (totalBytes.get() <= memoryBudgetBytes || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            List<RoomBuffer> candidates = new ArrayList<>(rooms.values());
+            candidates.sort(Comparator.comparingLong(RoomBuffer::lastAccess));
+            Iterator<RoomBuffer> iterator = candidates.iterator();
+            while (totalBytes.get() > memoryBudgetBytes && iterator.hasNext()) {
+                evict(iterator.next());
+                evictionCounter.increment();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private Shard shardOf(String roomId) {
+        return shards[Math.floorMod(roomId.hashCode(), shards.length)];
+    }
+
+    /**
+     * 방의 shard를 구독 중인지. Redis가 없으면 항상 참이다.
+     */
+    private boolean isLive(String roomId) {
+        return shards == null || shardOf(roomId).liveSince != 0;
+    }
+
+    /**
+     * 방의 shard 구독이 since 이전부터 끊김 없이 이어지고 있는지. Redis가 없으면 항상 참이다.
+     */
+    private boolean isLiveSince(String roomId, long since) {
+        if (shards == null) {
+            return true;
+        }
+        long liveSince = shardOf(roomId).liveSince;
+        return liveSince != 0 && liveSince - since <= 0;
+    }
+
+    private void subscribe(String roomId) {
+        if (shards != null) {
+            shardOf(roomId).subscribe();
+        }
+    }
+
+    private void publish(BufferEvent event) {
+        if (shards != null) {
+            shardOf(event.roomId()).publish(event);
+        }
+    }
+
+    /**
+     * 메시지 크기 추정치 (바이트). 정확한 값이 아니라 메모리 예산 관리용이다.
+     */
+    static long estimateBytes(MessageResponse response) {
+        long bytes = 320;
+        if (response.getContent() != null) {
+            bytes += 2L * response.getContent().length();
+        }
+        if (response.getReaders() != null) {
+            bytes += 80L * response.getReaders().size();
+        }
+        if (response.getReactions() != null) {
+            for (Set<String> users : response.getReactions().values()) {
+                bytes += 64 + 48L * users.size();
+            }
+        }
+        if (response.getMetadata() != null) {
+            bytes += 128L * response.getMetadata().size();
+        }
+        if (response.getFile() != null) {
+            bytes += 256;
+        }
+        return bytes;
+    }
+
+    public record BufferedPage(List<MessageResponse> messages, boolean hasMore) {
+    }
+
+    enum EventType { APPEND, READ, REACTION, EVICT_SENDER }
+
+    record BufferEvent(
+            String origin,
+            EventType type,
+            String roomId,
+            MessageResponse message,
+            List<String> messageIds,
+            String userId,
+            Map<String, Set<String>> reactions,
+            // READ: 보낸 노드에서 읽음 처리한 시각
+            LocalDateTime readAt) {
+    }
+
+    private record Entry(MessageResponse response, long bytes) {
+    }
+
+    private interface ResponseUpdater {
+        /**
+         * @return 교체할 응답, 변경이 없으면 null
+         */
+        MessageResponse update(MessageResponse response);
+    }
+
+    /**
+     * 방 ID로 나눈 Redis topic 하나. 이 노드에 그 shard의 방 버퍼가 필요해질 때 처음 구독한다.
+     */
+    private final class Shard {
+        final String name;
+        final RTopic topic;
+        // 구독이 마지막으로 (재)확인된 System.nanoTime(). 0이면 구독 전
+        volatile long liveSince;
+        private int messageListenerId = -1;
+        private int statusListenerId = -1;
+
+        Shard(String name, RedissonClient redissonClient) {
+            this.name = name;
+            this.topic = redissonClient.getTopic(name, StringCodec.INSTANCE);
+        }
+
+        synchronized void subscribe() {
+            if (messageListenerId != -1) {
+                return;
+            }
+            try {
+                statusListenerId = topic.addListener(new BaseStatusListener() {
+                    @Override
+                    public void onSubscribe(String channel) {
+                        // 구독이 끊겼던 동안의 변경은 알 수 없으므로 이 shard의 방을 처음부터 다시 채운다
+                        dropRooms();
+                        liveSince = System.nanoTime();
+                    }
+                });
+                messageListenerId = topic.addListener(String.class, (channel, payload) -> onRemoteEvent(payload));
+                if (liveSince == 0) {
+                    liveSince = System.nanoTime();
+                }
+                log.debug("Recent message buffer topic subscribed - topic: {}", name);
+            } catch (Exception e) {
+                log.warn("Failed to subscribe recent message buffer topic {}", name, e);
+            }
+        }
+
+        synchronized void unsubscribe() {
+            if (messageListenerId != -1) {
+                topic.removeListener(messageListenerId, statusListenerId);
+                messageListenerId = -1;
+                statusListenerId = -1;
+            }
+        }
+
+        void dropRooms() {
+            if (this == control) {
+                clear();
+                return;
+            }
+            for (RoomBuffer room : rooms.values()) {
+                if (shardOf(room.roomId) == this) {
+                    evict(room);
+                }
+            }
+        }
+
+        void publish(BufferEvent event) {
+            try {
+                topic.publishAsync(objectMapper.writeValueAsString(event))
+                        .whenComplete((receivers, error) -> {
+                            if (error != null) {
+                                log.warn("Failed to publish recent message buffer event: {}", error.getMessage());
+                            }
+                        });
+            } catch (Exception e) {
+                log.warn("Failed to publish recent message buffer event", e);
+            }
+        }
+    }
+
+    /**
+     * 한 채팅방의 버퍼. (timestamp, id) 오름차순으로 정렬되어 있다. 모든 접근은 이 객체로 동기화한다.
+     * 항목은 교체만 하고 수정하지 않으므로 밖으로 내보낸 얕은 복사본은 안전하다.
+     */
+    private static final class RoomBuffer {
+        final String roomId;
+        final ArrayList<Entry> entries = new ArrayList<>();
+        // 방의 첫 메시지부터 모두 들어 있는지 여부
+        boolean complete;
+        long bytes;
+        // 맵에서 빠진 뒤에는 변경을 받지 않는다 (totalBytes가 어긋나지 않도록)
+        boolean evicted;
+        private volatile long lastAccess;
+
+        RoomBuffer(String roomId) {
+            this.roomId = roomId;
+        }
+
+        void touch(long tick) {
+            lastAccess = tick;
+        }
+
+        long lastAccess() {
+            return lastAccess;
+        }
+
+        void insert(MessageResponse response, boolean allowOlder) {
+            int index = lowerBound(response.getTimestamp(), response.getId());
+            if (index < entries.size() && response.getId().equals(entries.get(index).response().getId())) {
+                replace(index, response);
+                return;
+            }
+            if (index == 0 && !entries.isEmpty() && !allowOlder) {
+                // 버퍼 범위보다 오래된 메시지: 넣으면 중간이 비게 된다
+                return;
+            }
+            Entry entry = new Entry(response, estimateBytes(response));
+            entries.add(index, entry);
+            bytes += entry.bytes();
+        }
+
+        boolean trim(int capacity) {
+            int excess = entries.size() - capacity;
+            if (excess <= 0) {
+                return false;
+            }
+            List<Entry> removed = entries.subList(0, excess);
+            for (Entry entry : removed) {
+                bytes -= entry.bytes();
+            }
+            removed.clear();
+            return true;
+        }
+
+        int countBefore(long timestamp, String messageId) {
+            return lowerBound(timestamp, messageId);
+        }
+
+        /**
+         * (timestamp, messageId)보다 작지 않은 첫 항목의 위치
+         */
+        private int lowerBound(long timestamp, String messageId) {
+            int low = 0;
+            int high = entries.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                MessageResponse response = entries.get(mid).response();
+                int cmp = Long.compare(response.getTimestamp(), timestamp);
+                if (cmp == 0) {
+                    cmp = response.getId().compareTo(messageId);
+                }
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void replaceWhere(Set<String> ids, ResponseUpdater updater) {
+            for (int i = 0; i < entries.size(); i++) {
+                MessageResponse response = entries.get(i).response();
+                if (ids.contains(response.getId())) {
+                    MessageResponse updated = updater.update(response);
+                    if (updated != null) {
+                        replace(i, updated);
+                    }
+                }
+            }
+        }
+
+        boolean hasSender(String userId) {
+            return entries.stream().anyMatch(entry -> entry.response().getSender() != null
+                    && userId.equals(entry.response().getSender().getId()));
+        }
+
+        private void replace(int index, MessageResponse response) {
+            Entry entry = new Entry(response, estimateBytes(response));
+            bytes += entry.bytes() - entries.set(index, entry).bytes();
+        }
+    }
+}
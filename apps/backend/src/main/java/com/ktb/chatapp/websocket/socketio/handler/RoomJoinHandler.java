@@ -1,11 +1,11 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
 import com.ktb.chatapp.dto.JoinRoomSuccessResponse;
+import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
@@ -13,6 +13,10 @@ import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.cache.ChatEntityCache;
+import com.ktb.chatapp.service.message.RoomSequenceAllocator;
+import com.ktb.chatapp.websocket.socketio.RoomLaneExecutor;
+import com.ktb.chatapp.websocket.socketio.SocketIOBroadcaster;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
 import java.time.LocalDateTime;
@@ -34,14 +38,18 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class RoomJoinHandler {
 
-    private final SocketIOServer socketIOServer;
+    private final SocketIOBroadcaster socketIOBroadcaster;
     private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
     private final UserRooms userRooms;
+    private final ChatEntityCache chatEntityCache;
     private final MessageLoader messageLoader;
     private final MessageResponseMapper messageResponseMapper;
     private final RoomLeaveHandler roomLeaveHandler;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final RoomSequenceAllocator roomSequenceAllocator;
     
     @OnEvent(JOIN_ROOM)
     public void handleJoinRoom(SocketIOClient client, String roomId) {
@@ -74,28 +82,14 @@ public class RoomJoinHandler {
 
             // MongoDB의 $addToSet 연산자를 사용한 원자적 업데이트
             roomRepository.addParticipant(roomId, userId);
+            chatEntityCache.evictRoom(roomId);
 
             // Join socket room and add to user's room set
             client.joinRoom(roomId);
             userRooms.add(userId, roomId);
 
-            Message joinMessage = Message.builder()
-                .roomId(roomId)
-                .content(userName + "님이 입장하였습니다.")
-                .type(MessageType.system)
-                .timestamp(LocalDateTime.now())
-                .mentions(new ArrayList<>())
-                .isDeleted(false)
-                .reactions(new HashMap<>())
-                .readers(new ArrayList<>())
-                .metadata(new HashMap<>())
-                .build();
-
-            joinMessage = messageRepository.save(joinMessage);
-
             // 초기 메시지 로드
-            FetchMessagesRequest req = new FetchMessagesRequest(roomId, 30, null);
-            FetchMessagesResponse messageLoadResult = messageLoader.loadMessages(req, userId);
+            FetchMessagesResponse messageLoadResult = loadInitialMessages(roomId, userId);
 
             // 업데이트된 room 다시 조회하여 최신 participantIds 가져오기
             Optional<Room> roomOpt = roomRepository.findById(roomId);
@@ -118,18 +112,17 @@ public class RoomJoinHandler {
                 .participants(participants)
                 .messages(messageLoadResult.getMessages())
                 .hasMore(messageLoadResult.isHasMore())
+                .readWatermarks(messageLoadResult.getReadWatermarks())
                 .activeStreams(Collections.emptyList())
                 .build();
 
             client.sendEvent(JOIN_ROOM_SUCCESS, response);
 
-            // 입장 메시지 브로드캐스트
-            socketIOServer.getRoomOperations(roomId)
-                .sendEvent(MESSAGE, messageResponseMapper.mapToMessageResponse(joinMessage, null));
+            // 입장 메시지는 방 lane에서 순번을 받아 저장/브로드캐스트한다 (입장한 클라이언트도 이 브로드캐스트로 받는다)
+            roomLaneExecutor.execute(roomId, () -> publishJoinMessage(roomId, userName));
 
             // 참가자 목록 업데이트 브로드캐스트
-            socketIOServer.getRoomOperations(roomId)
-                .sendEvent(PARTICIPANTS_UPDATE, participants);
+            socketIOBroadcaster.sendToRoom(roomId, PARTICIPANTS_UPDATE, participants);
 
             log.info("User {} joined room {} successfully. Message count: {}, hasMore: {}",
                 userName, roomId, messageLoadResult.getMessages().size(), messageLoadResult.isHasMore());
@@ -142,10 +135,52 @@ public class RoomJoinHandler {
         }
     }
     
+    /**
+     * 참가자 등록은 이미 끝났으므로 메시지를 읽지 못해도 입장은 성공시키고 빈 페이지를 보낸다.
+     * 클라이언트는 fetchPreviousMessages로 다시 불러올 수 있다.
+     */
+    private FetchMessagesResponse loadInitialMessages(String roomId, String userId) {
+        try {
+            return messageLoader.loadMessages(new FetchMessagesRequest(roomId, 30, null), userId);
+        } catch (Exception e) {
+            log.error("Error loading initial messages for room {}", roomId, e);
+            return FetchMessagesResponse.builder()
+                    .messages(Collections.emptyList())
+                    .hasMore(false)
+                    .build();
+        }
+    }
+
     private SocketUser getUser(SocketIOClient client) {
         return client.get("user");
     }
 
+    private void publishJoinMessage(String roomId, String userName) {
+        long seq = roomSequenceAllocator.next(roomId);
+        Message joinMessage = Message.builder()
+            .roomId(roomId)
+            .content(userName + "님이 입장하였습니다.")
+            .type(MessageType.system)
+            .timestamp(LocalDateTime.now())
+            .seq(seq)
+            .mentions(new ArrayList<>())
+            .isDeleted(false)
+            .reactions(new HashMap<>())
+            .readers(new ArrayList<>())
+            .metadata(new HashMap<>())
+            .build();
+
+        try {
+            joinMessage = messageRepository.save(joinMessage);
+        } catch (RuntimeException e) {
+            roomSequenceAllocator.release(roomId, seq);
+            throw e;
+        }
+        MessageResponse joinMessageResponse = messageResponseMapper.mapToMessageResponse(joinMessage, null);
+        recentMessageBuffer.append(joinMessageResponse);
+        socketIOBroadcaster.sendToRoom(roomId, MESSAGE, joinMessageResponse);
+    }
+
     private String getUserId(SocketIOClient client) {
         SocketUser user = getUser(client);
         return user != null ? user.id() : null;
@@ -1,10 +1,10 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.event.RoomEmptiedEvent;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
 import com.ktb.chatapp.model.Room;
@@ -12,6 +12,10 @@ import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.cache.ChatEntityCache;
+import com.ktb.chatapp.service.message.RoomSequenceAllocator;
+import com.ktb.chatapp.websocket.socketio.RoomLaneExecutor;
+import com.ktb.chatapp.websocket.socketio.SocketIOBroadcaster;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
 import java.time.LocalDateTime;
@@ -22,6 +26,7 @@ import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
@@ -36,23 +41,35 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class RoomLeaveHandler {
 
-    private final SocketIOServer socketIOServer;
+    private final SocketIOBroadcaster socketIOBroadcaster;
     private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
     private final UserRooms userRooms;
+    private final ChatEntityCache chatEntityCache;
     private final MessageResponseMapper messageResponseMapper;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final RoomSequenceAllocator roomSequenceAllocator;
     
     @OnEvent(LEAVE_ROOM)
     public void handleLeaveRoom(SocketIOClient client, String roomId) {
-        try {
-            String userId = getUserId(client);
-            String userName = getUserName(client);
+        SocketUser socketUser = getUserDto(client);
+        if (socketUser == null) {
+            client.sendEvent(ERROR, Map.of("message", "Unauthorized"));
+            return;
+        }
+        leaveRoom(client, socketUser, roomId);
+    }
 
-            if (userId == null) {
-                client.sendEvent(ERROR, Map.of("message", "Unauthorized"));
-                return;
-            }
+    /**
+     * 연결 해제 정리처럼 클라이언트 저장소의 user가 이미 지워졌을 수 있는 경우 미리 읽어 둔 사용자로 퇴장시킨다.
+     */
+    public void leaveRoom(SocketIOClient client, SocketUser socketUser, String roomId) {
+        try {
+            String userId = socketUser.id();
+            String userName = socketUser.name();
 
             if (!userRooms.isInRoom(userId, roomId)) {
                 log.debug("User {} is not in room {}", userId, roomId);
@@ -68,6 +85,7 @@ public class RoomLeaveHandler {
             }
             
             roomRepository.removeParticipant(roomId, userId);
+            chatEntityCache.evictRoom(roomId);
             
             client.leaveRoom(roomId);
             userRooms.remove(userId, roomId);
@@ -76,13 +94,16 @@ public class RoomLeaveHandler {
             
             log.debug("Leave room cleanup - roomId: {}, userId: {}", roomId, userId);
             
-            sendSystemMessage(roomId, userName + "님이 퇴장하였습니다.");
-            broadcastParticipantList(roomId);
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(USER_LEFT, Map.of(
+            // 퇴장 메시지를 방 lane에서 브로드캐스트한 뒤에 참가자 목록과 USER_LEFT를 보낸다
+            roomLaneExecutor.execute(roomId,
+                    () -> saveAndBroadcastSystemMessage(roomId, userName + "님이 퇴장하였습니다."),
+                    sent -> {
+                        broadcastParticipantList(roomId);
+                        socketIOBroadcaster.sendToRoom(roomId, USER_LEFT, Map.of(
                             "userId", userId,
                             "userName", userName
-                    ));
+                        ));
+                    });
             
         } catch (Exception e) {
             log.error("Error handling leaveRoom", e);
@@ -90,28 +111,41 @@ public class RoomLeaveHandler {
         }
     }
     
-    private void sendSystemMessage(String roomId, String content) {
+    /**
+     * 방 lane에서 실행된다. 같은 방의 다른 메시지와 순번/브로드캐스트 순서가 맞는다.
+     * 저장에 실패해도 뒤이은 퇴장 알림은 보내야 하므로 항상 TRUE를 돌려준다.
+     */
+    private Boolean saveAndBroadcastSystemMessage(String roomId, String content) {
         try {
+            long seq = roomSequenceAllocator.next(roomId);
             Message systemMessage = new Message();
             systemMessage.setRoomId(roomId);
             systemMessage.setContent(content);
             systemMessage.setType(MessageType.system);
             systemMessage.setTimestamp(LocalDateTime.now());
+            systemMessage.setSeq(seq);
             systemMessage.setMentions(new ArrayList<>());
             systemMessage.setIsDeleted(false);
             systemMessage.setReactions(new HashMap<>());
             systemMessage.setReaders(new ArrayList<>());
             systemMessage.setMetadata(new HashMap<>());
 
-            Message savedMessage = messageRepository.save(systemMessage);
+            Message savedMessage;
+            try {
+                savedMessage = messageRepository.save(systemMessage);
+            } catch (RuntimeException e) {
+                roomSequenceAllocator.release(roomId, seq);
+                throw e;
+            }
             MessageResponse response = messageResponseMapper.mapToMessageResponse(savedMessage, null);
 
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, response);
+            socketIOBroadcaster.sendToRoom(roomId, MESSAGE, response);
+            recentMessageBuffer.append(response);
 
         } catch (Exception e) {
             log.error("Error sending system message", e);
         }
+        return Boolean.TRUE;
     }
     
     private void broadcastParticipantList(String roomId) {
@@ -119,6 +153,11 @@ public class RoomLeaveHandler {
         if (roomOpt.isEmpty()) {
             return;
         }
+        if (roomOpt.get().isEmpty()) {
+            // 남은 참가자가 없으면 진행 중인 AI 응답을 받을 사람도 없다
+            eventPublisher.publishEvent(new RoomEmptiedEvent(this, roomId));
+            return;
+        }
         
         var participantList = roomOpt.get()
                 .getParticipantIds()
@@ -133,21 +172,10 @@ public class RoomLeaveHandler {
             return;
         }
         
-        socketIOServer.getRoomOperations(roomId)
-                .sendEvent(PARTICIPANTS_UPDATE, participantList);
+        socketIOBroadcaster.sendToRoom(roomId, PARTICIPANTS_UPDATE, participantList);
     }
 
     private SocketUser getUserDto(SocketIOClient client) {
         return client.get("user");
     }
-
-    private String getUserId(SocketIOClient client) {
-        SocketUser user = getUserDto(client);
-        return user != null ? user.id() : null;
-    }
-
-    private String getUserName(SocketIOClient client) {
-        SocketUser user = getUserDto(client);
-        return user != null ? user.name() : null;
-    }
 }
@@ -1,10 +1,15 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.model.AiType;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 @Data
@@ -21,8 +26,22 @@ public class StreamingSession {
     private long timestamp;
     @Builder.Default
     private long lastUpdate = System.currentTimeMillis();
+
+    // 토큰마다 전체 문자열을 복사하지 않도록 StringBuilder에 이어 붙이고,
+    // 전체 내용은 요청될 때만 만들어 다음 append 전까지 재사용한다.
+    // onNext와 다른 스레드(완료/에러 처리)에서 읽을 수 있으므로 접근은 this로 동기화한다.
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Builder.Default
-    private String content = "";
+    private StringBuilder content = new StringBuilder();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String contentSnapshot;
 
     public AiType aiTypeEnum() {
         if (aiType == null) return null;
@@ -38,10 +57,38 @@ public class StreamingSession {
         return aiTypeEnum;
     }
 
-    public void appendContent(String contentChunk) {
-        content += contentChunk;
+    public synchronized void appendContent(String contentChunk) {
+        content.append(contentChunk);
+        contentSnapshot = null;
         lastUpdate = System.currentTimeMillis();
     }
+
+    /**
+     * 누적된 전체 내용. append 이후 처음 호출될 때만 문자열을 만든다.
+     */
+    public synchronized String getContent() {
+        if (contentSnapshot == null) {
+            contentSnapshot = content.toString();
+        }
+        return contentSnapshot;
+    }
+
+    /**
+     * 앞에서부터 length 만큼의 내용. 내용은 뒤에 덧붙기만 하므로 이후 append와 무관하게 같은 값을 돌려준다.
+     */
+    public synchronized String getContent(int length) {
+        if (length == content.length()) {
+            return getContent();
+        }
+        return content.substring(0, length);
+    }
+
+    /**
+     * 누적된 내용 길이 (UTF-16). 전체 문자열을 만들지 않는다.
+     */
+    public synchronized int contentLength() {
+        return content.length();
+    }
     
     public long generationTimeMillis() {
         return System.currentTimeMillis() - timestamp;
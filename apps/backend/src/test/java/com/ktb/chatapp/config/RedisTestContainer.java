@@ -1,5 +1,8 @@
 package com.ktb.chatapp.config;
 
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.context.annotation.Bean;
@@ -14,4 +17,15 @@ public class RedisTestContainer {
         return new GenericContainer<>("redis:7-alpine")
                 .withExposedPorts(6379);
     }
+
+    /**
+     * socketio.enabled=false 인 테스트에서 Redis 기반 저장소를 쓰기 위한 단일 서버 클라이언트
+     */
+    @Bean(destroyMethod = "shutdown")
+    RedissonClient redissonClient(GenericContainer<?> redisContainer) {
+        Config config = new Config();
+        config.useSingleServer()
+                .setAddress("redis://" + redisContainer.getHost() + ":" + redisContainer.getMappedPort(6379));
+        return Redisson.create(config);
+    }
 }
@@ -0,0 +1,68 @@
+package com.ktb.chatapp.config.properties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SocketIOProperties 테스트")
+class SocketIOPropertiesTest {
+
+    @Test
+    @DisplayName("설정이 없으면 기존 하드코딩 값과 같다")
+    void defaults_MatchPreviousHardcodedValues() {
+        SocketIOProperties properties = bind(Map.of());
+
+        assertThat(properties.getAcceptBacklog()).isEqualTo(10);
+        assertThat(properties.getTcpSendBufferSize()).isEqualTo(4096);
+        assertThat(properties.getTcpReceiveBufferSize()).isEqualTo(4096);
+        assertThat(properties.isTcpNoDelay()).isFalse();
+        assertThat(properties.getPingInterval()).isEqualTo(Duration.ofSeconds(25));
+        assertThat(properties.getPingTimeout()).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    @DisplayName("latency 프로파일은 Nagle을 끄고 커널 기본 버퍼를 쓴다")
+    void latencyProfile_DisablesNagle() throws Exception {
+        SocketIOProperties properties = bind(load("application-latency.properties"));
+
+        assertThat(properties.isTcpNoDelay()).isTrue();
+        assertThat(properties.getAcceptBacklog()).isEqualTo(1024);
+        assertThat(properties.getTcpSendBufferSize()).isEqualTo(-1);
+        assertThat(properties.getBossThreads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("throughput 프로파일은 백로그와 소켓 버퍼를 키운다")
+    void throughputProfile_RaisesBacklogAndBuffers() throws Exception {
+        SocketIOProperties properties = bind(load("application-throughput.properties"));
+
+        assertThat(properties.isTcpNoDelay()).isFalse();
+        assertThat(properties.getAcceptBacklog()).isEqualTo(4096);
+        assertThat(properties.getTcpSendBufferSize()).isEqualTo(262144);
+        assertThat(properties.getTcpReceiveBufferSize()).isEqualTo(262144);
+    }
+
+    private static Map<String, Object> load(String location) throws Exception {
+        var source = (EnumerablePropertySource<?>) new PropertiesPropertySourceLoader()
+                .load(location, new ClassPathResource(location)).getFirst();
+        Map<String, Object> values = new HashMap<>();
+        for (String name : source.getPropertyNames()) {
+            values.put(name, source.getProperty(name));
+        }
+        return values;
+    }
+
+    private static SocketIOProperties bind(Map<?, ?> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("socketio.server", SocketIOProperties.class);
+    }
+}
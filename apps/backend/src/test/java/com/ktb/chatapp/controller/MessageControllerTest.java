@@ -0,0 +1,190 @@
+package com.ktb.chatapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.dto.FetchMessagesRequest;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.exception.GlobalExceptionHandler;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.message.MessageHistoryStreamer;
+import com.ktb.chatapp.websocket.socketio.handler.MessageLoader;
+import java.security.Principal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class MessageControllerTest {
+
+    private static final String ROOM_ID = "room-1";
+    private static final String USER_ID = "user-1";
+    private static final Principal PRINCIPAL = () -> "user@example.com";
+
+    @Mock private MessageLoader messageLoader;
+    @Mock private MessageHistoryStreamer messageHistoryStreamer;
+    @Mock private RoomRepository roomRepository;
+    @Mock private UserRepository userRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MessageController controller = new MessageController(
+                messageLoader, messageHistoryStreamer, roomRepository, userRepository,
+                new ObjectMapper());
+        GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+        ReflectionTestUtils.setField(exceptionHandler, "activeProfile", "test");
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(exceptionHandler)
+                .build();
+
+        User user = new User();
+        user.setId(USER_ID);
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void loadMessages_rejectsMalformedCursor() throws Exception {
+        givenRoom(Set.of(USER_ID));
+
+        mockMvc.perform(get("/api/message/rooms/{roomId}/messages", ROOM_ID)
+                        .param("cursor", "not-a-cursor")
+                        .principal(PRINCIPAL))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verify(messageLoader, never()).loadMessages(any(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void loadMessages_rejectsNonParticipant() throws Exception {
+        givenRoom(Set.of("someone-else"));
+
+        mockMvc.perform(get("/api/message/rooms/{roomId}/messages", ROOM_ID)
+                        .principal(PRINCIPAL))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verify(messageLoader, never()).loadMessages(any(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void loadMessages_olderPageCarriesETagAndDoesNotMarkRead() throws Exception {
+        givenRoom(Set.of(USER_ID));
+        String cursor = cursor();
+        when(messageLoader.loadMessages(new FetchMessagesRequest(ROOM_ID, 30, null, cursor), USER_ID, false))
+                .thenReturn(page(Map.of()));
+
+        mockMvc.perform(get("/api/message/rooms/{roomId}/messages", ROOM_ID)
+                        .param("cursor", cursor)
+                        .principal(PRINCIPAL))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(messageLoader, never()).loadMessages(any(), anyString());
+    }
+
+    @Test
+    void loadMessages_returnsNotModifiedWhenPageIsUnchanged() throws Exception {
+        givenRoom(Set.of(USER_ID));
+        String cursor = cursor();
+        when(messageLoader.loadMessages(any(FetchMessagesRequest.class), eq(USER_ID), eq(false)))
+                .thenReturn(page(Map.of()));
+
+        String eTag = mockMvc.perform(get("/api/message/rooms/{roomId}/messages", ROOM_ID)
+                        .param("cursor", cursor)
+                        .principal(PRINCIPAL))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/message/rooms/{roomId}/messages", ROOM_ID)
+                        .param("cursor", cursor)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .principal(PRINCIPAL))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void loadMessages_eTagChangesWhenReactionsOnPageChange() throws Exception {
+        givenRoom(Set.of(USER_ID));
+        String cursor = cursor();
+        when(messageLoader.loadMessages(any(FetchMessagesRequest.class), eq(USER_ID), eq(false)))
+                .thenReturn(page(Map.of()))
+                .thenReturn(page(Map.of("👍", Set.of("user-2"))));
+
+        String eTag = mockMvc.perform(get("/api/message/rooms/{roomId}/messages", ROOM_ID)
+                        .param("cursor", cursor)
+                        .principal(PRINCIPAL))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/message/rooms/{roomId}/messages", ROOM_ID)
+                        .param("cursor", cursor)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .principal(PRINCIPAL))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void loadMessages_surfacesRepositoryFailureAsServerError() throws Exception {
+        givenRoom(Set.of(USER_ID));
+        when(messageLoader.loadMessages(any(FetchMessagesRequest.class), eq(USER_ID), eq(false)))
+                .thenThrow(new IllegalStateException("mongo down"));
+
+        mockMvc.perform(get("/api/message/rooms/{roomId}/messages", ROOM_ID)
+                        .principal(PRINCIPAL))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    private void givenRoom(Set<String> participants) {
+        Room room = new Room();
+        room.setId(ROOM_ID);
+        room.setParticipantIds(new HashSet<>(participants));
+        when(roomRepository.findById(ROOM_ID)).thenReturn(Optional.of(room));
+    }
+
+    private FetchMessagesResponse page(Map<String, Set<String>> reactions) {
+        MessageResponse message = MessageResponse.builder()
+                .id("665f1c2e8f1b2a3c4d5e6f70")
+                .roomId(ROOM_ID)
+                .content("hello")
+                .reactions(reactions)
+                .build();
+        return FetchMessagesResponse.builder().messages(List.of(message)).hasMore(false).build();
+    }
+
+    private String cursor() {
+        return new MessageCursor(1_700_000_000_000L, new ObjectId().toHexString()).encode();
+    }
+}
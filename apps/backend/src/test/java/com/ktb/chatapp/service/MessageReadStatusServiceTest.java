@@ -0,0 +1,97 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.config.MongoTestContainer;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.repository.MessageRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(MongoTestContainer.class)
+@TestPropertySource(properties = {
+        "socketio.enabled=false",
+        "chatapp.read-status.coalesce-window=1h"
+})
+@DisplayName("MessageReadStatusService 통합 테스트")
+class MessageReadStatusServiceTest {
+
+    private static final String ROOM_ID = "read-status-room";
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageReadStatusService messageReadStatusService;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll(messageRepository.findAll().stream()
+                .filter(message -> ROOM_ID.equals(message.getRoomId()))
+                .toList());
+    }
+
+    @Test
+    @DisplayName("여러 번의 읽음 요청이 한 번의 반영으로 합쳐진다")
+    void updateReadStatus_CoalescesUntilFlush() {
+        List<String> ids = saveMessages(3);
+
+        messageReadStatusService.updateReadStatus(ids.subList(0, 2), "reader-1");
+        messageReadStatusService.updateReadStatus(ids.subList(1, 3), "reader-1");
+
+        assertThat(readersOf(ids.getFirst())).isEmpty();
+
+        messageReadStatusService.flushPending();
+
+        for (String id : ids) {
+            assertThat(readersOf(id)).containsExactly("reader-1");
+        }
+    }
+
+    @Test
+    @DisplayName("이미 읽은 메시지에는 중복 reader를 추가하지 않는다")
+    void updateReadStatus_DoesNotDuplicateReaders() {
+        List<String> ids = saveMessages(2);
+
+        messageReadStatusService.updateReadStatus(ids, "reader-1");
+        messageReadStatusService.flushPending();
+        messageReadStatusService.updateReadStatus(ids, "reader-1");
+        messageReadStatusService.updateReadStatus(ids, "reader-2");
+        messageReadStatusService.flushPending();
+
+        for (String id : ids) {
+            assertThat(readersOf(id)).containsExactly("reader-1", "reader-2");
+        }
+    }
+
+    private List<String> saveMessages(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Message message = Message.builder()
+                    .roomId(ROOM_ID)
+                    .senderId("sender")
+                    .content("message " + i)
+                    .type(MessageType.text)
+                    .timestamp(LocalDateTime.now())
+                    .build();
+            ids.add(messageRepository.save(message).getId());
+        }
+        return ids;
+    }
+
+    private List<String> readersOf(String messageId) {
+        return messageRepository.findById(messageId).orElseThrow().getReaders().stream()
+                .map(Message.MessageReader::getUserId)
+                .toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.config.MongoTestContainer;
+import com.ktb.chatapp.config.RedisTestContainer;
+import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.service.session.SessionRedisStore;
+import com.ktb.chatapp.service.session.SessionStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SessionServiceTest 시나리오를 SessionRedisStore로 실행한다.
+ */
+@Import({MongoTestContainer.class, RedisTestContainer.class})
+@TestPropertySource(properties = {
+    "chatapp.session.store=redis"
+})
+@DisplayName("SessionService 통합 테스트 - redis store")
+class RedisSessionServiceTest extends SessionServiceTest {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionStore sessionStore;
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Test
+    @DisplayName("세션 키는 expiresAt에 맞춰 Redis에서 만료된다")
+    void createSession_SetsNativeExpiry() {
+        assertThat(sessionStore).isInstanceOf(SessionRedisStore.class);
+
+        sessionService.createSession("redis-user", null);
+
+        long ttlMillis = redissonClient.getMap("chatapp:session:redis-user").remainTimeToLive();
+        assertThat(ttlMillis).isBetween(1L, SessionService.SESSION_TTL_SEC * 1000);
+
+        sessionService.removeAllUserSessions("redis-user");
+    }
+
+    @Test
+    @DisplayName("읽은 뒤 새 로그인이 있었으면 이전 세션 저장은 새 세션을 덮어쓰지 않는다")
+    void save_DoesNotOverwriteNewerSession() {
+        sessionService.createSession("redis-race-user", null);
+        Session stale = sessionStore.findByUserId("redis-race-user").orElseThrow();
+        SessionCreationResult second = sessionService.createSession("redis-race-user", null);
+
+        stale.setLastActivity(Instant.now().toEpochMilli());
+        sessionStore.save(stale);
+
+        assertThat(sessionStore.findByUserId("redis-race-user"))
+                .map(Session::getSessionId)
+                .contains(second.getSessionId());
+
+        sessionService.removeAllUserSessions("redis-race-user");
+    }
+
+    @Test
+    @DisplayName("로그아웃 뒤의 이전 세션 저장은 세션을 되살리지 않는다")
+    void save_DoesNotResurrectRemovedSession() {
+        sessionService.createSession("redis-logout-user", null);
+        Session stale = sessionStore.findByUserId("redis-logout-user").orElseThrow();
+        sessionService.removeAllUserSessions("redis-logout-user");
+
+        stale.setLastActivity(Instant.now().toEpochMilli());
+        sessionStore.save(stale);
+
+        assertThat(sessionStore.findByUserId("redis-logout-user")).isEmpty();
+    }
+}
@@ -0,0 +1,171 @@
+package com.ktb.chatapp.service.cache;
+
+import com.ktb.chatapp.event.RoomUpdatedEvent;
+import com.ktb.chatapp.event.UserUpdatedEvent;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RFuture;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.StatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatEntityCacheTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private RoomRepository roomRepository;
+    @Mock private ObjectProvider<RedissonClient> redissonClientProvider;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChatEntityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ChatEntityCache(userRepository, roomRepository, redissonClientProvider, meterRegistry,
+                100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void findUser_readsRepositoryOnlyOnce() {
+        User user = new User();
+        user.setId("user-1");
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+
+        assertThat(cache.findUser("user-1")).contains(user);
+        assertThat(cache.findUser("user-1")).contains(user);
+
+        verify(userRepository, times(1)).findById("user-1");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "chat.entity.users").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void findUser_doesNotCacheMissingUser() {
+        when(userRepository.findById("ghost")).thenReturn(Optional.empty());
+
+        assertThat(cache.findUser("ghost")).isEmpty();
+        assertThat(cache.findUser("ghost")).isEmpty();
+
+        verify(userRepository, times(2)).findById("ghost");
+    }
+
+    @Test
+    void userUpdatedEvent_evictsUser() {
+        User user = new User();
+        user.setId("user-1");
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+
+        cache.findUser("user-1");
+        cache.handleUserUpdatedEvent(new UserUpdatedEvent(this, "user-1"));
+        cache.findUser("user-1");
+
+        verify(userRepository, times(2)).findById("user-1");
+    }
+
+    @Test
+    void roomUpdatedEvent_evictsRoom() {
+        when(roomRepository.findById("room-1")).thenReturn(Optional.of(room("room-1", Set.of("user-1"))));
+
+        cache.findRoom("room-1");
+        cache.handleRoomUpdatedEvent(new RoomUpdatedEvent(this, "room-1", null));
+        cache.findRoom("room-1");
+
+        verify(roomRepository, times(2)).findById("room-1");
+    }
+
+    @Test
+    void findRoomForParticipant_reloadsWhenCachedRoomLacksParticipant() {
+        when(roomRepository.findById("room-1"))
+                .thenReturn(Optional.of(room("room-1", Set.of("user-1"))))
+                .thenReturn(Optional.of(room("room-1", Set.of("user-1", "user-2"))));
+
+        assertThat(cache.findRoomForParticipant("room-1", "user-1")).isPresent();
+        assertThat(cache.findRoomForParticipant("room-1", "user-2")).isPresent();
+        assertThat(cache.findRoomForParticipant("room-1", "user-2")).isPresent();
+
+        verify(roomRepository, times(2)).findById("room-1");
+    }
+
+    @Test
+    void findRoomForParticipant_rejectsNonParticipant() {
+        when(roomRepository.findById("room-1")).thenReturn(Optional.of(room("room-1", Set.of("user-1"))));
+
+        assertThat(cache.findRoomForParticipant("room-1", "intruder")).isEmpty();
+    }
+
+    @Test
+    void remoteInvalidation_evictsRoomAndUser() {
+        User user = new User();
+        user.setId("user-1");
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        when(roomRepository.findById("room-1")).thenReturn(Optional.of(room("room-1", Set.of("user-1"))));
+
+        cache.findUser("user-1");
+        cache.findRoom("room-1");
+        cache.onRemoteInvalidation("room:room-1");
+        cache.onRemoteInvalidation("user:user-1");
+        cache.findUser("user-1");
+        cache.findRoom("room-1");
+
+        verify(userRepository, times(2)).findById("user-1");
+        verify(roomRepository, times(2)).findById("room-1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void evictRoom_publishesInvalidationToOtherNodes() {
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        RTopic topic = mock(RTopic.class);
+        when(redissonClientProvider.getIfAvailable()).thenReturn(redissonClient);
+        when(redissonClient.getTopic(ChatEntityCache.TOPIC, StringCodec.INSTANCE))
+                .thenReturn(topic);
+        RFuture<Long> published = mock(RFuture.class);
+        when(topic.publishAsync("room:room-1")).thenReturn(published);
+        cache.start();
+
+        cache.evictRoom("room-1");
+
+        verify(topic).publishAsync("room:room-1");
+    }
+
+    @Test
+    void findRoomForParticipant_readsThroughWhenInvalidationsAreNotReceived() {
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        RTopic topic = mock(RTopic.class);
+        when(redissonClientProvider.getIfAvailable()).thenReturn(redissonClient);
+        when(redissonClient.getTopic(ChatEntityCache.TOPIC, StringCodec.INSTANCE))
+                .thenReturn(topic);
+        when(topic.addListener(any(StatusListener.class))).thenThrow(new IllegalStateException("redis down"));
+        when(roomRepository.findById("room-1")).thenReturn(Optional.of(room("room-1", Set.of("user-1"))));
+        cache.start();
+
+        assertThat(cache.findRoomForParticipant("room-1", "user-1")).isPresent();
+        assertThat(cache.findRoomForParticipant("room-1", "user-1")).isPresent();
+
+        verify(roomRepository, times(2)).findById("room-1");
+    }
+
+    private Room room(String id, Set<String> participants) {
+        Room room = new Room();
+        room.setId(id);
+        room.setParticipantIds(new HashSet<>(participants));
+        return room;
+    }
+}
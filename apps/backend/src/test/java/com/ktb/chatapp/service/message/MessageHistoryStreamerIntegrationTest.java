@@ -0,0 +1,136 @@
+package com.ktb.chatapp.service.message;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.config.MongoTestContainer;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.UserRepository;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(MongoTestContainer.class)
+@TestPropertySource(properties = {
+        "spring.data.mongodb.auto-index-creation=true",
+        "socketio.enabled=false"
+})
+class MessageHistoryStreamerIntegrationTest {
+
+    @Autowired
+    private MessageHistoryStreamer messageHistoryStreamer;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Faker faker;
+    private String roomId;
+    private User sender;
+
+    @BeforeEach
+    void setUp() {
+        faker = new Faker();
+        roomId = faker.internet().uuid();
+        sender = userRepository.save(User.builder()
+                .id(faker.internet().uuid())
+                .name(faker.name().fullName())
+                .email(faker.internet().emailAddress())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        messageRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("배치 크기보다 많은 메시지를 최신순 NDJSON으로 모두 내보낸다")
+    void stream_WritesAllMessagesNewestFirst() throws Exception {
+        List<Message> messages = saveMessages(1_200);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = messageHistoryStreamer.stream(roomId, null, 10_000, out);
+
+        List<JsonNode> lines = readLines(out);
+        assertThat(count).isEqualTo(1_200);
+        assertThat(lines).hasSize(1_200);
+        assertThat(lines.getFirst().get("_id").asText()).isEqualTo(messages.getLast().getId());
+        assertThat(lines.getLast().get("_id").asText()).isEqualTo(messages.getFirst().getId());
+        assertThat(lines.getFirst().get("sender").get("id").asText()).isEqualTo(sender.getId());
+    }
+
+    @Test
+    @DisplayName("최대 개수에서 잘리면 nextCursor 줄을 쓰고, 그 커서로 나머지를 이어받는다")
+    void stream_WithLimit_WritesNextCursorAndResumes() throws Exception {
+        List<Message> messages = saveMessages(25);
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        long firstCount = messageHistoryStreamer.stream(roomId, null, 10, first);
+
+        List<JsonNode> firstLines = readLines(first);
+        assertThat(firstCount).isEqualTo(10);
+        assertThat(firstLines).hasSize(11);
+        String nextCursor = firstLines.getLast().get("nextCursor").asText();
+        assertThat(MessageCursor.decode(nextCursor).messageId()).isEqualTo(messages.get(15).getId());
+
+        ByteArrayOutputStream rest = new ByteArrayOutputStream();
+        long restCount = messageHistoryStreamer.stream(roomId, MessageCursor.decode(nextCursor), 100, rest);
+
+        List<JsonNode> restLines = readLines(rest);
+        assertThat(restCount).isEqualTo(15);
+        assertThat(restLines).hasSize(15);
+        assertThat(restLines.getFirst().get("_id").asText()).isEqualTo(messages.get(14).getId());
+        assertThat(restLines.getLast().has("nextCursor")).isFalse();
+    }
+
+    private List<Message> saveMessages(int count) {
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).minusHours(1);
+        List<Message> messages = IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Message message = new Message();
+                    message.setRoomId(roomId);
+                    message.setSenderId(sender.getId());
+                    message.setContent(faker.lorem().sentence(5));
+                    message.setTimestamp(base.plus(i, ChronoUnit.MILLIS));
+                    message.setIsDeleted(false);
+                    return message;
+                })
+                .toList();
+        return messageRepository.saveAll(messages);
+    }
+
+    private List<JsonNode> readLines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,132 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageWriteBehindWriterTest {
+
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private MessageRepository messageRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MessageWriteBehindWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new MessageWriteBehindWriter(
+                mongoTemplate,
+                messageRepository,
+                meterRegistry,
+                100,
+                10,
+                Duration.ofMillis(20),
+                Duration.ofMillis(10),
+                2,
+                Duration.ofMillis(10));
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    void write_assignsIdAndPersistsInBatches() {
+        List<Message> inserted = new CopyOnWriteArrayList<>();
+        when(mongoTemplate.insert(anyCollection(), eq(Message.class))).thenAnswer(invocation -> {
+            Collection<Message> batch = invocation.getArgument(0);
+            inserted.addAll(batch);
+            return new ArrayList<>(batch);
+        });
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Message written = writer.write(message("hello " + i));
+            assertThat(written.getId()).isNotNull();
+            ids.add(written.getId());
+        }
+
+        verify(mongoTemplate, timeout(2000).atLeast(3)).insert(anyCollection(), eq(Message.class));
+        assertThat(inserted).extracting(Message::getId).containsExactlyElementsOf(ids);
+        verifyNoInteractions(messageRepository);
+        assertThat(meterRegistry.get("message.write_behind.flush.time").timer().count()).isPositive();
+    }
+
+    @Test
+    void write_fallsBackToIndividualSavesWhenBatchInsertFails() {
+        when(mongoTemplate.insert(anyCollection(), eq(Message.class)))
+                .thenThrow(new RuntimeException("mongo down"));
+
+        Message written = writer.write(message("hello"));
+
+        verify(messageRepository, timeout(2000)).save(written);
+        assertThat(meterRegistry.get("message.write_behind.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void write_retriesFailedSaveBeforeCountingItLost() {
+        when(mongoTemplate.insert(anyCollection(), eq(Message.class)))
+                .thenThrow(new RuntimeException("mongo down"));
+        when(messageRepository.save(any(Message.class))).thenThrow(new RuntimeException("still down"));
+
+        Message written = writer.write(message("hello"));
+
+        verify(messageRepository, timeout(2000).times(3)).save(written);
+        verify(messageRepository, after(100).times(3)).save(written);
+        assertThat(meterRegistry.get("message.write_behind.retries").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("message.write_behind.lost").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void write_persistsMessageWhenRetrySucceeds() {
+        when(mongoTemplate.insert(anyCollection(), eq(Message.class)))
+                .thenThrow(new RuntimeException("mongo down"));
+        when(messageRepository.save(any(Message.class)))
+                .thenThrow(new RuntimeException("still down"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Message written = writer.write(message("hello"));
+
+        verify(messageRepository, timeout(2000).times(2)).save(written);
+        assertThat(meterRegistry.get("message.write_behind.lost").counter().count()).isZero();
+    }
+
+    @Test
+    void write_savesSynchronouslyAfterStop() throws InterruptedException {
+        writer.stop();
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Message written = writer.write(message("late"));
+
+        verify(messageRepository).save(written);
+    }
+
+    private Message message(String content) {
+        Message message = new Message();
+        message.setRoomId("room-1");
+        message.setSenderId("user-1");
+        message.setContent(content);
+        return message;
+    }
+}
@@ -0,0 +1,119 @@
+package com.ktb.chatapp.service.message;
+
+import com.ktb.chatapp.config.MongoTestContainer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(MongoTestContainer.class)
+@TestPropertySource(properties = "socketio.enabled=false")
+@DisplayName("RoomSequenceAllocator 통합 테스트")
+class RoomSequenceAllocatorTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(RoomSequenceAllocator.COLLECTION);
+    }
+
+    @Test
+    @DisplayName("처음 쓰는 방은 순번 문서를 만들고 1부터 발급한다")
+    void next_UpsertsAndStartsAtOne() {
+        var allocator = new RoomSequenceAllocator(mongoTemplate, 10, 10_000);
+
+        assertThat(allocator.next("room-1")).isEqualTo(1);
+        assertThat(allocator.next("room-1")).isEqualTo(2);
+        assertThat(allocator.next("room-2")).isEqualTo(1);
+
+        Document stored = mongoTemplate.findById("room-1", Document.class, RoomSequenceAllocator.COLLECTION);
+        assertThat(stored).isNotNull();
+        assertThat(((Number) stored.get("seq")).longValue()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("구간을 다 쓰면 다음 구간을 예약해 계속 증가한다")
+    void next_IsMonotonicAcrossBlocks() {
+        var allocator = new RoomSequenceAllocator(mongoTemplate, 3, 10_000);
+
+        List<Long> issued = LongStream.range(0, 10).map(i -> allocator.next("room-1")).boxed().toList();
+
+        assertThat(issued).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    @DisplayName("다른 노드(인스턴스)는 겹치지 않는 구간을 받는다")
+    void next_DoesNotOverlapAcrossNodes() {
+        var nodeA = new RoomSequenceAllocator(mongoTemplate, 5, 10_000);
+        var nodeB = new RoomSequenceAllocator(mongoTemplate, 5, 10_000);
+
+        assertThat(nodeA.next("room-1")).isEqualTo(1);
+        assertThat(nodeB.next("room-1")).isEqualTo(6);
+        assertThat(nodeA.next("room-1")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("block-size=1이면 여러 노드가 번갈아 발급해도 방 순번이 단조 증가한다")
+    void next_IsMonotonicAcrossNodesWithSingleBlocks() {
+        var nodeA = new RoomSequenceAllocator(mongoTemplate, 1, 10_000);
+        var nodeB = new RoomSequenceAllocator(mongoTemplate, 1, 10_000);
+
+        assertThat(nodeA.next("room-1")).isEqualTo(1);
+        assertThat(nodeB.next("room-1")).isEqualTo(2);
+        assertThat(nodeA.next("room-1")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("동시에 발급해도 순번이 중복되지 않는다")
+    void next_IsUniqueUnderContention() throws Exception {
+        var allocator = new RoomSequenceAllocator(mongoTemplate, 7, 10_000);
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    issued.add(allocator.next("room-1"));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(issued).hasSize(400);
+        assertThat(issued).allMatch(seq -> seq >= 1 && seq <= 400);
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 직후 되돌린 순번은 다시 발급된다")
+    void release_ReusesLastSequence() {
+        var allocator = new RoomSequenceAllocator(mongoTemplate, 10, 10_000);
+        allocator.next("room-1");
+        long failed = allocator.next("room-1");
+
+        allocator.release("room-1", failed);
+
+        assertThat(allocator.next("room-1")).isEqualTo(failed);
+    }
+}
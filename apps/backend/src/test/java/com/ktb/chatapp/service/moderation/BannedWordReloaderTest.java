@@ -0,0 +1,75 @@
+package com.ktb.chatapp.service.moderation;
+
+import com.ktb.chatapp.util.BannedWordChecker;
+import com.ktb.chatapp.util.BannedWordDictionary;
+import com.ktb.chatapp.util.BannedWordDictionaryLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BannedWordReloaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path dictionaryFile;
+    private SimpleMeterRegistry meterRegistry;
+    private BannedWordChecker checker;
+    private BannedWordReloader reloader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dictionaryFile = tempDir.resolve("banned.txt");
+        Files.writeString(dictionaryFile, "alpha\nbravo\n");
+
+        BannedWordDictionaryLoader loader =
+                new BannedWordDictionaryLoader(new DefaultResourceLoader(), dictionaryFile.toUri().toString());
+        BannedWordDictionary dictionary = loader.load();
+        checker = new BannedWordChecker(dictionary.words(), dictionary.checksum());
+        meterRegistry = new SimpleMeterRegistry();
+        reloader = new BannedWordReloader(checker, loader, meterRegistry, Duration.ZERO);
+        reloader.start();
+    }
+
+    @Test
+    void reload_swapsMatcherWhenDictionaryChanges() throws IOException {
+        assertThat(checker.containsBannedWord("charlie here")).isFalse();
+
+        Files.writeString(dictionaryFile, "alpha\ncharlie\n");
+        BannedWordReloader.ReloadResult result = reloader.reload(false);
+
+        assertThat(result.reloaded()).isTrue();
+        assertThat(result.version()).isEqualTo(2);
+        assertThat(checker.containsBannedWord("charlie here")).isTrue();
+        assertThat(checker.containsBannedWord("bravo here")).isFalse();
+        assertThat(meterRegistry.get("banned_word.dictionary.version").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("banned_word.reload.time").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reload_skipsUnchangedDictionary() {
+        BannedWordReloader.ReloadResult result = reloader.reload(false);
+
+        assertThat(result.reloaded()).isFalse();
+        assertThat(checker.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void reload_keepsPreviousMatcherWhenDictionaryIsInvalid() throws IOException {
+        Files.writeString(dictionaryFile, "   \n");
+
+        assertThatThrownBy(() -> reloader.reload(false)).isInstanceOf(IllegalStateException.class);
+        assertThat(checker.containsBannedWord("alpha")).isTrue();
+        assertThat(checker.getVersion()).isEqualTo(1);
+        assertThat(meterRegistry.get("banned_word.reload.failures").counter().count()).isEqualTo(1.0);
+    }
+}
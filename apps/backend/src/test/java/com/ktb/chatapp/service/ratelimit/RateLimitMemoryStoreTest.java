@@ -0,0 +1,172 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitMemoryStore 단위 테스트")
+class RateLimitMemoryStoreTest {
+
+    private MutableClock clock;
+    private RateLimitMemoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        store = new RateLimitMemoryStore(clock, 1_000, Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("한도까지 허용하고 남은 횟수가 감소한다")
+    void checkAndIncrement_decrementsRemaining() {
+        for (int expectedRemaining = 4; expectedRemaining >= 0; expectedRemaining--) {
+            RateLimitCheckResult result = store.checkAndIncrement("client", 5, Duration.ofSeconds(60));
+            assertThat(result.allowed()).isTrue();
+            assertThat(result.remaining()).isEqualTo(expectedRemaining);
+        }
+    }
+
+    @Test
+    @DisplayName("한도를 초과하면 차단되고 retryAfter만큼 지나면 다시 허용된다")
+    void checkAndIncrement_rejectsUntilTokenRefills() {
+        for (int i = 0; i < 5; i++) {
+            store.checkAndIncrement("client", 5, Duration.ofSeconds(60));
+        }
+
+        RateLimitCheckResult rejected = store.checkAndIncrement("client", 5, Duration.ofSeconds(60));
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.retryAfterSeconds()).isEqualTo(12);
+        assertThat(rejected.resetEpochSeconds())
+                .isEqualTo(clock.instant().getEpochSecond() + rejected.retryAfterSeconds());
+
+        clock.advance(Duration.ofSeconds(12));
+        RateLimitCheckResult allowed = store.checkAndIncrement("client", 5, Duration.ofSeconds(60));
+        assertThat(allowed.allowed()).isTrue();
+        assertThat(allowed.remaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("클라이언트별로 독립적인 버킷을 갖는다")
+    void checkAndIncrement_isolatesClients() {
+        store.checkAndIncrement("a", 1, Duration.ofSeconds(60));
+        assertThat(store.checkAndIncrement("a", 1, Duration.ofSeconds(60)).allowed()).isFalse();
+        assertThat(store.checkAndIncrement("b", 1, Duration.ofSeconds(60)).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("동시 요청에서도 정확히 한도만큼만 허용한다")
+    void checkAndIncrement_isExactUnderContention() throws InterruptedException {
+        int limit = 1_000;
+        int threads = 8;
+        int perThread = 500;
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    if (store.checkAndIncrement("hot", limit, Duration.ofSeconds(60)).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(limit);
+    }
+
+    @Test
+    @DisplayName("가득 찬 버킷은 스윕 시 제거된다")
+    void checkAndIncrement_evictsRefilledBuckets() {
+        for (int i = 0; i < 100; i++) {
+            store.checkAndIncrement("client-" + i, 10, Duration.ofSeconds(1));
+        }
+        assertThat(store.size()).isEqualTo(100);
+
+        clock.advance(Duration.ofSeconds(11));
+        store.checkAndIncrement("fresh", 10, Duration.ofSeconds(1));
+
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("스윕 주기 전에는 버킷 수가 많아도 스윕하지 않는다")
+    void checkAndIncrement_sweepsOnlyOnSchedule() {
+        store.checkAndIncrement("client-0", 10, Duration.ofSeconds(1));
+        clock.advance(Duration.ofSeconds(2));
+        for (int i = 1; i < 100; i++) {
+            store.checkAndIncrement("client-" + i, 10, Duration.ofSeconds(1));
+        }
+
+        // client-0은 이미 가득 찼지만 다음 스윕 시각(10초 후) 전이므로 남아 있다
+        assertThat(store.size()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("max-entries를 넘는 버킷은 제거되어 크기가 한도를 넘지 않는다")
+    void checkAndIncrement_boundsBucketCount() {
+        store = new RateLimitMemoryStore(clock, 10, Duration.ofHours(1));
+        for (int i = 0; i < 100; i++) {
+            store.checkAndIncrement("client-" + i, 10, Duration.ofSeconds(60));
+        }
+
+        assertThat(store.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("스윕으로 제거된 클라이언트는 새 버킷에서 다시 계산된다")
+    void checkAndIncrement_refetchesSweptBucket() {
+        store.checkAndIncrement("client", 1, Duration.ofSeconds(1));
+        clock.advance(Duration.ofSeconds(11));
+
+        assertThat(store.checkAndIncrement("client", 1, Duration.ofSeconds(1)).allowed()).isTrue();
+        assertThat(store.checkAndIncrement("client", 1, Duration.ofSeconds(1)).allowed()).isFalse();
+        assertThat(store.findByClientId("client")).isPresent();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@DisplayName("RateLimitRedisStore 통합 테스트")
+class RateLimitRedisStoreTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine")
+            .withExposedPorts(6379);
+
+    private RedissonClient redissonClient;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitRedisStore store;
+
+    @BeforeEach
+    void setUp() {
+        Config config = new Config();
+        config.useSingleServer()
+                .setAddress("redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379))
+                .setRetryAttempts(0)
+                .setTimeout(1000);
+        redissonClient = Redisson.create(config);
+        redissonClient.getKeys().flushall();
+        meterRegistry = new SimpleMeterRegistry();
+        store = newStore(redissonClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (!redissonClient.isShutdown()) {
+            redissonClient.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("한도까지 허용하고 초과 요청은 차단한다")
+    void checkAndIncrement_enforcesLimit() {
+        for (int expectedRemaining = 2; expectedRemaining >= 0; expectedRemaining--) {
+            RateLimitCheckResult result = store.checkAndIncrement("client", 3, Duration.ofSeconds(60));
+            assertThat(result.allowed()).isTrue();
+            assertThat(result.remaining()).isEqualTo(expectedRemaining);
+        }
+
+        RateLimitCheckResult rejected = store.checkAndIncrement("client", 3, Duration.ofSeconds(60));
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isBetween(1L, 60L);
+        assertThat(redissonClient.getKeys().countExists(RateLimitRedisStore.KEY_PREFIX + "client")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("여러 노드가 같은 버킷을 공유한다")
+    void checkAndIncrement_sharesBucketAcrossNodes() {
+        RateLimitRedisStore otherNode = newStore(redissonClient);
+
+        assertThat(store.checkAndIncrement("shared", 2, Duration.ofSeconds(60)).allowed()).isTrue();
+        assertThat(otherNode.checkAndIncrement("shared", 2, Duration.ofSeconds(60)).allowed()).isTrue();
+        assertThat(store.checkAndIncrement("shared", 2, Duration.ofSeconds(60)).allowed()).isFalse();
+        assertThat(store.isClusterWide()).isTrue();
+    }
+
+    @Test
+    @DisplayName("스크립트 캐시가 비워져도 다시 적재하여 처리한다")
+    void checkAndIncrement_recoversFromScriptFlush() {
+        store.checkAndIncrement("client", 5, Duration.ofSeconds(60));
+        redissonClient.getScript().scriptFlush();
+
+        RateLimitCheckResult result = store.checkAndIncrement("client", 5, Duration.ofSeconds(60));
+
+        assertThat(result.allowed()).isTrue();
+        assertThat(result.remaining()).isEqualTo(3);
+        assertThat(meterRegistry.get("ratelimit.redis.fallback").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Redis를 사용할 수 없으면 로컬 limiter로 대체한다")
+    void checkAndIncrement_fallsBackToLocalLimiter() {
+        redissonClient.shutdown();
+
+        RateLimitCheckResult first = store.checkAndIncrement("client", 2, Duration.ofSeconds(60));
+        RateLimitCheckResult second = store.checkAndIncrement("client", 2, Duration.ofSeconds(60));
+        RateLimitCheckResult third = store.checkAndIncrement("client", 2, Duration.ofSeconds(60));
+
+        assertThat(first.allowed()).isTrue();
+        assertThat(second.allowed()).isTrue();
+        assertThat(third.allowed()).isFalse();
+        assertThat(meterRegistry.get("ratelimit.redis.fallback").counter().count()).isEqualTo(3.0);
+    }
+
+    private RateLimitRedisStore newStore(RedissonClient client) {
+        return new RateLimitRedisStore(
+                client, meterRegistry, Duration.ofSeconds(30), 1_000, Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,158 @@
+package com.ktb.chatapp.service.readstatus;
+
+import com.ktb.chatapp.config.MongoTestContainer;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.model.RoomReadWatermark;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomReadWatermarkRepository;
+import com.ktb.chatapp.service.MessageReadStatusService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(MongoTestContainer.class)
+@TestPropertySource(properties = {
+        "socketio.enabled=false",
+        "chatapp.read-status.mode=watermark",
+        "chatapp.read-status.coalesce-window=0s",
+        "chatapp.read-status.watermark.expand-readers=true",
+        "chatapp.read-status.watermark.migrate=true"
+})
+@DisplayName("워터마크 읽음 상태 통합 테스트")
+class WatermarkReadStatusStoreTest {
+
+    private static final String ROOM_ID = "watermark-room";
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private RoomReadWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private MessageReadStatusService messageReadStatusService;
+
+    @Autowired
+    private ReadWatermarkMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll(messageRepository.findAll().stream()
+                .filter(message -> ROOM_ID.equals(message.getRoomId()))
+                .toList());
+        watermarkRepository.deleteAll(watermarkRepository.findByRoomId(ROOM_ID));
+    }
+
+    @Test
+    @DisplayName("읽음 처리는 메시지 문서 대신 워터마크만 전진시킨다")
+    void updateReadStatus_AdvancesWatermark() throws InterruptedException {
+        List<Message> messages = saveMessages(3);
+
+        messageReadStatusService.updateReadStatus(ids(messages.subList(0, 2)), "reader-1");
+
+        assertThat(watermarkOf("reader-1")).isEqualTo(reloaded(messages.get(1)).getTimestamp());
+        assertThat(reloaded(messages.get(0)).getReaders()).isEmpty();
+
+        // 이전 메시지를 다시 읽어도 워터마크는 뒤로 가지 않는다
+        messageReadStatusService.updateReadStatus(ids(messages.subList(0, 1)), "reader-1");
+        assertThat(watermarkOf("reader-1")).isEqualTo(reloaded(messages.get(1)).getTimestamp());
+    }
+
+    @Test
+    @DisplayName("워터마크로 메시지별 readers를 계산한다")
+    void applyWatermarks_ExpandsReaders() throws InterruptedException {
+        List<Message> messages = saveMessages(3);
+        messageReadStatusService.updateReadStatus(ids(messages.subList(0, 2)), "reader-1");
+        messageReadStatusService.updateReadStatus(ids(messages), "reader-2");
+
+        List<Message> loaded = messages.stream().map(this::reloaded).toList();
+        messageReadStatusService.applyWatermarks(loaded, messageReadStatusService.findWatermarks(ROOM_ID));
+
+        assertThat(readerIds(loaded.get(0))).containsExactlyInAnyOrder("reader-1", "reader-2");
+        assertThat(readerIds(loaded.get(1))).containsExactlyInAnyOrder("reader-1", "reader-2");
+        assertThat(readerIds(loaded.get(2))).containsExactly("reader-2");
+    }
+
+    @Test
+    @DisplayName("아직 저장되지 않은 요청자의 읽음을 조회한 워터마크에 반영한다")
+    void findWatermarks_IncludesCallersOwnRead() throws InterruptedException {
+        List<Message> messages = saveMessages(3);
+        messageReadStatusService.updateReadStatus(ids(messages), "reader-2");
+        LocalDateTime latest = reloaded(messages.get(2)).getTimestamp();
+        LocalDateTime older = reloaded(messages.get(0)).getTimestamp();
+
+        List<RoomReadWatermark> watermarks = messageReadStatusService.findWatermarks(ROOM_ID, "reader-1", latest);
+        assertThat(watermarks)
+                .extracting(RoomReadWatermark::getUserId, RoomReadWatermark::getLastReadAt)
+                .containsExactlyInAnyOrder(
+                        org.assertj.core.groups.Tuple.tuple("reader-1", latest),
+                        org.assertj.core.groups.Tuple.tuple("reader-2", latest));
+        assertThat(watermarkOf("reader-1")).isNull();
+
+        // 저장된 워터마크가 더 앞서 있으면 뒤로 돌리지 않는다
+        assertThat(messageReadStatusService.findWatermarks(ROOM_ID, "reader-2", older))
+                .extracting(RoomReadWatermark::getLastReadAt)
+                .containsExactly(latest);
+    }
+
+    @Test
+    @DisplayName("기존 readers 배열을 워터마크로 마이그레이션한다")
+    void migrate_BuildsWatermarksFromReaders() throws InterruptedException {
+        List<Message> messages = saveMessages(3);
+        Message.MessageReader reader = new Message.MessageReader("legacy-reader", LocalDateTime.now());
+        Message read = reloaded(messages.get(1));
+        read.getReaders().add(reader);
+        messageRepository.save(read);
+
+        migration.migrate();
+        migration.migrate();
+
+        assertThat(watermarkRepository.findByRoomId(ROOM_ID)).hasSize(1);
+        assertThat(watermarkOf("legacy-reader")).isEqualTo(read.getTimestamp());
+    }
+
+    private List<Message> saveMessages(int count) throws InterruptedException {
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(messageRepository.save(Message.builder()
+                    .roomId(ROOM_ID)
+                    .senderId("sender")
+                    .content("message " + i)
+                    .type(MessageType.text)
+                    .build()));
+            Thread.sleep(5);
+        }
+        return messages;
+    }
+
+    private List<String> ids(List<Message> messages) {
+        return messages.stream().map(Message::getId).toList();
+    }
+
+    private Message reloaded(Message message) {
+        return messageRepository.findById(message.getId()).orElseThrow();
+    }
+
+    private LocalDateTime watermarkOf(String userId) {
+        return watermarkRepository.findByRoomId(ROOM_ID).stream()
+                .filter(watermark -> userId.equals(watermark.getUserId()))
+                .map(RoomReadWatermark::getLastReadAt)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private List<String> readerIds(Message message) {
+        return message.getReaders().stream().map(Message.MessageReader::getUserId).toList();
+    }
+}
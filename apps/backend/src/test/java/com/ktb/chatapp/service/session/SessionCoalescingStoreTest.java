@@ -0,0 +1,159 @@
+package com.ktb.chatapp.service.session;
+
+import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.repository.SessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionCoalescingStore 테스트")
+class SessionCoalescingStoreTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Mock private SessionRepository sessionRepository;
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private BulkOperations bulkOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private SessionCoalescingStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new SessionCoalescingStore(sessionRepository, mongoTemplate, meterRegistry,
+                Duration.ofSeconds(30), Duration.ofSeconds(1), Duration.ofSeconds(1), clock::get);
+    }
+
+    @Test
+    @DisplayName("slack 이내의 lastActivity 갱신은 저장소에 쓰지 않고 조회에 반영한다")
+    void save_CoalescesTouchWithinSlack() {
+        Session stored = session("session-1", 1_000L);
+        when(sessionRepository.findByUserId(USER_ID)).thenReturn(Optional.of(stored));
+
+        Session read = store.findByUserId(USER_ID).orElseThrow();
+        read.setLastActivity(5_000L);
+        store.save(read);
+
+        assertThat(store.findByUserId(USER_ID)).map(Session::getLastActivity).contains(5_000L);
+        verify(sessionRepository, never()).save(any());
+        assertThat(meterRegistry.get("session.coalescing.saves.skipped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("read-cache-ttl 안의 조회는 MongoDB를 다시 읽지 않는다")
+    void findByUserId_ServesFromCacheWithinTtl() {
+        when(sessionRepository.findByUserId(USER_ID)).thenReturn(Optional.of(session("session-1", 1_000L)));
+
+        store.findByUserId(USER_ID);
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        store.findByUserId(USER_ID);
+
+        verify(sessionRepository, times(1)).findByUserId(USER_ID);
+        assertThat(meterRegistry.get("session.coalescing.cache.hits").counter().count()).isEqualTo(1.0);
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        store.findByUserId(USER_ID);
+
+        verify(sessionRepository, times(2)).findByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("캐시된 세션을 호출자가 바꿔도 다음 조회에 영향을 주지 않는다")
+    void findByUserId_ReturnsIndependentCopies() {
+        when(sessionRepository.findByUserId(USER_ID)).thenReturn(Optional.of(session("session-1", 1_000L)));
+
+        store.findByUserId(USER_ID).orElseThrow().setSessionId("tampered");
+
+        assertThat(store.findByUserId(USER_ID)).map(Session::getSessionId).contains("session-1");
+    }
+
+    @Test
+    @DisplayName("새 세션 저장은 MongoDB에 바로 쓰고 캐시를 교체한다")
+    void save_NewSessionWritesThroughAndReplacesCache() {
+        when(sessionRepository.findByUserId(USER_ID)).thenReturn(Optional.of(session("session-1", 1_000L)));
+        store.findByUserId(USER_ID);
+
+        Session created = session("session-2", 2_000L);
+        when(sessionRepository.save(created)).thenReturn(created);
+        store.save(created);
+
+        assertThat(store.findByUserId(USER_ID)).map(Session::getSessionId).contains("session-2");
+        verify(sessionRepository, times(1)).findByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("삭제하면 캐시도 지워 다음 조회는 MongoDB를 읽는다")
+    void deleteAll_EvictsCache() {
+        when(sessionRepository.findByUserId(USER_ID))
+                .thenReturn(Optional.of(session("session-1", 1_000L)))
+                .thenReturn(Optional.empty());
+        store.findByUserId(USER_ID);
+
+        store.deleteAll(USER_ID);
+
+        assertThat(store.findByUserId(USER_ID)).isEmpty();
+        verify(sessionRepository).deleteByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("flush는 밀린 lastActivity를 한 번의 bulk로 쓴다")
+    void flush_WritesPendingActivityInBulk() {
+        when(sessionRepository.findByUserId(USER_ID)).thenReturn(Optional.of(session("session-1", 1_000L)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Session.class)).thenReturn(bulkOperations);
+        Session read = store.findByUserId(USER_ID).orElseThrow();
+        read.setLastActivity(5_000L);
+        store.save(read);
+
+        store.flush(true);
+
+        verify(bulkOperations).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations).execute();
+        assertThat(meterRegistry.get("session.coalescing.flushed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("slack보다 적게 밀린 값은 주기 flush에서 쓰지 않는다")
+    void flush_SkipsActivityWithinSlack() {
+        when(sessionRepository.findByUserId(USER_ID)).thenReturn(Optional.of(session("session-1", 1_000L)));
+        Session read = store.findByUserId(USER_ID).orElseThrow();
+        read.setLastActivity(5_000L);
+        store.save(read);
+
+        store.flush(false);
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private Session session(String sessionId, long lastActivity) {
+        return Session.builder()
+                .id("id-" + sessionId)
+                .userId(USER_ID)
+                .sessionId(sessionId)
+                .createdAt(lastActivity)
+                .lastActivity(lastActivity)
+                .expiresAt(Instant.now().plusSeconds(1800))
+                .build();
+    }
+}
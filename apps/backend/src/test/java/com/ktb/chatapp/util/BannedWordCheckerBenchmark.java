@@ -0,0 +1,82 @@
+package com.ktb.chatapp.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 기존 String.contains 순회 방식과 Aho-Corasick 매처 비교 벤치마크.
+ * backend 디렉터리에서 main을 실행한다 (사전 파일을 상대 경로로 읽는다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BannedWordCheckerBenchmark {
+
+    private static final Path WORD_LIST_PATH =
+            Path.of("src/main/resources/fake_banned_words_10k.txt");
+
+    @Param({"clean", "banned"})
+    private String messageKind;
+
+    private Set<String> words;
+    private BannedWordChecker automaton;
+    private String message;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> loaded = Files.readAllLines(WORD_LIST_PATH).stream()
+                .map(String::trim)
+                .filter(word -> !word.isEmpty())
+                .toList();
+        words = loaded.stream()
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        automaton = new BannedWordChecker(Set.copyOf(loaded));
+
+        String base = "안녕하세요 오늘 회의는 세시에 시작합니다. Please review the deployment notes before joining!";
+        message = "banned".equals(messageKind)
+                ? base + " " + loaded.get(loaded.size() / 2)
+                : base;
+    }
+
+    @Benchmark
+    public boolean naiveContains() {
+        String normalized = message.toLowerCase(Locale.ROOT);
+        return words.stream().anyMatch(normalized::contains);
+    }
+
+    @Benchmark
+    public boolean ahoCorasick() {
+        return automaton.containsBannedWord(message);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BannedWordCheckerBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -5,9 +5,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -54,4 +57,62 @@ class BannedWordCheckerTest {
         assertFalse(checker.containsBannedWord(null));
         assertFalse(checker.containsBannedWord("   "));
     }
+
+    @Test
+    void containsBannedWord_ignoresCase() {
+        BannedWordChecker checker = new BannedWordChecker(Set.of("BadWord"));
+        assertTrue(checker.containsBannedWord("this is a bAdWoRd!"));
+    }
+
+    @Test
+    void containsBannedWord_matchesEveryDictionaryWord() {
+        BannedWordChecker checker = new BannedWordChecker(BANNED_WORDS);
+        for (String word : LOADED_WORDS) {
+            assertTrue(checker.containsBannedWord("x " + word.toUpperCase(Locale.ROOT) + " y"), word);
+        }
+    }
+
+    @Test
+    void findFirstMatch_reportsWordAndPosition() {
+        BannedWordChecker checker = new BannedWordChecker(Set.of("abc", "bcd", "cd"));
+        BannedWordMatch match = checker.findFirstMatch("xxabcd").orElseThrow();
+        assertEquals("abc", match.word());
+        assertEquals(2, match.start());
+        assertEquals(5, match.end());
+    }
+
+    @Test
+    void findFirstMatch_followsFailureLinksToShorterSuffix() {
+        // "abcd" 경로의 "abc" 상태에서도 접미사 "bc" 매칭을 보고해야 한다
+        BannedWordChecker checker = new BannedWordChecker(Set.of("abcd", "bc"));
+        BannedWordMatch match = checker.findFirstMatch("zabcx").orElseThrow();
+        assertEquals("bc", match.word());
+        assertEquals(2, match.start());
+        assertEquals(4, match.end());
+    }
+
+    @Test
+    void findFirstMatch_returnsEmptyForCleanInput() {
+        BannedWordChecker checker = new BannedWordChecker(BANNED_WORDS);
+        assertTrue(checker.findFirstMatch("safe message without banned tokens").isEmpty());
+        assertTrue(checker.findFirstMatch(null).isEmpty());
+    }
+
+    @Test
+    void matcher_agreesWithNaiveContainsOnRandomInput() {
+        BannedWordChecker checker = new BannedWordChecker(BANNED_WORDS);
+        Random random = new Random(42);
+        String alphabet = "abcdefghijklmnopqrstuvwxyz0123456789 ";
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder message = new StringBuilder();
+            int length = 5 + random.nextInt(60);
+            for (int j = 0; j < length; j++) {
+                message.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String text = message.toString();
+            boolean expected = BANNED_WORDS.stream()
+                    .anyMatch(word -> text.contains(word.toLowerCase(Locale.ROOT)));
+            assertEquals(expected, checker.containsBannedWord(text), text);
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatJsonSupportTest {
+
+    private final ChatJsonSupport jsonSupport = new ChatJsonSupport(new JavaTimeModule());
+
+    @Test
+    void preEncodedPayload_EncodesSameAsOriginalPayload() throws Exception {
+        MessageResponse response = MessageResponse.builder()
+                .id("message-1")
+                .roomId("room-1")
+                .content("안녕하세요 \"quoted\" \n line 🎉")
+                .type(MessageType.text)
+                .timestamp(1_700_000_000_000L)
+                .sender(UserResponse.builder().id("user-1").name("tester").build())
+                .reactions(Map.of("👍", Set.of("user-2")))
+                .readers(List.of(new Message.MessageReader("user-2", LocalDateTime.of(2025, 1, 1, 12, 0))))
+                .build();
+
+        String direct = encode(List.of(SocketIOEvents.MESSAGE, response));
+        String preEncoded = encode(List.of(SocketIOEvents.MESSAGE, jsonSupport.preEncode(response)));
+
+        assertThat(preEncoded).isEqualTo(direct);
+    }
+
+    private String encode(Object value) throws Exception {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            jsonSupport.writeValue(new ByteBufOutputStream(buf), value);
+            return buf.toString(StandardCharsets.UTF_8);
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.HandshakeData;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.DUPLICATE_LOGIN;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.SESSION_ENDED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DuplicateLoginNotifier 테스트")
+class DuplicateLoginNotifierTest {
+
+    private final SocketIOServer socketIOServer = mock(SocketIOServer.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DuplicateLoginNotifier notifier;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        notifier = new DuplicateLoginNotifier(socketIOServer, mock(ObjectProvider.class), new ObjectMapper(),
+                meterRegistry, Duration.ofMillis(50));
+        notifier.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notifier.stop();
+    }
+
+    @Test
+    @DisplayName("이 노드의 이전 소켓에 duplicate_login을 보내고 지연 후 session_ended를 보낸다")
+    void notifyPrevious_SendsDuplicateLoginThenSessionEnded() {
+        UUID previousSocketId = UUID.randomUUID();
+        SocketIOClient previousClient = mock(SocketIOClient.class);
+        when(socketIOServer.getClient(previousSocketId)).thenReturn(previousClient);
+
+        notifier.notifyPrevious(new SocketUser("user-1", "tester", "session-1", previousSocketId.toString()),
+                newClient());
+
+        verify(previousClient).sendEvent(eq(DUPLICATE_LOGIN), any());
+        verify(previousClient, never()).sendEvent(eq(SESSION_ENDED), any());
+        verify(previousClient, timeout(2_000)).sendEvent(eq(SESSION_ENDED), any());
+        assertThat(meterRegistry.get("socketio.duplicate_login.notified").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("이전 소켓이 이 노드에 없으면 아무것도 보내지 않는다")
+    void deliver_IgnoresUnknownSocket() {
+        notifier.deliver(new DuplicateLoginNotifier.DuplicateLoginNotice(
+                "user-1", UUID.randomUUID().toString(), "agent", "/127.0.0.1:1234", 0L));
+
+        assertThat(meterRegistry.get("socketio.duplicate_login.notified").counter().count()).isZero();
+    }
+
+    private SocketIOClient newClient() {
+        SocketIOClient client = mock(SocketIOClient.class);
+        HandshakeData handshakeData = mock(HandshakeData.class);
+        when(handshakeData.getHttpHeaders()).thenReturn(new DefaultHttpHeaders().add("User-Agent", "test-agent"));
+        when(client.getHandshakeData()).thenReturn(handshakeData);
+        when(client.getRemoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 1234));
+        return client;
+    }
+}
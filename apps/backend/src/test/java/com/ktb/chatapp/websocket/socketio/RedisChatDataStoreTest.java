@@ -0,0 +1,149 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@DisplayName("RedisChatDataStore 통합 테스트")
+class RedisChatDataStoreTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine")
+            .withExposedPorts(6379);
+
+    private RedissonClient redissonClient;
+    private RedisChatDataStore store;
+
+    @BeforeEach
+    void setUp() {
+        Config config = new Config();
+        config.useSingleServer()
+                .setAddress("redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379))
+                .setRetryAttempts(0)
+                .setTimeout(1000);
+        redissonClient = Redisson.create(config);
+        redissonClient.getKeys().flushall();
+        store = new RedisChatDataStore(redissonClient, new ObjectMapper(), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (!redissonClient.isShutdown()) {
+            redissonClient.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("다른 노드의 저장소 인스턴스에서도 접속 사용자를 읽을 수 있다")
+    void set_VisibleFromOtherNode() {
+        SocketUser user = new SocketUser("user-1", "tester", "session-1", "socket-1");
+        store.set("conn_users:userid:user-1", user);
+
+        var otherNode = new RedisChatDataStore(redissonClient, new ObjectMapper(), Duration.ofMinutes(1));
+
+        assertThat(otherNode.get("conn_users:userid:user-1", SocketUser.class)).contains(user);
+        assertThat(redissonClient.getKeys().countExists(RedisChatDataStore.KEY_PREFIX + "conn_users:userid:user-1"))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("참여 방 Set을 저장하고 삭제한다")
+    void setAndDelete_RoomSet() {
+        store.set("userroom:roomids:user-1", Set.of("room-1", "room-2"));
+
+        assertThat(store.get("userroom:roomids:user-1", Set.class)).contains(Set.of("room-1", "room-2"));
+
+        store.delete("userroom:roomids:user-1");
+
+        assertThat(store.get("userroom:roomids:user-1", Set.class)).isEmpty();
+        assertThat(redissonClient.getKeys().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Set 멤버를 추가/삭제/조회하고 비면 키를 지운다")
+    void members_AddRemoveAndCount() {
+        store.addMember("userroom:roomids:user-1", "room-1");
+        store.addMember("userroom:roomids:user-1", "room-2");
+        store.addMember("userroom:roomids:user-1", "room-1");
+
+        assertThat(store.getMembers("userroom:roomids:user-1")).containsExactlyInAnyOrder("room-1", "room-2");
+        assertThat(store.countMembers("userroom:roomids:user-1")).isEqualTo(2);
+        assertThat(store.isMember("userroom:roomids:user-1", "room-2")).isTrue();
+        assertThat(store.isMember("userroom:roomids:user-1", "room-3")).isFalse();
+
+        store.removeMember("userroom:roomids:user-1", "room-1");
+        store.removeMember("userroom:roomids:user-1", "room-2");
+
+        assertThat(store.getMembers("userroom:roomids:user-1")).isEmpty();
+        assertThat(store.countMembers("userroom:roomids:user-1")).isZero();
+        assertThat(redissonClient.getKeys().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("여러 노드가 동시에 추가해도 멤버가 유실되지 않는다")
+    void addMember_ConcurrentNodesDoNotLoseUpdates() throws Exception {
+        var otherNode = new RedisChatDataStore(redissonClient, new ObjectMapper(), Duration.ofMinutes(1));
+        int rooms = 50;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < rooms; i++) {
+                RedisChatDataStore node = i % 2 == 0 ? store : otherNode;
+                String roomId = "room-" + i;
+                executor.submit(() -> {
+                    start.await();
+                    node.addMember("userroom:roomids:user-1", roomId);
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(store.countMembers("userroom:roomids:user-1")).isEqualTo(rooms);
+    }
+
+    @Test
+    @DisplayName("TTL이 지난 Set 멤버는 조회되지 않는다")
+    void members_ExpireAfterTtl() throws Exception {
+        var shortLived = new RedisChatDataStore(redissonClient, new ObjectMapper(), Duration.ofMillis(200));
+        shortLived.addMember("conn_users:index", "user-1");
+
+        Thread.sleep(300);
+        shortLived.addMember("conn_users:index", "user-2");
+
+        assertThat(shortLived.getMembers("conn_users:index")).containsExactly("user-2");
+        assertThat(shortLived.isMember("conn_users:index", "user-1")).isFalse();
+        assertThat(shortLived.countMembers("conn_users:index")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TTL이 지나면 항목이 사라진다")
+    void set_ExpiresAfterTtl() throws Exception {
+        var shortLived = new RedisChatDataStore(redissonClient, new ObjectMapper(), Duration.ofMillis(200));
+        shortLived.set("conn_users:userid:user-1", new SocketUser("user-1", "tester", "session-1", "socket-1"));
+
+        Thread.sleep(500);
+
+        assertThat(shortLived.get("conn_users:userid:user-1", SocketUser.class)).isEmpty();
+    }
+}
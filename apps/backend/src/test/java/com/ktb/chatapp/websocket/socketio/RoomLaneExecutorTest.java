@@ -0,0 +1,103 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RoomLaneExecutor 테스트")
+class RoomLaneExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RoomLaneExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new RoomLaneExecutor(meterRegistry, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 방의 작업은 여러 스레드에서 제출해도 제출 순서대로 실행된다")
+    void execute_SerializesSameRoom() throws Exception {
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            int n = i;
+            executor.execute("room-1", () -> handled.add(n));
+        }
+
+        waitUntil(() -> handled.size() == 100);
+        assertThat(handled).isEqualTo(IntStream.range(0, 100).boxed().toList());
+        assertThat(meterRegistry.get("room.lane.queue.wait").timer().count()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("다른 lane의 방은 느린 방에 막히지 않는다")
+    void execute_OtherLaneNotBlocked() throws Exception {
+        String slowRoom = "room-slow";
+        String otherRoom = roomOnOtherLane(slowRoom);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+
+        executor.execute(slowRoom, () -> awaitLatch(release));
+        executor.execute(otherRoom, otherDone::countDown);
+
+        assertThat(otherDone.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("작업이 예외를 던져도 lane은 다음 작업을 계속 실행한다")
+    void execute_ContinuesAfterFailure() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute("room-1", () -> {
+            throw new IllegalStateException("boom");
+        });
+        executor.execute("room-1", done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private String roomOnOtherLane(String roomId) {
+        List<String> candidates = new ArrayList<>();
+        for (int i = 0; candidates.isEmpty(); i++) {
+            String candidate = "room-" + i;
+            if (executor.laneOf(candidate) != executor.laneOf(roomId)) {
+                candidates.add(candidate);
+            }
+        }
+        return candidates.getFirst();
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 채팅방 브로드캐스트 1회(수신자 수만큼 패킷 인코딩)의 CPU 비용 비교 벤치마크.
+ * perRecipient: 기존 방식, 수신자마다 MessageResponse를 직렬화
+ * preEncoded: SocketIOBroadcaster 방식, 한 번 직렬화한 뒤 수신자마다 JSON 문자열만 복사
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SocketIOBroadcastBenchmark {
+
+    @Param({"100", "1000"})
+    private int recipients;
+
+    private ChatJsonSupport jsonSupport;
+    private MessageResponse response;
+
+    @Setup
+    public void setUp() {
+        jsonSupport = new ChatJsonSupport(new JavaTimeModule());
+
+        LocalDateTime now = LocalDateTime.now();
+        response = MessageResponse.builder()
+                .id("6650f1a2b3c4d5e6f7a8b9c0")
+                .roomId("6650f1a2b3c4d5e6f7a8b9c1")
+                .content("안녕하세요 오늘 회의는 세시에 시작합니다. Please review the deployment notes before joining!")
+                .type(MessageType.text)
+                .timestamp(System.currentTimeMillis())
+                .sender(UserResponse.builder()
+                        .id("6650f1a2b3c4d5e6f7a8b9c2")
+                        .name("tester")
+                        .email("tester@example.com")
+                        .profileImage("")
+                        .build())
+                .reactions(Map.of("👍", Set.of("user-1", "user-2"), "🎉", Set.of("user-3")))
+                .readers(IntStream.range(0, 10)
+                        .mapToObj(i -> new Message.MessageReader("user-" + i, now))
+                        .collect(Collectors.toList()))
+                .metadata(Map.of())
+                .build();
+    }
+
+    @Benchmark
+    public void perRecipient(Blackhole blackhole) throws IOException {
+        for (int i = 0; i < recipients; i++) {
+            blackhole.consume(encode(List.of(SocketIOEvents.MESSAGE, response)));
+        }
+    }
+
+    @Benchmark
+    public void preEncoded(Blackhole blackhole) throws IOException {
+        PreEncodedPayload payload = jsonSupport.preEncode(response);
+        for (int i = 0; i < recipients; i++) {
+            blackhole.consume(encode(List.of(SocketIOEvents.MESSAGE, payload)));
+        }
+    }
+
+    private int encode(Object value) throws IOException {
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+        try {
+            jsonSupport.writeValue(new ByteBufOutputStream(buf), value);
+            return buf.readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SocketIOBroadcastBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,171 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SocketIOEventDispatcher 테스트")
+class SocketIOEventDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SocketIOEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    @DisplayName("inline 모드는 워커 스레드에서 바로 실행하고 블로킹 시간을 기록한다")
+    void inline_RunsOnCallerThread() {
+        dispatcher = new SocketIOEventDispatcher(SocketIOEventDispatcher.Mode.INLINE, 1, meterRegistry);
+        Thread caller = Thread.currentThread();
+        Thread[] ran = new Thread[1];
+
+        dispatcher.dispatch(newClient(), "chatMessage", () -> ran[0] = Thread.currentThread());
+
+        assertThat(ran[0]).isSameAs(caller);
+        assertThat(meterRegistry.get("socketio.event.loop.blocking")
+                .tag("event", "chatMessage").tag("mode", "INLINE").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("virtual 모드는 같은 클라이언트의 이벤트를 도착 순서대로 가상 스레드에서 실행한다")
+    void virtual_PreservesPerClientOrder() throws Exception {
+        dispatcher = new SocketIOEventDispatcher(SocketIOEventDispatcher.Mode.VIRTUAL, 1_000, meterRegistry);
+        SocketIOClient client = newClient();
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        List<Boolean> virtual = new CopyOnWriteArrayList<>();
+
+        IntStream.range(0, 200).forEach(i -> dispatcher.dispatch(client, "chatMessage", () -> {
+            handled.add(i);
+            virtual.add(Thread.currentThread().isVirtual());
+        }));
+
+        waitUntil(() -> handled.size() == 200);
+        assertThat(handled).isEqualTo(IntStream.range(0, 200).boxed().toList());
+        assertThat(virtual).containsOnly(true);
+        waitUntil(() -> dispatcher.queuedClientCount() == 0);
+    }
+
+    @Test
+    @DisplayName("한 클라이언트의 느린 이벤트가 다른 클라이언트를 막지 않는다")
+    void virtual_SlowClientDoesNotBlockOthers() throws Exception {
+        dispatcher = new SocketIOEventDispatcher(SocketIOEventDispatcher.Mode.VIRTUAL, 10, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+
+        dispatcher.dispatch(newClient(), "fetchPreviousMessages", () -> awaitLatch(release));
+        dispatcher.dispatch(newClient(), "chatMessage", otherDone::countDown);
+
+        assertThat(otherDone.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("클라이언트당 in-flight 한도를 넘는 이벤트는 버리고 error를 보낸다")
+    void virtual_RejectsBeyondInFlightLimit() throws Exception {
+        dispatcher = new SocketIOEventDispatcher(SocketIOEventDispatcher.Mode.VIRTUAL, 2, meterRegistry);
+        SocketIOClient client = newClient();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> handled = new CopyOnWriteArrayList<>();
+
+        dispatcher.dispatch(client, "chatMessage", () -> {
+            running.countDown();
+            awaitLatch(release);
+            handled.add("first");
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        dispatcher.dispatch(client, "chatMessage", () -> handled.add("second"));
+        verify(client, never()).sendEvent(eq(ERROR), any());
+
+        dispatcher.dispatch(client, "chatMessage", () -> handled.add("third"));
+        release.countDown();
+
+        waitUntil(() -> handled.size() == 2);
+        assertThat(handled).containsExactly("first", "second");
+        verify(client).sendEvent(eq(ERROR), any());
+        assertThat(meterRegistry.get("socketio.dispatch.rejected").tag("event", "chatMessage").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("연결 해제 정리는 먼저 들어온 이벤트가 모두 끝난 뒤, 한도와 상관없이 실행한다")
+    void virtual_RunsDisconnectAfterPendingEvents() throws Exception {
+        dispatcher = new SocketIOEventDispatcher(SocketIOEventDispatcher.Mode.VIRTUAL, 2, meterRegistry);
+        SocketIOClient client = newClient();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> handled = new CopyOnWriteArrayList<>();
+
+        dispatcher.dispatch(client, "chatMessage", () -> {
+            running.countDown();
+            awaitLatch(release);
+            handled.add("first");
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        dispatcher.dispatch(client, "chatMessage", () -> handled.add("second"));
+        dispatcher.dispatchAfterPending(client, "disconnect", () -> handled.add("disconnect"));
+
+        assertThat(handled).isEmpty();
+        release.countDown();
+
+        waitUntil(() -> handled.size() == 3);
+        assertThat(handled).containsExactly("first", "second", "disconnect");
+        verify(client, never()).sendEvent(eq(ERROR), any());
+        waitUntil(() -> dispatcher.queuedClientCount() == 0);
+    }
+
+    @Test
+    @DisplayName("inline 모드의 연결 해제 정리는 바로 실행한다")
+    void inline_RunsDisconnectImmediately() {
+        dispatcher = new SocketIOEventDispatcher(SocketIOEventDispatcher.Mode.INLINE, 1, meterRegistry);
+        Thread caller = Thread.currentThread();
+        Thread[] ran = new Thread[1];
+
+        dispatcher.dispatchAfterPending(newClient(), "disconnect", () -> ran[0] = Thread.currentThread());
+
+        assertThat(ran[0]).isSameAs(caller);
+    }
+
+    private SocketIOClient newClient() {
+        SocketIOClient client = mock(SocketIOClient.class);
+        when(client.getSessionId()).thenReturn(UUID.randomUUID());
+        return client;
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
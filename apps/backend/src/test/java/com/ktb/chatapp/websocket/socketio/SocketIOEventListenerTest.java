@@ -0,0 +1,86 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.ktb.chatapp.config.properties.AiProperties;
+import com.ktb.chatapp.event.AiMessageChunkEvent;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.AI_MESSAGE_CHUNK;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.AI_MESSAGE_DELTA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SocketIOEventListenerTest {
+
+    @Mock private SocketIOBroadcaster socketIOBroadcaster;
+    private AiProperties aiProperties;
+    private SocketIOEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        aiProperties = new AiProperties();
+        listener = new SocketIOEventListener(socketIOBroadcaster, aiProperties);
+    }
+
+    @Test
+    void deltaProtocol_SendsChunksWithPeriodicSnapshots() {
+        aiProperties.getStream().setProtocol(AiProperties.StreamProtocol.DELTA);
+        aiProperties.getStream().setSnapshotInterval(2);
+
+        listener.handleAiMessageChunkEvent(chunk("안녕", "안녕", 0, 1));
+        listener.handleAiMessageChunkEvent(chunk("안녕하세요", "하세요", 2, 2));
+
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(socketIOBroadcaster, times(2)).sendToRoom(eq("room-1"), eq(AI_MESSAGE_DELTA), payloads.capture());
+        verify(socketIOBroadcaster, never()).sendToRoom(any(), eq(AI_MESSAGE_CHUNK), any());
+
+        List<Object> sent = payloads.getAllValues();
+        Map<?, ?> first = (Map<?, ?>) sent.get(0);
+        assertThat(first.get("seq")).isEqualTo(1L);
+        assertThat(first.get("offset")).isEqualTo(0);
+        assertThat(first.get("chunk")).isEqualTo("안녕");
+        assertThat(first.containsKey("fullContent")).isFalse();
+
+        Map<?, ?> second = (Map<?, ?>) sent.get(1);
+        assertThat(second.get("offset")).isEqualTo(2);
+        assertThat(second.get("chunk")).isEqualTo("하세요");
+        assertThat(second.get("fullContent")).isEqualTo("안녕하세요");
+    }
+
+    @Test
+    void fullProtocol_KeepsLegacyChunkEvent() {
+        listener.handleAiMessageChunkEvent(chunk("안녕", "안녕", 0, 1));
+
+        verify(socketIOBroadcaster).sendToRoom(eq("room-1"), eq(AI_MESSAGE_CHUNK), any());
+        verify(socketIOBroadcaster, never()).sendToRoom(any(), eq(AI_MESSAGE_DELTA), any());
+    }
+
+    @Test
+    void chunkEvent_FullContentIsFixedAtItsChunk() {
+        StreamingSession session = StreamingSession.builder().build();
+        session.appendContent("안녕");
+        AiMessageChunkEvent event = new AiMessageChunkEvent(
+                this, "room-1", "wayneAI-1", session::getContent, "안녕", 0, 1, false);
+
+        session.appendContent("하세요");
+
+        assertThat(event.getFullContent()).isEqualTo("안녕");
+        assertThat(session.getContent()).isEqualTo("안녕하세요");
+    }
+
+    private AiMessageChunkEvent chunk(String fullContent, String currentChunk, int offset, long seq) {
+        return new AiMessageChunkEvent(this, "room-1", "wayneAI-1", length -> fullContent.substring(0, length), currentChunk, offset, seq, false);
+    }
+}
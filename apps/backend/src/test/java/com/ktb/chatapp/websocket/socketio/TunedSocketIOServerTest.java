@@ -0,0 +1,40 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.Configuration;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TunedSocketIOServer 테스트")
+class TunedSocketIOServerTest {
+
+    @Test
+    @DisplayName("부모/자식 채널 모두 지정한 allocator를 쓴다")
+    void applyConnectionOptions_SetsAllocator() {
+        var server = new TunedSocketIOServer(new Configuration(), PooledByteBufAllocator.DEFAULT, false);
+        ServerBootstrap bootstrap = new ServerBootstrap();
+
+        server.applyConnectionOptions(bootstrap);
+
+        assertThat(bootstrap.config().options()).containsEntry(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+        assertThat(bootstrap.config().childOptions()).containsEntry(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+    }
+
+    @Test
+    @DisplayName("NIO transport에서는 SO_REUSEPORT를 적용하지 않는다")
+    void applyConnectionOptions_SkipsReusePortWithoutEpoll() {
+        Configuration configuration = new Configuration();
+        configuration.setUseLinuxNativeEpoll(false);
+        var server = new TunedSocketIOServer(configuration, PooledByteBufAllocator.DEFAULT, true);
+        ServerBootstrap bootstrap = new ServerBootstrap();
+
+        server.applyConnectionOptions(bootstrap);
+
+        assertThat(bootstrap.config().options()).doesNotContainKey(EpollChannelOption.SO_REUSEPORT);
+    }
+}
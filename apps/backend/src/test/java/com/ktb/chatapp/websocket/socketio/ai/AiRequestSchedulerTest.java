@@ -0,0 +1,213 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.config.properties.AiProperties;
+import com.ktb.chatapp.event.RoomEmptiedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.test.publisher.TestPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 업스트림 ChatClient 대신 TestPublisher를 가짜 스트림으로 사용한다.
+ */
+@DisplayName("AiRequestScheduler 테스트")
+class AiRequestSchedulerTest {
+
+    private AiProperties aiProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private AiRequestScheduler scheduler;
+
+    private final Map<String, TestPublisher<String>> streams = new LinkedHashMap<>();
+    private final List<String> started = new ArrayList<>();
+    private final List<String> rejected = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        aiProperties = new AiProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+    }
+
+    @Test
+    @DisplayName("전체 한도를 넘는 요청은 대기했다가 슬롯이 비면 시작한다")
+    void submit_QueuesBeyondGlobalLimit() {
+        configure(2, 2, 1, 10);
+
+        submit("req-1", "room-a", "user-1");
+        submit("req-2", "room-b", "user-2");
+        submit("req-3", "room-c", "user-3");
+
+        assertThat(started).containsExactly("req-1", "req-2");
+        assertThat(scheduler.queuedCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.scheduler.queue.depth").gauge().value()).isEqualTo(1.0);
+
+        streams.get("req-1").complete();
+
+        assertThat(started).containsExactly("req-1", "req-2", "req-3");
+        assertThat(scheduler.activeCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("ai.scheduler.wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("방별/요청자별 한도는 전체 슬롯이 남아도 지킨다")
+    void submit_EnforcesPerRoomAndPerUserLimits() {
+        configure(10, 1, 1, 10);
+
+        submit("room-a-1", "room-a", "user-1");
+        submit("room-a-2", "room-a", "user-2");
+        submit("user-1-again", "room-b", "user-1");
+        submit("room-b-1", "room-b", "user-3");
+
+        // room-b의 맨 앞 요청은 user-1 한도에 막혀 있으므로 건너뛰고 room-b-1을 시작한다
+        assertThat(started).containsExactly("room-a-1", "room-b-1");
+
+        streams.get("room-a-1").error(new IllegalStateException("upstream failed"));
+
+        assertThat(started).containsExactly("room-a-1", "room-b-1", "room-a-2");
+
+        streams.get("room-b-1").complete();
+
+        assertThat(started).containsExactly("room-a-1", "room-b-1", "room-a-2", "user-1-again");
+    }
+
+    @Test
+    @DisplayName("요청자 한도에 걸린 요청이 같은 방의 뒤 요청을 막지 않는다")
+    void submit_SkipsRequestsHeldByPerUserLimit() {
+        configure(10, 10, 1, 10);
+
+        submit("user-1-first", "room-a", "user-1");
+        submit("user-1-second", "room-a", "user-1");
+        submit("user-2-first", "room-a", "user-2");
+
+        assertThat(started).containsExactly("user-1-first", "user-2-first");
+        assertThat(scheduler.queuedCount()).isEqualTo(1);
+
+        streams.get("user-1-first").complete();
+
+        assertThat(started).containsExactly("user-1-first", "user-2-first", "user-1-second");
+    }
+
+    @Test
+    @DisplayName("대기 중인 요청은 방을 돌아가며 시작한다")
+    void submit_RotatesAcrossRooms() {
+        configure(1, 10, 10, 10);
+
+        submit("a-1", "room-a", "user-1");
+        submit("a-2", "room-a", "user-2");
+        submit("a-3", "room-a", "user-3");
+        submit("b-1", "room-b", "user-4");
+
+        streams.get("a-1").complete();
+        streams.get("a-2").complete();
+        streams.get("b-1").complete();
+
+        assertThat(started).containsExactly("a-1", "a-2", "b-1", "a-3");
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 바로 거절한다")
+    void submit_RejectsWhenQueueFull() {
+        configure(1, 1, 1, 1);
+
+        submit("req-1", "room-a", "user-1");
+        submit("req-2", "room-b", "user-2");
+        submit("req-3", "room-c", "user-3");
+
+        assertThat(started).containsExactly("req-1");
+        assertThat(rejected).containsExactly("req-3:QUEUE_FULL");
+        assertThat(meterRegistry.get("ai.scheduler.rejected").tag("reason", "QUEUE_FULL").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("maxWait보다 오래 기다린 요청은 차례가 와도 시작하지 않는다")
+    void release_RejectsTimedOutRequests() {
+        configure(1, 1, 1, 10);
+
+        submit("req-1", "room-a", "user-1");
+        submit("req-2", "room-b", "user-2");
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        submit("req-3", "room-c", "user-3");
+
+        streams.get("req-1").complete();
+
+        assertThat(rejected).containsExactly("req-2:TIMEOUT");
+        assertThat(started).containsExactly("req-1", "req-3");
+    }
+
+    @Test
+    @DisplayName("슬롯이 계속 차 있어도 주기 검사에서 오래 기다린 요청을 거절한다")
+    void sweepExpired_RejectsWhileSlotsAreBusy() {
+        configure(1, 1, 1, 10);
+
+        submit("req-1", "room-a", "user-1");
+        submit("req-2", "room-b", "user-2");
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        scheduler.sweepExpired();
+
+        assertThat(rejected).containsExactly("req-2:TIMEOUT");
+        assertThat(scheduler.queuedCount()).isZero();
+        assertThat(started).containsExactly("req-1");
+    }
+
+    @Test
+    @DisplayName("방이 비면 실행 중 스트림을 취소하고 대기 요청을 버린다")
+    void onRoomEmptied_CancelsRoomStreams() {
+        configure(2, 2, 2, 10);
+
+        submit("a-1", "room-a", "user-1");
+        submit("a-2", "room-a", "user-1");
+        submit("a-3", "room-a", "user-2");
+        submit("b-1", "room-b", "user-3");
+
+        scheduler.onRoomEmptied(new RoomEmptiedEvent(this, "room-a"));
+
+        streams.get("a-1").assertCancelled();
+        streams.get("a-2").assertCancelled();
+        assertThat(started).containsExactly("a-1", "a-2", "b-1");
+        assertThat(rejected).isEmpty();
+        assertThat(scheduler.queuedCount()).isZero();
+        assertThat(scheduler.activeCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.scheduler.cancelled").tag("state", "running").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    private void configure(int maxConcurrent, int perRoom, int perUser, int maxQueued) {
+        AiProperties.Scheduler settings = aiProperties.getScheduler();
+        settings.setMaxConcurrent(maxConcurrent);
+        settings.setMaxConcurrentPerRoom(perRoom);
+        settings.setMaxConcurrentPerUser(perUser);
+        settings.setMaxQueued(maxQueued);
+        settings.setMaxWait(Duration.ofSeconds(30));
+        scheduler = new AiRequestScheduler(aiProperties, meterRegistry, clock::get);
+    }
+
+    private void submit(String name, String roomId, String userId) {
+        TestPublisher<String> stream = TestPublisher.create();
+        streams.put(name, stream);
+        scheduler.submit(roomId, userId,
+                () -> {
+                    started.add(name);
+                    return stream.flux();
+                },
+                new BaseSubscriber<String>() {
+                    @Override
+                    protected void hookOnError(Throwable throwable) {
+                        // AiStreamHandler처럼 에러를 직접 처리한다
+                    }
+                },
+                reason -> rejected.add(name + ":" + reason));
+    }
+}
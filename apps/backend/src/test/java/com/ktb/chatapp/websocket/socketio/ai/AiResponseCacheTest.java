@@ -0,0 +1,102 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.config.properties.AiProperties;
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("AiResponseCache 테스트")
+class AiResponseCacheTest {
+
+    private AiProperties aiProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private AiResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        aiProperties = new AiProperties();
+        aiProperties.getResponseCache().setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = newCache();
+    }
+
+    @Test
+    @DisplayName("대소문자, 공백, 끝 문장부호만 다른 질문은 같은 키로 정규화된다")
+    void normalize_IgnoresCaseWhitespaceAndTrailingPunctuation() {
+        assertThat(AiResponseCache.normalize("  Spring   Boot 란?  "))
+                .isEqualTo(AiResponseCache.normalize("spring boot 란"));
+        assertThat(AiResponseCache.normalize("ＡＢＣ！！")).isEqualTo("abc");
+    }
+
+    @Test
+    @DisplayName("정상 완료된 응답은 같은 AI 타입의 같은 질문에만 적중한다")
+    void record_CachesCompletedResponse() {
+        StepVerifier.create(cache.record(AiType.CONSULTING_AI, "창업 전략은?", Flux.just("첫", "번째 ", "답변")))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(cache.find(AiType.CONSULTING_AI, "창업  전략은")).contains(List.of("첫", "번째 ", "답변"));
+        assertThat(cache.find(AiType.WAYNE_AI, "창업 전략은?")).isEmpty();
+        assertThat(meterRegistry.get("ai.response.cache.requests")
+                .tag("result", "hit").tag("tier", "local").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("ai.response.cache.requests")
+                .tag("result", "miss").tag("tier", "local").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("에러로 끝난 응답은 저장하지 않는다")
+    void record_SkipsFailedResponse() {
+        Flux<String> failing = Flux.concat(Flux.just("일부"), Flux.error(new IllegalStateException("upstream")));
+
+        StepVerifier.create(cache.record(AiType.WAYNE_AI, "질문", failing))
+                .expectNext("일부")
+                .verifyError(IllegalStateException.class);
+
+        assertThat(cache.find(AiType.WAYNE_AI, "질문")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("캐시가 꺼져 있으면 저장/조회하지 않는다")
+    void disabled_BypassesCache() {
+        aiProperties.getResponseCache().setEnabled(false);
+        cache = newCache();
+
+        cache.record(AiType.WAYNE_AI, "질문", Flux.just("답변")).blockLast();
+
+        assertThat(cache.find(AiType.WAYNE_AI, "질문")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("저장된 청크를 replay-interval 간격으로 재생한다")
+    void replay_PacesChunks() {
+        aiProperties.getResponseCache().setReplayInterval(Duration.ofMillis(100));
+
+        StepVerifier.withVirtualTime(() -> cache.replay(List.of("a", "b", "c")))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .expectNext("a")
+                .expectNoEvent(Duration.ofMillis(99))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext("b")
+                .thenAwait(Duration.ofMillis(100))
+                .expectNext("c")
+                .verifyComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    private AiResponseCache newCache() {
+        return new AiResponseCache(aiProperties, mock(ObjectProvider.class), new ObjectMapper(), meterRegistry);
+    }
+}
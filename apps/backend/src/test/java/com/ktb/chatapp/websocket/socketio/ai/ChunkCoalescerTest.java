@@ -0,0 +1,85 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.config.properties.AiProperties;
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ChunkCoalescer 테스트")
+class ChunkCoalescerTest {
+
+    private AiProperties aiProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private ChunkCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        aiProperties = new AiProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new ChunkCoalescer(aiProperties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("window가 지나면 대기 중인 토큰을 합쳐 내보낸다")
+    void coalesce_FlushesAfterWindow() {
+        StepVerifier.withVirtualTime(() -> coalescer.coalesce(
+                        Flux.concat(
+                                Flux.just("안", "녕", " "),
+                                Mono.delay(Duration.ofMillis(200)).thenMany(Flux.just("하세요"))),
+                        AiType.WAYNE_AI))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(49))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext("안녕 ")
+                .thenAwait(Duration.ofMillis(200))
+                .expectNext("하세요")
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("ai.stream.chunks").tag("stage", "raw").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("ai.stream.chunks").tag("stage", "coalesced").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("maxChars 이상 쌓이면 window를 기다리지 않고 내보낸다")
+    void coalesce_FlushesWhenMaxCharsReached() {
+        aiProperties.getStream().getCoalesce().setWindow(Duration.ofSeconds(10));
+        aiProperties.getStream().getCoalesce().setMaxChars(8);
+
+        StepVerifier.create(coalescer.coalesce(Flux.just("aaaa", "bbbb", "cc"), AiType.WAYNE_AI))
+                .expectNext("aaaabbbb")
+                .expectNext("cc")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("AI 타입별 설정을 따르며 window가 0이면 그대로 통과시킨다")
+    void coalesce_UsesPerTypeSettings() {
+        AiProperties.Coalesce disabled = new AiProperties.Coalesce();
+        disabled.setWindow(Duration.ZERO);
+        aiProperties.getStream().getCoalescePerType().put(AiType.CONSULTING_AI, disabled);
+
+        StepVerifier.create(coalescer.coalesce(Flux.just("a", "b", "c"), AiType.CONSULTING_AI))
+                .expectNext("a", "b", "c")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("에러 전에 받은 내용은 먼저 내보낸다")
+    void coalesce_FlushesPendingBeforeError() {
+        aiProperties.getStream().getCoalesce().setWindow(Duration.ofSeconds(10));
+
+        StepVerifier.create(coalescer.coalesce(
+                        Flux.just("partial").concatWith(Flux.error(new IllegalStateException("boom"))),
+                        AiType.WAYNE_AI))
+                .expectNext("partial")
+                .verifyErrorMessage("boom");
+    }
+}
@@ -1,19 +1,22 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.ktb.chatapp.dto.ChatMessageRequest;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
-import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.RateLimitCheckResult;
 import com.ktb.chatapp.service.RateLimitService;
 import com.ktb.chatapp.service.SessionService;
 import com.ktb.chatapp.service.SessionValidationResult;
+import com.ktb.chatapp.service.cache.ChatEntityCache;
+import com.ktb.chatapp.service.message.MessageWriter;
+import com.ktb.chatapp.service.message.RoomSequenceAllocator;
 import com.ktb.chatapp.util.BannedWordChecker;
+import com.ktb.chatapp.websocket.socketio.RoomLaneExecutor;
+import com.ktb.chatapp.websocket.socketio.SocketIOBroadcaster;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -21,6 +24,8 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +34,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -36,15 +43,17 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class ChatMessageHandlerTest {
 
-    @Mock private SocketIOServer socketIOServer;
-    @Mock private MessageRepository messageRepository;
-    @Mock private RoomRepository roomRepository;
-    @Mock private UserRepository userRepository;
+    @Mock private SocketIOBroadcaster socketIOBroadcaster;
+    @Mock private MessageWriter messageWriter;
+    @Mock private ChatEntityCache chatEntityCache;
     @Mock private FileRepository fileRepository;
     @Mock private AiService aiService;
     @Mock private SessionService sessionService;
     @Mock private BannedWordChecker bannedWordChecker;
     @Mock private RateLimitService rateLimitService;
+    @Mock private RecentMessageBuffer recentMessageBuffer;
+    @Mock private RoomLaneExecutor roomLaneExecutor;
+    @Mock private RoomSequenceAllocator roomSequenceAllocator;
     private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private ChatMessageHandler handler;
@@ -53,20 +62,93 @@ class ChatMessageHandlerTest {
     void setUp() {
         handler =
                 new ChatMessageHandler(
-                        socketIOServer,
-                        messageRepository,
-                        roomRepository,
-                        userRepository,
+                        socketIOBroadcaster,
+                        messageWriter,
+                        chatEntityCache,
                         fileRepository,
                         aiService,
                         sessionService,
                         bannedWordChecker,
                         rateLimitService,
-                        meterRegistry);
+                        recentMessageBuffer,
+                        meterRegistry,
+                        roomLaneExecutor,
+                        roomSequenceAllocator);
     }
 
     @Test
     void handleChatMessage_blocksMessagesContainingBannedWords() {
+        SocketIOClient client = givenAuthorizedClient();
+
+        ChatMessageRequest request =
+                ChatMessageRequest.builder()
+                        .room("room-1")
+                        .type("text")
+                        .content("bad word")
+                        .build();
+
+        when(bannedWordChecker.containsBannedWord("bad word")).thenReturn(true);
+
+        handler.handleChatMessage(client, request);
+
+        ArgumentCaptor<Map<String, String>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(client).sendEvent(eq(ERROR), payloadCaptor.capture());
+        Map<String, String> payload = payloadCaptor.getValue();
+        org.junit.jupiter.api.Assertions.assertEquals("MESSAGE_REJECTED", payload.get("code"));
+        verifyNoInteractions(messageWriter);
+        verifyNoInteractions(roomLaneExecutor);
+        verify(socketIOBroadcaster, never()).sendToRoom(any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleChatMessage_persistsOnRoomLaneAndRunsMentionsAfterLane() {
+        SocketIOClient client = givenAuthorizedClient();
+        when(roomSequenceAllocator.next("room-1")).thenReturn(7L);
+        when(messageWriter.write(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        handler.handleChatMessage(client, textRequest("hello"));
+
+        ArgumentCaptor<Supplier<Message>> task = ArgumentCaptor.forClass(Supplier.class);
+        ArgumentCaptor<Consumer<Message>> then = ArgumentCaptor.forClass(Consumer.class);
+        verify(roomLaneExecutor).execute(eq("room-1"), task.capture(), then.capture());
+        verifyNoInteractions(messageWriter, socketIOBroadcaster);
+
+        // lane 작업: 순번 발급, 저장, 브로드캐스트까지만 한다
+        Message saved = task.getValue().get();
+        assertThat(saved.getSeq()).isEqualTo(7L);
+        ArgumentCaptor<MessageResponse> response = ArgumentCaptor.forClass(MessageResponse.class);
+        verify(socketIOBroadcaster).sendToRoom(eq("room-1"), eq(MESSAGE), response.capture());
+        assertThat(response.getValue().getSeq()).isEqualTo(7L);
+        verify(recentMessageBuffer).append(response.getValue());
+        verifyNoInteractions(aiService);
+        verify(sessionService, never()).updateLastActivity(any());
+
+        // lane 밖 후속 작업
+        then.getValue().accept(saved);
+        verify(aiService).handleAIMentions(eq("room-1"), eq("user-1"), any());
+        verify(sessionService).updateLastActivity("user-1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleChatMessage_releasesSequenceWhenWriteFails() {
+        SocketIOClient client = givenAuthorizedClient();
+        when(roomSequenceAllocator.next("room-1")).thenReturn(7L);
+        when(messageWriter.write(any(Message.class))).thenThrow(new IllegalStateException("queue full"));
+
+        handler.handleChatMessage(client, textRequest("hello"));
+
+        ArgumentCaptor<Supplier<Message>> task = ArgumentCaptor.forClass(Supplier.class);
+        verify(roomLaneExecutor).execute(eq("room-1"), task.capture(), any(Consumer.class));
+
+        assertThat(task.getValue().get()).isNull();
+        verify(roomSequenceAllocator).release("room-1", 7L);
+        verify(client).sendEvent(eq(ERROR), any());
+        verify(socketIOBroadcaster, never()).sendToRoom(any(), any(), any());
+    }
+
+    private SocketIOClient givenAuthorizedClient() {
         SocketIOClient client = mock(SocketIOClient.class);
         SocketUser socketUser = new SocketUser("user-1", "tester", "session-1", "socket-1");
         when(client.get("user")).thenReturn(socketUser);
@@ -81,29 +163,20 @@ class ChatMessageHandlerTest {
 
         User user = new User();
         user.setId("user-1");
-        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        when(chatEntityCache.findUser("user-1")).thenReturn(Optional.of(user));
 
         Room room = new Room();
         room.setId("room-1");
         room.setParticipantIds(new HashSet<>(java.util.List.of("user-1")));
-        when(roomRepository.findById("room-1")).thenReturn(Optional.of(room));
-
-        ChatMessageRequest request =
-                ChatMessageRequest.builder()
-                        .room("room-1")
-                        .type("text")
-                        .content("bad word")
-                        .build();
-
-        when(bannedWordChecker.containsBannedWord("bad word")).thenReturn(true);
-
-        handler.handleChatMessage(client, request);
+        when(chatEntityCache.findRoomForParticipant("room-1", "user-1")).thenReturn(Optional.of(room));
+        return client;
+    }
 
-        ArgumentCaptor<Map<String, String>> payloadCaptor = ArgumentCaptor.forClass(Map.class);
-        verify(client).sendEvent(eq(ERROR), payloadCaptor.capture());
-        Map<String, String> payload = payloadCaptor.getValue();
-        org.junit.jupiter.api.Assertions.assertEquals("MESSAGE_REJECTED", payload.get("code"));
-        verifyNoInteractions(messageRepository);
-        verify(socketIOServer, never()).getRoomOperations(any());
+    private static ChatMessageRequest textRequest(String content) {
+        return ChatMessageRequest.builder()
+                .room("room-1")
+                .type("text")
+                .content(content)
+                .build();
     }
 }
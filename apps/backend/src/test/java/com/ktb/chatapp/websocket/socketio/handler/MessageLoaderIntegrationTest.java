@@ -3,6 +3,7 @@ package com.ktb.chatapp.websocket.socketio.handler;
 import com.ktb.chatapp.config.MongoTestContainer;
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
 import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.User;
@@ -11,9 +12,13 @@ import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.IntStream;
 import net.datafaker.Faker;
+import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +26,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 
@@ -46,6 +57,12 @@ class MessageLoaderIntegrationTest {
     @Autowired
     private FileRepository fileRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RecentMessageBuffer recentMessageBuffer;
+
     @MockitoSpyBean
     private MessageReadStatusService messageReadStatusService;
 
@@ -63,9 +80,9 @@ class MessageLoaderIntegrationTest {
         // MessageLoader 인스턴스 생성
         messageLoader = new MessageLoader(
                 messageRepository,
-                userRepository,
-                new MessageResponseMapper(fileRepository),
-                messageReadStatusService
+                new MessageResponseMapper(fileRepository, userRepository),
+                messageReadStatusService,
+                recentMessageBuffer
         );
 
         // 테스트 사용자 생성 및 저장
@@ -178,6 +195,90 @@ class MessageLoaderIntegrationTest {
         assertThat(response.isHasMore()).isFalse();
     }
 
+    @Test
+    @DisplayName("커서 페이지네이션은 같은 timestamp의 메시지도 중복/누락 없이 로드")
+    void loadMessages_withCursor_shouldHandleIdenticalTimestamps() {
+        // Given: 70개 메시지가 모두 같은 timestamp를 가짐
+        IntStream.range(0, 70).forEach(i -> createAndSaveMessage());
+        LocalDateTime sameTime = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        mongoTemplate.updateMulti(Query.query(Criteria.where("roomId").is(roomId)),
+                new Update().set("timestamp", sameTime), Message.class);
+
+        // When: nextCursor를 따라 끝까지 로드
+        List<Integer> pageSizes = new ArrayList<>();
+        HashSet<String> loadedIds = new HashSet<>();
+        FetchMessagesResponse response = messageLoader.loadMessages(
+                new FetchMessagesRequest(roomId, 30, null), userId);
+        while (true) {
+            pageSizes.add(response.getMessages().size());
+            response.getMessages().forEach(message -> loadedIds.add(message.getId()));
+            if (!response.isHasMore()) {
+                assertThat(response.getNextCursor()).isNull();
+                break;
+            }
+            response = messageLoader.loadMessages(
+                    new FetchMessagesRequest(roomId, 30, null, response.getNextCursor()), userId);
+        }
+
+        // Then
+        assertThat(pageSizes).containsExactly(30, 30, 10);
+        assertThat(loadedIds).hasSize(70);
+    }
+
+    @Test
+    @DisplayName("커서 쿼리는 room_isDeleted_timestamp_id_idx를 타고 메모리 정렬을 하지 않는다")
+    void cursorQuery_shouldUseHistoryIndexWithoutBlockingSort() {
+        List<Message> messages = IntStream.range(0, 200)
+                .mapToObj(i -> createAndSaveMessage())
+                .toList();
+        Message pivot = messageRepository.findById(messages.get(150).getId()).orElseThrow();
+        MessageCursor cursor = MessageCursor.of(pivot);
+
+        // 리포지토리 @Query가 실제로 보낸 find 명령을 프로파일러로 잡아 그대로 explain한다
+        Document find = captureFind(() -> messageRepository.findByRoomIdBeforeCursor(
+                roomId, cursor.timestampAsLocalDateTime(), cursor.messageObjectId(),
+                PageRequest.of(0, 30, Sort.by(Sort.Direction.DESC, "timestamp", "id"))));
+        assertThat(find.get("limit", Number.class).intValue()).isEqualTo(31);
+
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain",
+                new Document("find", "messages")
+                        .append("filter", find.get("filter"))
+                        .append("sort", find.get("sort"))
+                        .append("limit", find.get("limit")))
+                .append("verbosity", "executionStats"));
+
+        String winningPlan = explain.get("queryPlanner", Document.class)
+                .get("winningPlan", Document.class).toJson();
+        assertThat(winningPlan).contains("room_isDeleted_timestamp_id_idx");
+        assertThat(winningPlan).doesNotContain("\"stage\": \"SORT\"");
+
+        // 커서와 같은 timestamp를 가진 메시지만큼만 추가로 읽을 수 있다
+        long ties = messageRepository.findAll().stream()
+                .filter(message -> roomId.equals(message.getRoomId()))
+                .filter(message -> message.getTimestamp().equals(pivot.getTimestamp()))
+                .count();
+        Document stats = explain.get("executionStats", Document.class);
+        assertThat(stats.getInteger("nReturned")).isEqualTo(31);
+        assertThat((long) stats.getInteger("totalDocsExamined")).isLessThanOrEqualTo(31 + ties);
+    }
+
+    private Document captureFind(Runnable query) {
+        mongoTemplate.getDb().runCommand(new Document("profile", 2));
+        try {
+            query.run();
+        } finally {
+            mongoTemplate.getDb().runCommand(new Document("profile", 0));
+        }
+        Document profiled = mongoTemplate.getCollection("system.profile")
+                .find(new Document("ns", mongoTemplate.getDb().getName() + ".messages")
+                        .append("command.find", "messages")
+                        .append("command.filter.room", roomId))
+                .sort(new Document("ts", -1))
+                .first();
+        assertThat(profiled).as("profiled repository find").isNotNull();
+        return profiled.get("command", Document.class);
+    }
+
     private Message createAndSaveMessage() {
         Message message = new Message();
         message.setRoomId(roomId);
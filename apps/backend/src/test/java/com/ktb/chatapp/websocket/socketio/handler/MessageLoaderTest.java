@@ -2,6 +2,8 @@ package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.exception.InvalidCursorException;
+import com.ktb.chatapp.model.File;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
@@ -25,6 +27,7 @@ import java.util.List;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +46,9 @@ class MessageLoaderTest {
     @Mock
     private MessageReadStatusService messageReadStatusService;
     
+    @Mock
+    private RecentMessageBuffer recentMessageBuffer;
+    
     @InjectMocks
     private MessageLoader messageLoader;
     
@@ -59,9 +65,9 @@ class MessageLoaderTest {
         
         messageLoader = new MessageLoader(
                 messageRepository,
-                userRepository,
-                new MessageResponseMapper(fileRepository),
-                messageReadStatusService
+                new MessageResponseMapper(fileRepository, userRepository),
+                messageReadStatusService,
+                recentMessageBuffer
         );
         
         var testUser = User.builder()
@@ -165,16 +171,71 @@ class MessageLoaderTest {
     }
     
     @Test
-    @DisplayName("loadInitialMessages: 에러 시 빈 응답")
-    void loadInitialMessages_shouldReturnEmptyOnError() {
+    @DisplayName("loadMessages: 발신자와 파일은 페이지당 한 번씩만 조회")
+    void loadMessages_shouldHydrateSendersAndFilesInBulk() {
+        List<Message> first30Messages = testMessages.subList(0, 30);
+        String fileId = faker.internet().uuid();
+        first30Messages.get(0).setFileId(fileId);
+        first30Messages.get(1).setFileId(fileId);
+        
         when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
-                any(), anyBoolean(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenThrow(new RuntimeException("DB error"));
+                eq(roomId), eq(false), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(getMessagePage(first30Messages));
+        when(fileRepository.findAllById(anySet()))
+                .thenReturn(List.of(File.builder().id(fileId).filename("a.png").build()));
         
         FetchMessagesRequest req = new FetchMessagesRequest(roomId, 30, null);
         FetchMessagesResponse result = messageLoader.loadMessages(req, userId);
         
-        assertThat(result.getMessages()).isEmpty();
-        assertThat(result.isHasMore()).isFalse();
+        assertThat(result.getMessages()).hasSize(30);
+        assertThat(result.getMessages()).allSatisfy(response ->
+                assertThat(response.getSender().getId()).isEqualTo(userId));
+        assertThat(result.getMessages().stream().filter(response -> response.getFile() != null))
+                .hasSize(2);
+        
+        verify(userRepository, times(1)).findAllById(anySet());
+        verify(userRepository, never()).findById(anyString());
+        verify(fileRepository, times(1)).findAllById(anySet());
+        verify(fileRepository, never()).findById(anyString());
+    }
+    
+    @Test
+    @DisplayName("loadInitialMessages: 저장소 오류는 빈 페이지로 바꾸지 않고 그대로 던진다")
+    void loadInitialMessages_shouldPropagateRepositoryError() {
+        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
+                any(), anyBoolean(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenThrow(new RuntimeException("DB error"));
+        
+        FetchMessagesRequest req = new FetchMessagesRequest(roomId, 30, null);
+
+        assertThatThrownBy(() -> messageLoader.loadMessages(req, userId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("DB error");
+    }
+
+    @Test
+    @DisplayName("loadMessages: markAsRead=false면 읽음 처리 없이 조회만 한다")
+    void loadMessages_withoutMarkAsReadDoesNotUpdateReadStatus() {
+        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
+                eq(roomId), eq(false), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(getMessagePage(testMessages.subList(20, 50)));
+
+        FetchMessagesResponse result = messageLoader.loadMessages(
+                new FetchMessagesRequest(roomId, 30, null), userId, false);
+
+        assertThat(result.getMessages()).hasSize(30);
+        verify(messageReadStatusService, never()).updateReadStatus(anyList(), anyString());
+        verify(messageReadStatusService).findWatermarks(roomId, userId, null);
+        verify(recentMessageBuffer, never()).markRead(anyString(), anyList(), anyString());
+    }
+
+    @Test
+    @DisplayName("loadMessages: 잘못된 커서는 빈 페이지로 바꾸지 않고 InvalidCursorException")
+    void loadMessages_shouldRejectMalformedCursor() {
+        FetchMessagesRequest req = new FetchMessagesRequest(roomId, 30, null, "not-a-cursor");
+
+        assertThatThrownBy(() -> messageLoader.loadMessages(req, userId))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(messageRepository, recentMessageBuffer);
     }
 }
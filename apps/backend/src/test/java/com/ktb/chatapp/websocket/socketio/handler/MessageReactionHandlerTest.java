@@ -0,0 +1,67 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.MessageReactionRequest;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.websocket.socketio.RoomLaneExecutor;
+import com.ktb.chatapp.websocket.socketio.SocketIOBroadcaster;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageReactionHandlerTest {
+
+    @Mock private SocketIOBroadcaster socketIOBroadcaster;
+    @Mock private MessageRepository messageRepository;
+    @Mock private MongoTemplate mongoTemplate;
+    @Mock private RecentMessageBuffer recentMessageBuffer;
+    @Mock private RoomLaneExecutor roomLaneExecutor;
+    @Mock private SocketIOClient client;
+
+    private MessageReactionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new MessageReactionHandler(
+                socketIOBroadcaster, messageRepository, mongoTemplate, recentMessageBuffer, roomLaneExecutor);
+        when(client.get("user")).thenReturn(new SocketUser("user-1", "tester", "session-1", "socket-1"));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", "  ", "a.b", "$set", "👍$", "xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx"})
+    void handleMessageReaction_rejectsReactionsThatAreNotSafeFieldNames(String reaction) {
+        handler.handleMessageReaction(client, new MessageReactionRequest(null, "message-1", "add", reaction));
+
+        verify(client).sendEvent(eq(ERROR), any());
+        verifyNoInteractions(messageRepository, mongoTemplate, roomLaneExecutor);
+    }
+
+    @Test
+    void handleMessageReaction_appliesValidReactionOnRoomLane() {
+        Message message = new Message();
+        message.setId("message-1");
+        message.setRoomId("room-1");
+        when(messageRepository.findById("message-1")).thenReturn(Optional.of(message));
+
+        handler.handleMessageReaction(client, new MessageReactionRequest(null, "message-1", "add", "👍"));
+
+        verify(roomLaneExecutor).execute(eq("room-1"), any(Runnable.class));
+        verify(client, never()).sendEvent(eq(ERROR), any());
+    }
+}
@@ -0,0 +1,249 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.event.UserUpdatedEvent;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.repository.MessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("RecentMessageBuffer 테스트")
+class RecentMessageBufferTest {
+
+    private static final String ROOM_ID = "room-1";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private RecentMessageBuffer buffer;
+    private long clock;
+
+    @BeforeEach
+    void setUp() {
+        buffer = newBuffer(10, DataSize.ofMegabytes(1));
+        clock = 1_700_000_000_000L;
+    }
+
+    @Test
+    @DisplayName("버퍼에 limit보다 많은 메시지가 있어야 페이지를 응답한다")
+    void findPage_RequiresMoreThanLimit() {
+        List<MessageResponse> messages = appendMessages(ROOM_ID, 5);
+
+        assertThat(buffer.findPage(ROOM_ID, null, null, 5)).isEmpty();
+
+        var page = buffer.findPage(ROOM_ID, null, null, 4).orElseThrow();
+        assertThat(ids(page.messages())).isEqualTo(ids(messages.subList(1, 5)));
+        assertThat(page.hasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("전체 히스토리로 채워진 방은 남은 메시지가 적어도 응답한다")
+    void findPage_ServesCompleteRoom() {
+        List<MessageResponse> messages = newMessages(ROOM_ID, 3);
+        buffer.seed(ROOM_ID, messages, false, System.nanoTime());
+
+        var page = buffer.findPage(ROOM_ID, null, null, 30).orElseThrow();
+        assertThat(ids(page.messages())).isEqualTo(ids(messages));
+        assertThat(page.hasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 timestamp의 메시지도 커서 (timestamp, id) 기준으로 나눈다")
+    void findPage_WithCursorOnIdenticalTimestamps() {
+        List<MessageResponse> messages = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            MessageResponse message = newMessage(ROOM_ID, clock);
+            messages.add(message);
+        }
+        messages.sort((a, b) -> a.getId().compareTo(b.getId()));
+        buffer.seed(ROOM_ID, messages, false, System.nanoTime());
+
+        MessageResponse pivot = messages.get(4);
+        var page = buffer.findPage(ROOM_ID, pivot.getTimestamp(), pivot.getId(), 2).orElseThrow();
+
+        assertThat(ids(page.messages())).isEqualTo(ids(messages.subList(2, 4)));
+        assertThat(page.hasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("버퍼 범위보다 오래된 메시지는 추가하지 않는다")
+    void append_IgnoresMessagesOlderThanWindow() {
+        appendMessages(ROOM_ID, 3);
+        MessageResponse old = newMessage(ROOM_ID, clock - 1_000_000);
+
+        buffer.append(old);
+
+        var page = buffer.findPage(ROOM_ID, null, null, 2).orElseThrow();
+        assertThat(ids(page.messages())).doesNotContain(old.getId());
+        assertThat(buffer.findPage(ROOM_ID, null, null, 3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("용량을 넘으면 오래된 메시지를 버리고 전체 히스토리 표시를 해제한다")
+    void seed_TrimsToCapacity() {
+        buffer.seed(ROOM_ID, newMessages(ROOM_ID, 12), false, System.nanoTime());
+
+        assertThat(buffer.findPage(ROOM_ID, null, null, 9)).isPresent();
+        assertThat(buffer.findPage(ROOM_ID, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("메모리 예산을 넘으면 가장 오래 쓰이지 않은 방부터 비운다")
+    void append_EvictsLeastRecentlyUsedRoom() {
+        long oneRoom = IntStream.range(0, 5)
+                .mapToLong(i -> RecentMessageBuffer.estimateBytes(newMessage("x", clock)))
+                .sum();
+        buffer = newBuffer(10, DataSize.ofBytes(oneRoom * 2));
+
+        appendMessages("room-a", 5);
+        appendMessages("room-b", 5);
+        buffer.findPage("room-a", null, null, 1);
+        appendMessages("room-c", 5);
+
+        assertThat(buffer.findPage("room-a", null, null, 1)).isPresent();
+        assertThat(buffer.findPage("room-b", null, null, 1)).isEmpty();
+        assertThat(buffer.findPage("room-c", null, null, 1)).isPresent();
+        assertThat(buffer.estimatedBytes()).isLessThanOrEqualTo(oneRoom * 2);
+    }
+
+    @Test
+    @DisplayName("읽음/리액션 변경은 이미 내보낸 복사본에 영향을 주지 않는다")
+    void markRead_ReplacesEntries() {
+        List<MessageResponse> messages = appendMessages(ROOM_ID, 3);
+        var before = buffer.findPage(ROOM_ID, null, null, 2).orElseThrow();
+
+        buffer.markRead(ROOM_ID, List.of(messages.get(2).getId()), "reader-1");
+        buffer.updateReactions(ROOM_ID, messages.get(2).getId(), Map.of("👍", Set.of("reader-1")));
+
+        var after = buffer.findPage(ROOM_ID, null, null, 2).orElseThrow();
+        assertThat(before.messages().get(1).getReaders()).isNullOrEmpty();
+        assertThat(after.messages().get(1).getReaders())
+                .extracting(reader -> reader.getUserId())
+                .containsExactly("reader-1");
+        assertThat(after.messages().get(1).getReactions()).containsKey("👍");
+    }
+
+    @Test
+    @DisplayName("다른 노드의 변경 이벤트를 반영한다")
+    void onRemoteEvent_AppliesEventsFromOtherNodes() throws Exception {
+        List<MessageResponse> messages = newMessages(ROOM_ID, 3);
+        buffer.seed(ROOM_ID, messages.subList(0, 1), false, System.nanoTime());
+        for (MessageResponse message : messages.subList(1, 3)) {
+            buffer.onRemoteEvent(objectMapper.writeValueAsString(new RecentMessageBuffer.BufferEvent(
+                    "other-node", RecentMessageBuffer.EventType.APPEND, ROOM_ID, message, null, null, null, null)));
+        }
+        LocalDateTime readAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        buffer.onRemoteEvent(objectMapper.writeValueAsString(new RecentMessageBuffer.BufferEvent(
+                "other-node", RecentMessageBuffer.EventType.READ, ROOM_ID, null,
+                List.of(messages.get(2).getId()), "reader-1", null, readAt)));
+
+        var page = buffer.findPage(ROOM_ID, null, null, 2).orElseThrow();
+        assertThat(ids(page.messages())).isEqualTo(ids(messages.subList(1, 3)));
+        assertThat(page.messages().get(1).getSender().getId()).isEqualTo("sender");
+        assertThat(page.messages().get(1).getReaders())
+                .extracting(reader -> reader.getReadAt())
+                .containsExactly(readAt);
+    }
+
+    @Test
+    @DisplayName("버퍼가 없는 방의 원격 변경은 무시한다")
+    void onRemoteEvent_IgnoresRoomsNotBuffered() throws Exception {
+        List<MessageResponse> messages = newMessages(ROOM_ID, 3);
+        for (MessageResponse message : messages) {
+            buffer.onRemoteEvent(objectMapper.writeValueAsString(new RecentMessageBuffer.BufferEvent(
+                    "other-node", RecentMessageBuffer.EventType.APPEND, ROOM_ID, message, null, null, null, null)));
+        }
+
+        assertThat(buffer.findPage(ROOM_ID, null, null, 1)).isEmpty();
+        assertThat(buffer.roomCount()).isZero();
+        assertThat(buffer.estimatedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("순서가 뒤섞여 들어와도 (timestamp, id) 순으로 끼워 넣는다")
+    void append_InsertsOutOfOrderMessagesInPlace() {
+        List<MessageResponse> messages = newMessages(ROOM_ID, 6);
+        buffer.seed(ROOM_ID, List.of(messages.get(0)), false, System.nanoTime());
+        for (int i : new int[] {3, 1, 5, 2, 4}) {
+            buffer.append(messages.get(i));
+        }
+        buffer.append(messages.get(3));
+
+        var page = buffer.findPage(ROOM_ID, null, null, 30).orElseThrow();
+        assertThat(ids(page.messages())).isEqualTo(ids(messages));
+
+        MessageResponse pivot = messages.get(4);
+        var older = buffer.findPage(ROOM_ID, pivot.getTimestamp(), pivot.getId(), 30).orElseThrow();
+        assertThat(ids(older.messages())).isEqualTo(ids(messages.subList(0, 4)));
+    }
+
+    @Test
+    @DisplayName("발신자 정보가 바뀌면 해당 발신자의 메시지가 있는 방을 비운다")
+    void onUserUpdated_EvictsRoomsWithSender() {
+        appendMessages(ROOM_ID, 3);
+
+        buffer.onUserUpdated(new UserUpdatedEvent(this, "sender"));
+
+        assertThat(buffer.findPage(ROOM_ID, null, null, 1)).isEmpty();
+        assertThat(buffer.estimatedBytes()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private RecentMessageBuffer newBuffer(int roomCapacity, DataSize memoryBudget) {
+        return new RecentMessageBuffer(
+                mock(ObjectProvider.class),
+                objectMapper,
+                mock(MessageRepository.class),
+                mock(MessageResponseMapper.class),
+                new SimpleMeterRegistry(),
+                true,
+                roomCapacity,
+                memoryBudget,
+                16);
+    }
+
+    private List<MessageResponse> appendMessages(String roomId, int count) {
+        List<MessageResponse> messages = newMessages(roomId, count);
+        messages.forEach(buffer::append);
+        return messages;
+    }
+
+    private List<MessageResponse> newMessages(String roomId, int count) {
+        List<MessageResponse> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(newMessage(roomId, ++clock));
+        }
+        return messages;
+    }
+
+    private MessageResponse newMessage(String roomId, long timestamp) {
+        return MessageResponse.builder()
+                .id(new ObjectId().toHexString())
+                .roomId(roomId)
+                .content("hello")
+                .type(MessageType.text)
+                .timestamp(timestamp)
+                .sender(UserResponse.builder().id("sender").name("sender").build())
+                .reactions(Map.of())
+                .build();
+    }
+
+    private static List<String> ids(List<MessageResponse> messages) {
+        return messages.stream().map(MessageResponse::getId).toList();
+    }
+}
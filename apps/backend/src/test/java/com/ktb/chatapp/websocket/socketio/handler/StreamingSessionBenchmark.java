@@ -0,0 +1,90 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * AI 응답 한 건을 토큰 단위로 누적하는 비용 비교 벤치마크.
+ * stringConcat: 기존 방식, 토큰마다 content += token
+ * sessionDelta: 델타 프로토콜, 토큰마다 append와 길이(offset)만 사용
+ * sessionFull: FULL 프로토콜, 토큰마다 전체 내용을 만들어 전송
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingSessionBenchmark {
+
+    // 짧은 답변, 일반적인 설명, 코드가 포함된 긴 답변
+    @Param({"500", "4000", "16000"})
+    private int answerLength;
+
+    private List<String> tokens;
+
+    @Setup
+    public void setUp() {
+        String[] words = {"안녕", "하세요", " the", " stream", "ing", " 응답", "입니다", ".\n", " `code`", " value"};
+        tokens = new ArrayList<>();
+        int length = 0;
+        for (int i = 0; length < answerLength; i++) {
+            String token = words[i % words.length];
+            tokens.add(token);
+            length += token.length();
+        }
+    }
+
+    @Benchmark
+    public void stringConcat(Blackhole blackhole) {
+        String content = "";
+        for (String token : tokens) {
+            int offset = content.length();
+            content += token;
+            blackhole.consume(offset);
+        }
+        blackhole.consume(content);
+    }
+
+    @Benchmark
+    public void sessionDelta(Blackhole blackhole) {
+        StreamingSession session = StreamingSession.builder().build();
+        for (String token : tokens) {
+            blackhole.consume(session.contentLength());
+            session.appendContent(token);
+        }
+        blackhole.consume(session.getContent());
+    }
+
+    @Benchmark
+    public void sessionFull(Blackhole blackhole) {
+        StreamingSession session = StreamingSession.builder().build();
+        for (String token : tokens) {
+            session.appendContent(token);
+            blackhole.consume(session.getContent());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StreamingSessionBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}